@@ -0,0 +1,68 @@
+package com.healthybites.api;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.dtos.recipe.RecipeResponseDto;
+
+/**
+ * Cost of serializing an ApiResponseDto to JSON, as done for every response, with one recipe
+ * and with a page of 20 and 100 recipes of 8 ingredients each. Uses an ObjectMapper built as
+ * Spring Boot builds the one of the application, without starting it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+	private static final int INGREDIENTS_PER_RECIPE = 8;
+
+	@Param({ "1", "20", "100" })
+	private int recipeCount;
+
+	private ObjectMapper objectMapper;
+	private ApiResponseDto<List<RecipeResponseDto>> response;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		LocalDateTime now = LocalDateTime.now();
+		List<RecipeResponseDto> recipes = new ArrayList<>();
+		for (int i = 0; i < recipeCount; i++) {
+			List<IngredientResponseDto> ingredients = new ArrayList<>();
+			for (int j = 0; j < INGREDIENTS_PER_RECIPE; j++) {
+				ingredients.add(new IngredientResponseDto(j, "ingredient " + j, 100f, 150f, true, now));
+			}
+			recipes.add(new RecipeResponseDto(i, "Recipe " + i, "Mix everything and cook it for twenty minutes", 1200f,
+					ingredients));
+		}
+		response = new ApiResponseDto<>("Recipes fetched successfully", HttpStatus.OK.value(), recipes);
+	}
+
+	@Benchmark
+	public byte[] serialize() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(response);
+	}
+}
@@ -0,0 +1,165 @@
+package com.healthybites.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthybites.HealthyBitesApiApplication;
+import com.healthybites.dtos.advice.AdviceRequestDto;
+import com.healthybites.dtos.ingredient.IngredientRequestDto;
+import com.healthybites.service.advice.AdviceService;
+import com.healthybites.service.ingredient.IngredientService;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+/**
+ * Requests per second of the full advice list and of the full active ingredient list, written
+ * plain or gzip compressed to a servlet response. The current path queries, maps and serializes
+ * on every request, compressing afterwards as the servlet container would; the cached path
+ * writes the bytes kept by SerializedResponseCache. Boots the application against the in-memory
+ * database of the test configuration with 500 advices and 5000 ingredients. The bytes go to an
+ * output stream that only counts them, so the cost of the mock response does not hide the cost
+ * of building them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CatalogResponseBenchmark {
+
+	private static final int ADVICES = 500;
+	private static final int INGREDIENTS = 5000;
+
+	@Param({ "advices", "ingredients" })
+	private String catalog;
+
+	@Param({ "identity", "gzip" })
+	private String encoding;
+
+	private ConfigurableApplicationContext context;
+	private ObjectMapper objectMapper;
+	private SerializedResponseCache responseCache;
+	private Supplier<String> version;
+	private Supplier<ApiResponseDto<? extends List<?>>> body;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(HealthyBitesApiApplication.class)
+				.properties("server.port=0", "spring.jpa.properties.hibernate.generate_statistics=false", "logging.level.root=WARN")
+				.run();
+		objectMapper = context.getBean(ObjectMapper.class);
+		responseCache = context.getBean(SerializedResponseCache.class);
+		ResourceVersions resourceVersions = context.getBean(ResourceVersions.class);
+
+		if (catalog.equals("advices")) {
+			AdviceService adviceService = context.getBean(AdviceService.class);
+			for (int i = 0; i < ADVICES; i++) {
+				adviceService.createAdvice(new AdviceRequestDto("Advice " + i,
+						"Drink a glass of water before every meal and walk for at least thirty minutes a day", LocalDateTime.now()));
+			}
+			version = resourceVersions::advicesTag;
+			body = () -> new ApiResponseDto<>("Advices fetched successfully", HttpStatus.OK.value(),
+					adviceService.getAllAdvices());
+		} else {
+			IngredientService ingredientService = context.getBean(IngredientService.class);
+			for (int i = 0; i < INGREDIENTS; i++) {
+				ingredientService.createIngredient(new IngredientRequestDto("ingredient " + i, 1.5f, LocalDateTime.now()));
+			}
+			version = resourceVersions::ingredientsTag;
+			body = () -> new ApiResponseDto<>("Ingredients fetched successfully", HttpStatus.OK.value(),
+					ingredientService.getAllActiveIngredients());
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public long currentPath() throws IOException {
+		CountingResponse response = new CountingResponse();
+		byte[] bytes = objectMapper.writeValueAsBytes(body.get());
+		if (encoding.equals("gzip")) {
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+			try (OutputStream output = new GZIPOutputStream(response.getOutputStream())) {
+				output.write(bytes);
+			}
+		} else {
+			response.getOutputStream().write(bytes);
+		}
+		return response.written;
+	}
+
+	@Benchmark
+	public long cachedPath() throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/" + catalog);
+		if (encoding.equals("gzip")) {
+			request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+		}
+		CountingResponse response = new CountingResponse();
+		responseCache.write(catalog, version.get(), body, new ServletWebRequest(request, response), response);
+		return response.written;
+	}
+
+	private static final class CountingResponse extends MockHttpServletResponse {
+
+		private long written;
+
+		private final ServletOutputStream output = new ServletOutputStream() {
+
+			@Override
+			public void write(int b) {
+				written++;
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				written += len;
+			}
+
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+			}
+		};
+
+		@Override
+		public ServletOutputStream getOutputStream() {
+			return output;
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.healthybites.jwt;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Cost of issuing a token at login and of validating it, with and without the verified-token
+ * cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenBenchmark {
+
+	private JwtTokenProvider cachedProvider;
+	private JwtTokenProvider uncachedProvider;
+	private Authentication authentication;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		cachedProvider = JwtVerificationBenchmark.newProvider(10000);
+		uncachedProvider = JwtVerificationBenchmark.newProvider(0);
+		authentication = new UsernamePasswordAuthenticationToken("user@email.com", null,
+				List.of(new SimpleGrantedAuthority("ROLE_USER")));
+		token = uncachedProvider.generateToken(authentication);
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return uncachedProvider.generateToken(authentication);
+	}
+
+	@Benchmark
+	public boolean validateToken() {
+		return uncachedProvider.validateToken(token);
+	}
+
+	@Benchmark
+	public boolean validateTokenCached() {
+		return cachedProvider.validateToken(token);
+	}
+}
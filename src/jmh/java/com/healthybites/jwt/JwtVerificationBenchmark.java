@@ -0,0 +1,91 @@
+package com.healthybites.jwt;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Per-request cost of the token work done by JwtAuthenticationFilter.
+ * Compares the previous flow (validate, subject and role, each deriving the key and
+ * verifying the signature again) with the single-parse API, with and without the
+ * verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+	static final String PRIVATE_KEY = "c2VjcmV0LWtleS1mb3ItaGVhbHRoeWJpdGVzLWJlbmNobWFya3MtMzItYnl0ZXM=";
+
+	private JwtTokenProvider cachedProvider;
+	private JwtTokenProvider uncachedProvider;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		cachedProvider = newProvider(10000);
+		uncachedProvider = newProvider(0);
+		token = cachedProvider.generateToken(new UsernamePasswordAuthenticationToken("user@email.com", null,
+				List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+	}
+
+	@Benchmark
+	public void legacyThreeParses(Blackhole blackhole) {
+		legacyParse(token);
+		blackhole.consume(legacyParse(token).getSubject());
+		blackhole.consume(legacyParse(token).get("role", String.class));
+	}
+
+	@Benchmark
+	public void singleParse(Blackhole blackhole) {
+		Claims claims = uncachedProvider.getVerifiedClaims(token);
+		blackhole.consume(claims.getSubject());
+		blackhole.consume(JwtTokenProvider.getRole(claims));
+	}
+
+	@Benchmark
+	public void singleParseCached(Blackhole blackhole) {
+		Claims claims = cachedProvider.getVerifiedClaims(token);
+		blackhole.consume(claims.getSubject());
+		blackhole.consume(JwtTokenProvider.getRole(claims));
+	}
+
+	// helpers
+
+	static JwtTokenProvider newProvider(int cacheMaxSize) {
+		JwtTokenProvider provider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(provider, "privateKey", PRIVATE_KEY);
+		ReflectionTestUtils.setField(provider, "cacheMaxSize", cacheMaxSize);
+		provider.init();
+		return provider;
+	}
+
+	private Claims legacyParse(String jwt) {
+		SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(PRIVATE_KEY));
+		return Jwts.parser().verifyWith(key).build().parseSignedClaims(jwt).getPayload();
+	}
+}
@@ -0,0 +1,112 @@
+package com.healthybites.mappers;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.healthybites.dtos.infouser.InfoUserRequestDto;
+import com.healthybites.dtos.ingredient.IngredientRequestDto;
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.dtos.recipe.RecipeIngredientDto;
+import com.healthybites.dtos.recipe.RecipeRequestDto;
+import com.healthybites.dtos.recipe.RecipeResponseDto;
+import com.healthybites.dtos.user.UserEntityRequestDto;
+import com.healthybites.dtos.user.UserEntityResponseDto;
+import com.healthybites.entity.InfoUserEntity;
+import com.healthybites.entity.IngredientEntity;
+import com.healthybites.entity.RecipeEntity;
+import com.healthybites.entity.UserEntity;
+import com.healthybites.mappers.ingredient.IngredientMapper;
+import com.healthybites.mappers.ingredient.IngredientMapperImpl;
+import com.healthybites.mappers.recipe.RecipeMapper;
+import com.healthybites.mappers.recipe.RecipeMapperImpl;
+import com.healthybites.mappers.user.UserMapper;
+import com.healthybites.mappers.user.UserMapperImpl;
+
+/**
+ * Cost of the MapStruct mappings done on every request, from request DTO to entity and from
+ * entity to response DTO, for recipes, ingredients and users. The generated implementations are
+ * used directly, they have no dependencies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+	private final RecipeMapper recipeMapper = new RecipeMapperImpl();
+	private final IngredientMapper ingredientMapper = new IngredientMapperImpl();
+	private final UserMapper userMapper = new UserMapperImpl();
+
+	private RecipeRequestDto recipeRequest;
+	private RecipeEntity recipe;
+	private IngredientRequestDto ingredientRequest;
+	private IngredientEntity ingredient;
+	private UserEntityRequestDto userRequest;
+	private UserEntity user;
+
+	@Setup
+	public void setUp() {
+		LocalDateTime now = LocalDateTime.now();
+		recipeRequest = new RecipeRequestDto("Lentil stew", "Simmer the lentils with the vegetables for forty minutes", 1L,
+				List.of(new RecipeIngredientDto(1L, 200f), new RecipeIngredientDto(2L, 50f)));
+		recipe = new RecipeEntity(1L, "Lentil stew", "Simmer the lentils with the vegetables for forty minutes", 350f,
+				null, new HashSet<>());
+		ingredientRequest = new IngredientRequestDto("lentils", 1.16f, now);
+		ingredient = new IngredientEntity(1L, "lentils", 1.16f, now, true, new HashSet<>());
+		InfoUserRequestDto infoUserRequest = new InfoUserRequestDto(1.75, 70.0, "moderate", 30, "F");
+		userRequest = new UserEntityRequestDto("Ana", "ana@email.com", "password", infoUserRequest);
+		user = UserEntity.builder()
+				.id(1L)
+				.name("Ana")
+				.email("ana@email.com")
+				.password("password")
+				.registrationDate(now)
+				.infoUser(InfoUserEntity.builder().id(1L).height(1.75).weight(70.0).activityLevel("moderate").age(30).sex("F").build())
+				.build();
+	}
+
+	@Benchmark
+	public RecipeEntity recipeToEntity() {
+		return recipeMapper.toRecipe(recipeRequest);
+	}
+
+	@Benchmark
+	public RecipeResponseDto recipeToResponse() {
+		return recipeMapper.toRecipeResponseDto(recipe);
+	}
+
+	@Benchmark
+	public IngredientEntity ingredientToEntity() {
+		return ingredientMapper.toIngredient(ingredientRequest);
+	}
+
+	@Benchmark
+	public IngredientResponseDto ingredientToResponse() {
+		return ingredientMapper.toIngredientResponseDto(ingredient);
+	}
+
+	@Benchmark
+	public UserEntity userToEntity() {
+		return userMapper.toUserEntity(userRequest);
+	}
+
+	@Benchmark
+	public UserEntityResponseDto userToResponse() {
+		return userMapper.toUserResponseDto(user);
+	}
+}
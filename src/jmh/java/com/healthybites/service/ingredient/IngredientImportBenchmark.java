@@ -0,0 +1,76 @@
+package com.healthybites.service.ingredient;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.healthybites.HealthyBitesApiApplication;
+import com.healthybites.dtos.ingredient.IngredientImportResponseDto;
+
+/**
+ * Time to import a CSV file of new ingredients, from the bytes of the file to the committed rows,
+ * change log entries and catalog. Boots the application against the in-memory database of the
+ * test configuration. Every import uses names not seen before, so the database grows by the
+ * size of the file on each iteration and the duplicate check runs against all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class IngredientImportBenchmark {
+
+	@Param({ "100000" })
+	private int rows;
+
+	private ConfigurableApplicationContext context;
+	private IngredientService ingredientService;
+	private int iteration;
+	private byte[] csv;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(HealthyBitesApiApplication.class)
+				.properties("server.port=0", "spring.jpa.properties.hibernate.generate_statistics=false", "logging.level.root=WARN")
+				.run();
+		ingredientService = context.getBean(IngredientService.class);
+	}
+
+	@Setup(Level.Iteration)
+	public void createFile() {
+		StringBuilder file = new StringBuilder("name,calories,protein,carbs,fat\n");
+		for (int i = 0; i < rows; i++) {
+			file.append("\"ingredient ").append(iteration).append('-').append(i).append("\",")
+					.append(1 + i % 500 / 100f).append(",3.5,12,0.8\n");
+		}
+		csv = file.toString().getBytes(StandardCharsets.UTF_8);
+		iteration++;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public IngredientImportResponseDto importCsv() {
+		return ingredientService.importIngredients(new ByteArrayInputStream(csv));
+	}
+}
@@ -0,0 +1,144 @@
+package com.healthybites.service.ingredient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+
+/**
+ * Latency of the typo tolerant ingredient search on 100k and 1M synthetic names, compared with
+ * scoring every word of every name. Names combine one of a few common food words with one or two
+ * brand-like words drawn with a Zipf distribution from a 50k word vocabulary, so, as with real
+ * names, the vocabulary grows much slower than the catalog. The "rare" query is a misspelt brand
+ * word and the "common" query is "tomatoe".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class IngredientSearchBenchmark {
+
+	private static final int VOCABULARY = 50000;
+
+	private static final String[] SYLLABLES = { "ka", "lo", "mi", "ru", "te", "sa", "no", "vi", "pe", "do", "ri",
+			"ga", "zu", "be", "fo", "li", "ma", "chi", "qua", "tro", "bel", "nor", "san", "vel", "dor", "lin",
+			"mar", "ces", "pol", "gra" };
+
+	@Param({ "100000", "1000000" })
+	private int size;
+
+	@Param({ "rare", "common" })
+	private String queryKind;
+
+	private List<long[][]> nameTrigrams;
+	private List<IngredientResponseDto> ingredients;
+	private IngredientTrigramIndex index;
+	private String query;
+
+	@Setup
+	public void setUp() {
+		ingredients = syntheticIngredients(size, 42);
+		index = new IngredientTrigramIndex();
+		index.reset(ingredients);
+		nameTrigrams = new ArrayList<>(size);
+		ingredients.forEach(ingredient -> nameTrigrams.add(IngredientTrigramIndex.wordsOf(ingredient.getName()).stream()
+				.map(IngredientTrigramIndex::trigramsOf)
+				.toArray(long[][]::new)));
+
+		if ("common".equals(queryKind)) {
+			query = "tomatoe";
+		} else {
+			String[] words = ingredients.get(1000).getName().split(" ");
+			String word = words[words.length - 1];
+			query = word.substring(0, 2) + word.charAt(3) + word.charAt(2) + word.substring(4);
+		}
+	}
+
+	@Benchmark
+	public List<IngredientResponseDto> trigramIndex() {
+		return index.search(query, 10);
+	}
+
+	@Benchmark
+	public int fullScan() {
+		long[] queryTrigrams = IngredientTrigramIndex.trigramsOf(IngredientTrigramIndex.wordsOf(query).get(0));
+		int matches = 0;
+		for (long[][] words : nameTrigrams) {
+			for (long[] trigrams : words) {
+				double dice = 2.0 * shared(queryTrigrams, trigrams) / (queryTrigrams.length + trigrams.length);
+				if (dice >= IngredientTrigramIndex.DEFAULT_THRESHOLD) {
+					matches++;
+					break;
+				}
+			}
+		}
+		return matches;
+	}
+
+	// helpers
+
+	private static int shared(long[] a, long[] b) {
+		int shared = 0;
+		for (int i = 0, j = 0; i < a.length && j < b.length;) {
+			if (a[i] == b[j]) {
+				shared++;
+				i++;
+				j++;
+			} else if (a[i] < b[j]) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+		return shared;
+	}
+
+	private static List<IngredientResponseDto> syntheticIngredients(int size, long seed) {
+		Random random = new Random(seed);
+		String[] vocabulary = new String[VOCABULARY];
+		double[] cumulative = new double[VOCABULARY];
+		double total = 0;
+		for (int rank = 0; rank < VOCABULARY; rank++) {
+			StringBuilder word = new StringBuilder();
+			int syllables = 3 + random.nextInt(2);
+			for (int s = 0; s < syllables; s++) {
+				word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+			}
+			vocabulary[rank] = word.toString();
+			total += 1.0 / (rank + 1);
+			cumulative[rank] = total;
+		}
+
+		LocalDateTime now = LocalDateTime.now();
+		List<IngredientResponseDto> ingredients = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			StringBuilder name = new StringBuilder(IngredientSuggestBenchmark.WORDS[random.nextInt(
+					IngredientSuggestBenchmark.WORDS.length)]);
+			int brandWords = 1 + random.nextInt(2);
+			for (int w = 0; w < brandWords; w++) {
+				int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+				name.append(' ').append(vocabulary[rank < 0 ? -rank - 1 : rank]);
+			}
+			ingredients.add(new IngredientResponseDto(i + 1, name.toString(), 0, random.nextFloat() * 9, true, now));
+		}
+		return ingredients;
+	}
+}
@@ -0,0 +1,89 @@
+package com.healthybites.service.ingredient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+
+/**
+ * Latency of ingredient autocomplete over 100k synthetic ingredient names. Sample time mode
+ * reports the p99 of a suggestion, compared with a linear scan of the full list (what clients
+ * did before the suggest endpoint existed).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IngredientSuggestBenchmark {
+
+	static final String[] WORDS = { "arroz", "harina", "azúcar", "aceite", "oliva", "pollo", "pechuga", "tomate",
+			"cebolla", "ajo", "leche", "queso", "yogur", "avena", "trigo", "maíz", "garbanzo", "lenteja", "judía",
+			"manzana", "plátano", "naranja", "fresa", "almendra", "nuez", "cacao", "miel", "salmón", "atún", "huevo",
+			"integral", "desnatado", "ecológico", "fresco", "seco", "tostado", "rojo", "verde", "blanco", "negro" };
+
+	@Param({ "100000" })
+	private int size;
+
+	@Param({ "a", "pol", "arroz int" })
+	private String query;
+
+	private List<IngredientResponseDto> ingredients;
+	private IngredientPrefixIndex index;
+
+	@Setup
+	public void setUp() {
+		ingredients = syntheticIngredients(size, 42);
+		index = IngredientPrefixIndex.build(ingredients);
+	}
+
+	@Benchmark
+	public List<IngredientResponseDto> prefixIndex() {
+		return index.suggest(query, 10);
+	}
+
+	@Benchmark
+	public List<IngredientResponseDto> linearScan() {
+		String normalized = IngredientPrefixIndex.normalize(query);
+		List<IngredientResponseDto> matches = new ArrayList<>();
+		for (IngredientResponseDto ingredient : ingredients) {
+			if (matches.size() == 10) {
+				break;
+			}
+			if (IngredientPrefixIndex.normalize(ingredient.getName()).contains(normalized)) {
+				matches.add(ingredient);
+			}
+		}
+		return matches;
+	}
+
+	// helpers
+
+	static List<IngredientResponseDto> syntheticIngredients(int size, long seed) {
+		Random random = new Random(seed);
+		LocalDateTime now = LocalDateTime.now();
+		List<IngredientResponseDto> ingredients = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+					+ Integer.toString(i, 36);
+			ingredients.add(new IngredientResponseDto(i + 1, name, 0, random.nextFloat() * 9, true, now));
+		}
+		return ingredients;
+	}
+}
@@ -0,0 +1,64 @@
+package com.healthybites.service.mealplan;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of a 7 day meal plan on 10k and 100k synthetic recipes, including the sort of the
+ * recipes by calories done for every request. Recipe calories follow a log-normal distribution
+ * with a median of 500 kcal, and the daily target changes on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class MealPlannerBenchmark {
+
+	@Param({ "10000", "100000" })
+	private int size;
+
+	private long[] recipeIds;
+	private float[] calories;
+	private ForkJoinPool pool;
+	private int call;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		recipeIds = new long[size];
+		calories = new float[size];
+		for (int i = 0; i < size; i++) {
+			recipeIds[i] = i + 1;
+			calories[i] = (float) (500 * Math.exp(0.5 * random.nextGaussian()));
+		}
+		pool = new ForkJoinPool(4);
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public List<long[]> weeklyPlan() {
+		double target = 1600 + (call++ % 16) * 100;
+		return new MealPlanner(recipeIds, calories).plan(target, 0.1, 7, pool);
+	}
+}
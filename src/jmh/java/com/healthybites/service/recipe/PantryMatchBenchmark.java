@@ -0,0 +1,70 @@
+package com.healthybites.service.recipe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.healthybites.service.recipe.RecipeIngredientIndex.PantryMatch;
+
+/**
+ * Latency of pantry matching on 1M synthetic recipes, generated as in
+ * RecipeIngredientSearchBenchmark. The "typical" pantry holds the 20 most used ingredients and 20
+ * random ones; the "large" pantry holds the 100 most used ingredients and 100 random ones, so
+ * almost every recipe uses at least one of them and has to be counted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PantryMatchBenchmark {
+
+	@Param({ "1000000" })
+	private int size;
+
+	@Param({ "typical", "large" })
+	private String pantryKind;
+
+	@Param({ "0", "2" })
+	private int maxMissing;
+
+	private RecipeIngredientIndex index;
+	private List<Long> pantry;
+
+	@Setup
+	public void setUp() {
+		long[][] recipes = RecipeIngredientSearchBenchmark.syntheticRecipes(size, 42);
+		index = new RecipeIngredientIndex();
+		for (int recipe = 0; recipe < size; recipe++) {
+			index.put(recipe + 1, Arrays.stream(recipes[recipe]).boxed().toList());
+		}
+
+		int staples = "large".equals(pantryKind) ? 100 : 20;
+		Random random = new Random(7);
+		pantry = new ArrayList<>();
+		for (long ingredientId = 1; ingredientId <= staples; ingredientId++) {
+			pantry.add(ingredientId);
+			pantry.add((long) (staples + 1 + random.nextInt(RecipeIngredientSearchBenchmark.INGREDIENTS - staples)));
+		}
+	}
+
+	@Benchmark
+	public List<PantryMatch> matchPantry() {
+		return index.matchPantry(pantry, maxMissing, 50);
+	}
+}
@@ -0,0 +1,97 @@
+package com.healthybites.service.recipe;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.healthybites.HealthyBitesApiApplication;
+import com.healthybites.dtos.recipe.RecipeIngredientDto;
+import com.healthybites.dtos.recipe.RecipeRequestDto;
+import com.healthybites.dtos.recipe.RecipeResponseDto;
+import com.healthybites.entity.IngredientEntity;
+import com.healthybites.entity.RoleEntity;
+import com.healthybites.entity.UserEntity;
+import com.healthybites.repositoy.IngredientRepository;
+import com.healthybites.repositoy.RoleRepository;
+import com.healthybites.repositoy.UserRepository;
+
+/**
+ * Recipes read per second through RecipeService.getRecipeById, which loads the ingredients of
+ * the recipe and computes the calories of each for its quantity, for recipes with 5, 20 and 50
+ * ingredients. Boots the application against the in-memory database of the test configuration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeCaloriesBenchmark {
+
+	@Param({ "5", "20", "50" })
+	private int ingredientCount;
+
+	private ConfigurableApplicationContext context;
+	private RecipeService recipeService;
+	private Long recipeId;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(HealthyBitesApiApplication.class)
+				.properties("server.port=0", "spring.jpa.properties.hibernate.generate_statistics=false", "logging.level.root=WARN")
+				.run();
+		recipeService = context.getBean(RecipeService.class);
+
+		RoleEntity role = context.getBean(RoleRepository.class).save(RoleEntity.builder().name("USER").build());
+		Long userId = context.getBean(UserRepository.class).save(UserEntity.builder()
+				.name("Benchmark")
+				.email("benchmark@email.com")
+				.password("password")
+				.isEnable(true)
+				.accountNoExpired(true)
+				.accountNoLocked(true)
+				.credentialNoExpired(true)
+				.registrationDate(LocalDateTime.now())
+				.role(role)
+				.build()).getId();
+
+		IngredientRepository ingredientRepository = context.getBean(IngredientRepository.class);
+		List<RecipeIngredientDto> ingredients = new ArrayList<>();
+		for (int i = 0; i < ingredientCount; i++) {
+			IngredientEntity ingredient = new IngredientEntity();
+			ingredient.setName("ingredient-" + i);
+			ingredient.setQuantityCalories(1.5f);
+			ingredient.setCreationDate(LocalDateTime.now());
+			ingredient.setActive(true);
+			ingredients.add(new RecipeIngredientDto(ingredientRepository.save(ingredient).getId(), 100f));
+		}
+		recipeId = recipeService.createRecipe(new RecipeRequestDto("recipe", "Mix everything", userId, ingredients)).getId();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public RecipeResponseDto getRecipeById() {
+		return recipeService.getRecipeById(recipeId);
+	}
+}
@@ -0,0 +1,134 @@
+package com.healthybites.service.recipe;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of the include/exclude ingredient search on 1M and 3M synthetic recipes, compared with
+ * checking the ingredients of every recipe. Recipes have 5 to 15 ingredients drawn with a Zipf
+ * distribution from 5000 ingredients. The "common" query includes two of the most used
+ * ingredients and excludes a third, the "rare" query includes a rarely used ingredient and the
+ * "excludeOnly" query only excludes the most used ingredient, so most recipes match.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RecipeIngredientSearchBenchmark {
+
+	static final int INGREDIENTS = 5000;
+	private static final int PAGE_SIZE = 51;
+
+	@Param({ "1000000", "3000000" })
+	private int size;
+
+	@Param({ "common", "rare", "excludeOnly" })
+	private String queryKind;
+
+	private long[][] ingredientsByRecipe;
+	private RecipeIngredientIndex index;
+	private List<Long> include;
+	private List<Long> exclude;
+
+	@Setup
+	public void setUp() {
+		ingredientsByRecipe = syntheticRecipes(size, 42);
+		index = new RecipeIngredientIndex();
+		for (int recipe = 0; recipe < size; recipe++) {
+			index.put(recipe + 1, Arrays.stream(ingredientsByRecipe[recipe]).boxed().toList());
+		}
+
+		switch (queryKind) {
+		case "common" -> {
+			include = List.of(1L, 2L);
+			exclude = List.of(3L);
+		}
+		case "rare" -> {
+			include = List.of(4000L);
+			exclude = List.of();
+		}
+		default -> {
+			include = List.of();
+			exclude = List.of(1L);
+		}
+		}
+	}
+
+	@Benchmark
+	public List<Long> bitmapIndex() {
+		return index.search(include, exclude, 0, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public int fullScan() {
+		int matches = 0;
+		for (long[] ingredients : ingredientsByRecipe) {
+			if (containsAll(ingredients, include) && containsNone(ingredients, exclude)) {
+				matches++;
+			}
+		}
+		return matches;
+	}
+
+	// helpers
+
+	/**
+	 * Sorted ingredient IDs of synthetic recipes; the ingredient ID is its popularity rank, 1 being
+	 * the most used.
+	 */
+	static long[][] syntheticRecipes(int size, long seed) {
+		Random random = new Random(seed);
+		double[] cumulative = new double[INGREDIENTS];
+		double total = 0;
+		for (int rank = 0; rank < INGREDIENTS; rank++) {
+			total += 1.0 / (rank + 1);
+			cumulative[rank] = total;
+		}
+
+		long[][] recipes = new long[size][];
+		for (int recipe = 0; recipe < size; recipe++) {
+			long[] ingredients = new long[5 + random.nextInt(11)];
+			for (int i = 0; i < ingredients.length; i++) {
+				int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+				ingredients[i] = (rank < 0 ? -rank - 1 : rank) + 1;
+			}
+			Arrays.sort(ingredients);
+			recipes[recipe] = ingredients;
+		}
+		return recipes;
+	}
+
+	private static boolean containsAll(long[] ingredients, List<Long> ingredientIds) {
+		for (Long ingredientId : ingredientIds) {
+			if (Arrays.binarySearch(ingredients, ingredientId) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean containsNone(long[] ingredients, List<Long> ingredientIds) {
+		for (Long ingredientId : ingredientIds) {
+			if (Arrays.binarySearch(ingredients, ingredientId) >= 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
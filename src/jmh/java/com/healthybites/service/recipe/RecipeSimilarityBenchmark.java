@@ -0,0 +1,115 @@
+package com.healthybites.service.recipe;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Build time of the MinHash index and latency of a similar recipes query on 100k and 1M synthetic
+ * recipes, compared with computing the Jaccard similarity with every recipe. A tenth of the
+ * recipes are generated as in RecipeIngredientSearchBenchmark and the rest are variants of one of
+ * them with one to three ingredients replaced, so every recipe has similar ones. The query
+ * recipe changes on every call.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RecipeSimilarityBenchmark {
+
+	@Param({ "100000", "1000000" })
+	private int size;
+
+	private int[] recipeIds;
+	private long[][] ingredientsByRecipe;
+	private RecipeIngredientIndex ingredientIndex;
+	private RecipeSimilarityIndex similarityIndex;
+	private int query;
+
+	@Setup
+	public void setUp() {
+		long[][] bases = RecipeIngredientSearchBenchmark.syntheticRecipes(size / 10, 42);
+		Random random = new Random(7);
+		recipeIds = new int[size];
+		ingredientsByRecipe = new long[size][];
+		ingredientIndex = new RecipeIngredientIndex();
+		for (int recipe = 0; recipe < size; recipe++) {
+			long[] ingredients = bases[recipe % bases.length].clone();
+			if (recipe >= bases.length) {
+				int replaced = 1 + random.nextInt(3);
+				for (int i = 0; i < replaced; i++) {
+					ingredients[random.nextInt(ingredients.length)] = 1
+							+ random.nextInt(RecipeIngredientSearchBenchmark.INGREDIENTS);
+				}
+			}
+			ingredients = Arrays.stream(ingredients).sorted().distinct().toArray();
+			recipeIds[recipe] = recipe + 1;
+			ingredientsByRecipe[recipe] = ingredients;
+			ingredientIndex.put(recipe + 1, Arrays.stream(ingredients).boxed().toList());
+		}
+		similarityIndex = new RecipeSimilarityIndex();
+		similarityIndex.reset(recipeIds, ingredientsByRecipe);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@Warmup(iterations = 1)
+	@Measurement(iterations = 3)
+	public RecipeSimilarityIndex buildIndex() {
+		RecipeSimilarityIndex index = new RecipeSimilarityIndex();
+		index.reset(recipeIds, ingredientsByRecipe);
+		return index;
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@Warmup(iterations = 3, time = 1)
+	@Measurement(iterations = 5, time = 1)
+	public double[] minHashQuery() {
+		long recipeId = nextQuery();
+		return ingredientIndex.jaccard(recipeId, similarityIndex.candidates(recipeId));
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@Warmup(iterations = 2, time = 1)
+	@Measurement(iterations = 3, time = 1)
+	public double bruteForceQuery() {
+		long[] ingredients = ingredientsByRecipe[nextQuery() - 1];
+		double best = 0;
+		for (long[] others : ingredientsByRecipe) {
+			int shared = 0;
+			for (int i = 0, j = 0; i < ingredients.length && j < others.length;) {
+				if (ingredients[i] == others[j]) {
+					shared++;
+					i++;
+					j++;
+				} else if (ingredients[i] < others[j]) {
+					i++;
+				} else {
+					j++;
+				}
+			}
+			best = Math.max(best, (double) shared / (ingredients.length + others.length - shared));
+		}
+		return best;
+	}
+
+	// helpers
+
+	private int nextQuery() {
+		query = (query + 7919) % size;
+		return query + 1;
+	}
+}
@@ -0,0 +1,82 @@
+package com.healthybites.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.healthybites.loadtest.LoadGenerator.Endpoint;
+
+/**
+ * LatencyReport
+ * The throughput, errors and latency percentiles of every endpoint over the measured period of a
+ * load test. Latencies are kept in nanoseconds and shown in milliseconds.
+ */
+final class LatencyReport {
+
+	private static final double NANOS_PER_MILLI = 1e6;
+
+	private final Map<Endpoint, Histogram> histograms;
+	private final Map<Endpoint, Long> errors;
+	private final double seconds;
+
+	LatencyReport(Map<Endpoint, Histogram> histograms, Map<Endpoint, Long> errors, double seconds) {
+		this.histograms = histograms;
+		this.errors = errors;
+		this.seconds = seconds;
+	}
+
+	/**
+	 * Prints one line per endpoint and the total.
+	 *
+	 * @param out the stream to print to
+	 */
+	void print(PrintStream out) {
+		out.printf(Locale.ROOT, "%-36s %9s %9s %7s %9s %9s %9s %9s %9s %9s%n", "Endpoint", "Requests", "req/s", "Errors",
+				"mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+		Histogram total = new Histogram(3);
+		long totalErrors = 0;
+		for (Map.Entry<Endpoint, Histogram> entry : histograms.entrySet()) {
+			Histogram histogram = entry.getValue();
+			long endpointErrors = errors.get(entry.getKey());
+			print(out, entry.getKey().description, histogram, endpointErrors);
+			total.add(histogram);
+			totalErrors += endpointErrors;
+		}
+		print(out, "All", total, totalErrors);
+	}
+
+	/**
+	 * Writes the full percentile distribution of every endpoint as an .hgrm file, the format read
+	 * by the HdrHistogram plotter, so runs can be compared.
+	 *
+	 * @param directory the directory of the files, created if missing
+	 * @throws IOException if a file cannot be written
+	 */
+	void write(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		for (Map.Entry<Endpoint, Histogram> entry : histograms.entrySet()) {
+			Path file = directory.resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+			try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+				entry.getValue().outputPercentileDistribution(out, NANOS_PER_MILLI);
+			}
+		}
+	}
+
+	// helpers
+
+	private void print(PrintStream out, String name, Histogram histogram, long endpointErrors) {
+		out.printf(Locale.ROOT, "%-36s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+				histogram.getTotalCount(), histogram.getTotalCount() / seconds, endpointErrors,
+				histogram.getMean() / NANOS_PER_MILLI, millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+				millis(histogram, 99.9), histogram.getMaxValue() / NANOS_PER_MILLI);
+	}
+
+	private static double millis(Histogram histogram, double percentile) {
+		return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+	}
+}
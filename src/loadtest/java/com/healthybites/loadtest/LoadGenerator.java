@@ -0,0 +1,260 @@
+package com.healthybites.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * LoadGenerator
+ * Drives the API over HTTP from several threads, each acting as a signed-in user of the
+ * synthetic data set: it logs in, then lists its recipes, reads a recipe, creates recipes and
+ * updates its own, in the proportions of the traffic mix. A login in the mix signs in as another
+ * user. The latency of every successful request is recorded per endpoint in an HdrHistogram;
+ * failed requests are only counted.
+ */
+final class LoadGenerator {
+
+	private static final int PAGE_SIZE = 20;
+	private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+	/**
+	 * The operations of the traffic mix.
+	 */
+	enum Endpoint {
+		LOGIN("POST /api/auth/login"),
+		LIST_RECIPES("GET /api/v1/recipes/user/{userId}"),
+		GET_RECIPE("GET /api/v1/recipes/{recipeId}"),
+		CREATE_RECIPE("POST /api/v1/recipes"),
+		UPDATE_RECIPE("PUT /api/v1/recipes/{recipeId}");
+
+		final String description;
+
+		Endpoint(String description) {
+			this.description = description;
+		}
+	}
+
+	private final LoadTestSettings settings;
+	private final String baseUrl;
+	private final HttpClient httpClient;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+	private final Map<Endpoint, AtomicLong> errors = new EnumMap<>(Endpoint.class);
+	private final Endpoint[] mix;
+	private volatile boolean running;
+
+	/**
+	 * @param settings the shape of the traffic
+	 * @param port the port the application listens on
+	 */
+	LoadGenerator(LoadTestSettings settings, int port) {
+		this.settings = settings;
+		this.baseUrl = "http://localhost:" + port;
+		this.httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(TIMEOUT)
+				.build();
+		for (Endpoint endpoint : Endpoint.values()) {
+			recorders.put(endpoint, new Recorder(3));
+			errors.put(endpoint, new AtomicLong());
+		}
+		List<Endpoint> weighted = new ArrayList<>();
+		addWeight(weighted, Endpoint.LOGIN, settings.loginWeight);
+		addWeight(weighted, Endpoint.LIST_RECIPES, settings.listWeight);
+		addWeight(weighted, Endpoint.GET_RECIPE, settings.getWeight);
+		addWeight(weighted, Endpoint.CREATE_RECIPE, settings.createWeight);
+		addWeight(weighted, Endpoint.UPDATE_RECIPE, settings.updateWeight);
+		mix = weighted.toArray(new Endpoint[0]);
+	}
+
+	/**
+	 * Sends traffic for the warm-up period, discards what was recorded, and sends traffic for the
+	 * measured period.
+	 *
+	 * @return the latencies and errors of the measured period
+	 * @throws InterruptedException if interrupted while the traffic runs
+	 */
+	LatencyReport run() throws InterruptedException {
+		running = true;
+		List<Thread> workers = new ArrayList<>();
+		for (int i = 0; i < settings.threads; i++) {
+			Worker worker = new Worker(i);
+			Thread thread = new Thread(worker::run, "load-" + i);
+			thread.start();
+			workers.add(thread);
+		}
+
+		Thread.sleep(TimeUnit.SECONDS.toMillis(settings.warmupSeconds));
+		for (Endpoint endpoint : Endpoint.values()) {
+			recorders.get(endpoint).reset();
+			errors.get(endpoint).set(0);
+		}
+		long start = System.nanoTime();
+		Thread.sleep(TimeUnit.SECONDS.toMillis(settings.durationSeconds));
+		Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+		Map<Endpoint, Long> errorCounts = new EnumMap<>(Endpoint.class);
+		for (Endpoint endpoint : Endpoint.values()) {
+			histograms.put(endpoint, recorders.get(endpoint).getIntervalHistogram());
+			errorCounts.put(endpoint, errors.get(endpoint).get());
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		running = false;
+		for (Thread worker : workers) {
+			worker.join(TIMEOUT.toMillis());
+		}
+		return new LatencyReport(histograms, errorCounts, seconds);
+	}
+
+	// helpers
+
+	private static void addWeight(List<Endpoint> weighted, Endpoint endpoint, int weight) {
+		for (int i = 0; i < weight; i++) {
+			weighted.add(endpoint);
+		}
+	}
+
+	/**
+	 * One simulated user session after another, on its own thread.
+	 */
+	private final class Worker {
+
+		private final int index;
+		private final SplittableRandom random;
+		private final long intervalNanos;
+		private final List<Long> createdRecipes = new ArrayList<>();
+		private long userId;
+		private String token;
+		private long sequence;
+
+		Worker(int index) {
+			this.index = index;
+			this.random = new SplittableRandom(settings.seed + index);
+			this.intervalNanos = settings.rate > 0 ? TimeUnit.SECONDS.toNanos(settings.threads) / settings.rate : 0;
+		}
+
+		void run() {
+			long intendedStart = System.nanoTime();
+			Endpoint next = Endpoint.LOGIN;
+			while (running) {
+				if (intervalNanos > 0) {
+					long wait = intendedStart - System.nanoTime();
+					if (wait > 0) {
+						LockSupport.parkNanos(wait);
+					}
+				} else {
+					intendedStart = System.nanoTime();
+				}
+				try {
+					boolean succeeded = send(next);
+					if (succeeded) {
+						recorders.get(next).recordValue(System.nanoTime() - intendedStart);
+					} else {
+						errors.get(next).incrementAndGet();
+					}
+				} catch (IOException e) {
+					errors.get(next).incrementAndGet();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				intendedStart += intervalNanos;
+				next = token == null ? Endpoint.LOGIN : mix[random.nextInt(mix.length)];
+			}
+		}
+
+		private boolean send(Endpoint endpoint) throws IOException, InterruptedException {
+			return switch (endpoint) {
+			case LOGIN -> login();
+			case LIST_RECIPES -> send(request("/api/v1/recipes/user/" + userId + "?limit=" + PAGE_SIZE).GET()) != null;
+			case GET_RECIPE -> send(request("/api/v1/recipes/" + (1 + random.nextInt(settings.recipes))).GET()) != null;
+			case CREATE_RECIPE -> createRecipe();
+			case UPDATE_RECIPE -> send(request("/api/v1/recipes/" + ownRecipe()).PUT(recipeBody())) != null;
+			};
+		}
+
+		private boolean login() throws IOException, InterruptedException {
+			userId = 1 + random.nextInt(settings.users);
+			createdRecipes.clear();
+			token = null;
+			String body = objectMapper.writeValueAsString(
+					Map.of("email", "user" + userId + "@load.test", "password", SyntheticDataGenerator.PASSWORD));
+			JsonNode response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+					.timeout(TIMEOUT)
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(body)));
+			if (response == null) {
+				return false;
+			}
+			token = response.get("accessToken").asText();
+			return true;
+		}
+
+		private boolean createRecipe() throws IOException, InterruptedException {
+			JsonNode response = send(request("/api/v1/recipes").POST(recipeBody()));
+			if (response == null) {
+				return false;
+			}
+			createdRecipes.add(response.get("data").get("id").asLong());
+			return true;
+		}
+
+		/**
+		 * A recipe of the signed-in user, one created in this session or one of the generated ones.
+		 */
+		private long ownRecipe() {
+			int generated = settings.recipes / settings.users + (userId <= settings.recipes % settings.users ? 1 : 0);
+			int choice = random.nextInt(generated + createdRecipes.size());
+			return choice < generated ? userId + (long) choice * settings.users : createdRecipes.get(choice - generated);
+		}
+
+		private HttpRequest.BodyPublisher recipeBody() throws IOException {
+			List<Map<String, Object>> ingredients = new ArrayList<>();
+			int first = 1 + random.nextInt(settings.ingredients);
+			for (int i = 0; i < settings.ingredientsPerRecipe; i++) {
+				ingredients.add(Map.of("ingredientId", 1 + (first - 1 + i) % settings.ingredients, "quantity", 10 + random.nextInt(200)));
+			}
+			String body = objectMapper.writeValueAsString(Map.of(
+					"name", "Load recipe " + index + "-" + (++sequence),
+					"preparation", "Mix the ingredients and cook them",
+					"userId", userId,
+					"ingredients", ingredients));
+			return HttpRequest.BodyPublishers.ofString(body);
+		}
+
+		private HttpRequest.Builder request(String path) {
+			return HttpRequest.newBuilder(URI.create(baseUrl + path))
+					.timeout(TIMEOUT)
+					.header("Authorization", "Bearer " + token)
+					.header("Content-Type", "application/json");
+		}
+
+		/**
+		 * Sends a request and returns the parsed body, or null if the status is not 2xx.
+		 */
+		private JsonNode send(HttpRequest.Builder request) throws IOException, InterruptedException {
+			HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+			if (response.statusCode() / 100 != 2) {
+				return null;
+			}
+			return objectMapper.readTree(response.body());
+		}
+	}
+}
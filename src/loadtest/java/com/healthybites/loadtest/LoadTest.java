@@ -0,0 +1,59 @@
+package com.healthybites.loadtest;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.healthybites.HealthyBitesApiApplication;
+
+/**
+ * LoadTest
+ * Runs the API end to end on this machine, without MySQL: boots the application on a random
+ * port against an in-memory H2 database in MySQL mode, fills it with a synthetic data set and
+ * drives mixed traffic over HTTP, then prints the throughput and latency percentiles of every
+ * endpoint and writes their distributions to target/loadtest. Run it with
+ *
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.recipes=500000 -Dloadtest.threads=32
+ *
+ * See LoadTestSettings for every setting.
+ */
+public final class LoadTest {
+
+	private LoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+		// the restart class loader of devtools would boot the application twice
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		System.out.println("Load test: " + settings);
+
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HealthyBitesApiApplication.class)
+				.properties(
+						"server.port=0",
+						"spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+						"spring.datasource.hikari.maximum-pool-size=" + Math.max(10, settings.generatorThreads + 2),
+						"spring.jpa.hibernate.ddl-auto=create-drop",
+						"spring.jpa.properties.hibernate.generate_statistics=false",
+						"spring.sql.init.mode=never",
+						"recipe.catalog.preload=false",
+						"logging.level.root=WARN")
+				.run()) {
+			long start = System.nanoTime();
+			String encodedPassword = context.getBean(PasswordEncoder.class).encode(SyntheticDataGenerator.PASSWORD);
+			new SyntheticDataGenerator(context.getBean(JdbcTemplate.class), settings, encodedPassword).generate();
+			System.out.printf("Data set generated in %.1f s%n", (System.nanoTime() - start) / 1e9);
+
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			LatencyReport report = new LoadGenerator(settings, port).run();
+			report.print(System.out);
+			Path reportDirectory = Path.of(settings.reportDirectory);
+			report.write(reportDirectory);
+			System.out.println("Latency distributions written to " + reportDirectory.toAbsolutePath());
+		}
+	}
+}
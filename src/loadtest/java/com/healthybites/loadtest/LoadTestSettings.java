@@ -0,0 +1,89 @@
+package com.healthybites.loadtest;
+
+/**
+ * LoadTestSettings
+ * The size of the synthetic data set and the shape of the traffic of a load test, read from the
+ * loadtest.* system properties. The loadtest Maven profile passes them with the defaults below,
+ * any of them can be overridden on the command line, for example -Dloadtest.recipes=500000.
+ *
+ * The traffic mix is given as relative weights of the operations of a signed-in user. With a
+ * rate of 0 every thread sends its next request as soon as the previous one returns; with a
+ * positive rate the requests are sent on a fixed schedule and latencies are measured from the
+ * time each request was due, so a slow response also counts against the requests it delayed.
+ */
+final class LoadTestSettings {
+
+	final int users;
+	final int ingredients;
+	final int recipes;
+	final int ingredientsPerRecipe;
+	final int generatorThreads;
+
+	final int threads;
+	final int rate;
+	final int warmupSeconds;
+	final int durationSeconds;
+	final long seed;
+
+	final int loginWeight;
+	final int listWeight;
+	final int getWeight;
+	final int createWeight;
+	final int updateWeight;
+
+	final String reportDirectory;
+
+	private LoadTestSettings() {
+		users = integer("users", 1000);
+		ingredients = integer("ingredients", 5000);
+		recipes = integer("recipes", 200000);
+		ingredientsPerRecipe = integer("ingredientsPerRecipe", 10);
+		generatorThreads = integer("generatorThreads", Runtime.getRuntime().availableProcessors());
+
+		threads = integer("threads", 16);
+		rate = integer("rate", 0);
+		warmupSeconds = integer("warmup", 15);
+		durationSeconds = integer("duration", 60);
+		seed = Long.getLong("loadtest.seed", 42L);
+
+		loginWeight = integer("mix.login", 5);
+		listWeight = integer("mix.list", 45);
+		getWeight = integer("mix.get", 25);
+		createWeight = integer("mix.create", 15);
+		updateWeight = integer("mix.update", 10);
+
+		reportDirectory = System.getProperty("loadtest.reportDirectory", "target/loadtest");
+	}
+
+	/**
+	 * Reads the settings from the system properties.
+	 *
+	 * @return the settings
+	 * @throws IllegalArgumentException if a setting is out of range
+	 */
+	static LoadTestSettings fromSystemProperties() {
+		LoadTestSettings settings = new LoadTestSettings();
+		if (settings.users < 1 || settings.ingredients < settings.ingredientsPerRecipe || settings.threads < 1) {
+			throw new IllegalArgumentException("At least one user and one thread, and as many ingredients as ingredients per recipe, are needed");
+		}
+		if (settings.loginWeight + settings.listWeight + settings.getWeight + settings.createWeight + settings.updateWeight <= 0) {
+			throw new IllegalArgumentException("The weights of the traffic mix must add up to a positive number");
+		}
+		return settings;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d users, %d ingredients, %d recipes with %d ingredients each (%d recipe_ingredient rows); "
+				+ "%d threads, %s, %ds warm-up, %ds measured; mix login/list/get/create/update %d/%d/%d/%d/%d",
+				users, ingredients, recipes, ingredientsPerRecipe, (long) recipes * ingredientsPerRecipe, threads,
+				rate > 0 ? rate + " requests/s" : "closed loop", warmupSeconds, durationSeconds,
+				loginWeight, listWeight, getWeight, createWeight, updateWeight);
+	}
+
+	// helpers
+
+	private static int integer(String name, int defaultValue) {
+		return Integer.getInteger("loadtest." + name, defaultValue);
+	}
+}
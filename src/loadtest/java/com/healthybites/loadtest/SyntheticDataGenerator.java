@@ -0,0 +1,211 @@
+package com.healthybites.loadtest;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * SyntheticDataGenerator
+ * Fills an empty database with users, their health profiles, ingredients and recipes, writing
+ * the rows directly with JDBC batches from several threads. Every row is derived from its ID and
+ * the seed, so two runs with the same settings produce the same data.
+ *
+ * IDs are assigned here and the identity columns are moved past them at the end, so the rows
+ * created later through the API do not collide. Recipe r belongs to user 1 + (r - 1) % users and
+ * its stored total calories are the sum of its ingredients, as the API would have computed them.
+ * Users are named user{id}@load.test and share the password {@link #PASSWORD}.
+ */
+final class SyntheticDataGenerator {
+
+	static final String PASSWORD = "password";
+
+	private static final int BATCH_SIZE = 1000;
+	private static final int USER_ROLE_ID = 2;
+	private static final String[] ACTIVITY_LEVELS = { "sedentary", "light", "moderate", "active", "very active" };
+
+	private final JdbcTemplate jdbcTemplate;
+	private final LoadTestSettings settings;
+	private final String encodedPassword;
+	private final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+	private float[] ingredientCalories;
+
+	/**
+	 * @param jdbcTemplate the JdbcTemplate of the application
+	 * @param settings the size of the data set
+	 * @param encodedPassword the hash of {@link #PASSWORD} as stored by the PasswordEncoder of the application
+	 */
+	SyntheticDataGenerator(JdbcTemplate jdbcTemplate, LoadTestSettings settings, String encodedPassword) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.settings = settings;
+		this.encodedPassword = encodedPassword;
+	}
+
+	/**
+	 * Inserts the whole data set, each table split in ranges written in parallel.
+	 *
+	 * @throws InterruptedException if interrupted while waiting for the writers
+	 */
+	void generate() throws InterruptedException {
+		jdbcTemplate.update("insert into role (id, name) values (1, 'ADMIN'), (2, 'USER')");
+		ingredientCalories = new float[settings.ingredients + 1];
+		for (int id = 1; id <= settings.ingredients; id++) {
+			ingredientCalories[id] = 0.2f + random(id).nextInt(880) / 100f;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(settings.generatorThreads);
+		try {
+			inParallel(executor, settings.users, this::insertUsers);
+			inParallel(executor, settings.users, this::insertProfiles);
+			inParallel(executor, settings.ingredients, this::insertIngredients);
+			inParallel(executor, settings.recipes, this::insertRecipes);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		restartIdentity("users", settings.users);
+		restartIdentity("info_user", settings.users);
+		restartIdentity("ingredient", settings.ingredients);
+		restartIdentity("recipe", settings.recipes);
+	}
+
+	/**
+	 * The ID of the user that owns a generated recipe.
+	 */
+	static long ownerOf(long recipeId, int users) {
+		return 1 + (recipeId - 1) % users;
+	}
+
+	// helpers
+
+	private void insertUsers(int from, int to) {
+		batch("insert into users (id, name, email, password, account_no_expired, account_no_locked, credential_no_expired, "
+				+ "is_enable, registration_date, role_id) values (?, ?, ?, ?, true, true, true, true, ?, ?)", from, to,
+				(statement, id) -> {
+					statement.setLong(1, id);
+					statement.setString(2, "User " + id);
+					statement.setString(3, "user" + id + "@load.test");
+					statement.setString(4, encodedPassword);
+					statement.setTimestamp(5, now);
+					statement.setInt(6, USER_ROLE_ID);
+				});
+	}
+
+	private void insertProfiles(int from, int to) {
+		batch("insert into info_user (id, height, weight, sex, age, activity_level, user_id) values (?, ?, ?, ?, ?, ?, ?)",
+				from, to, (statement, id) -> {
+					SplittableRandom random = random(id);
+					statement.setLong(1, id);
+					statement.setDouble(2, 150 + random.nextInt(50));
+					statement.setDouble(3, 45 + random.nextInt(70));
+					statement.setString(4, random.nextBoolean() ? "Male" : "Female");
+					statement.setInt(5, 18 + random.nextInt(60));
+					statement.setString(6, ACTIVITY_LEVELS[random.nextInt(ACTIVITY_LEVELS.length)]);
+					statement.setLong(7, id);
+				});
+	}
+
+	private void insertIngredients(int from, int to) {
+		batch("insert into ingredient (id, name, quantity_calories, creation_date, active) values (?, ?, ?, ?, true)",
+				from, to, (statement, id) -> {
+					statement.setLong(1, id);
+					statement.setString(2, "ingredient " + id);
+					statement.setFloat(3, ingredientCalories[id]);
+					statement.setTimestamp(4, now);
+				});
+	}
+
+	/**
+	 * Inserts a range of recipes and then their ingredients, a batch of recipes at a time.
+	 */
+	private void insertRecipes(int from, int to) {
+		for (int start = from; start < to; start += BATCH_SIZE) {
+			int end = Math.min(start + BATCH_SIZE, to);
+			List<Object[]> recipes = new ArrayList<>(end - start);
+			List<Object[]> links = new ArrayList<>((end - start) * settings.ingredientsPerRecipe);
+			for (int id = start; id < end; id++) {
+				SplittableRandom random = random(-id);
+				int firstIngredient = 1 + random.nextInt(settings.ingredients);
+				int step = 1 + random.nextInt(Math.max(1, settings.ingredients / settings.ingredientsPerRecipe));
+				float totalCalories = 0;
+				for (int i = 0; i < settings.ingredientsPerRecipe; i++) {
+					int ingredientId = 1 + (firstIngredient - 1 + i * step) % settings.ingredients;
+					float quantity = 10 + random.nextInt(40) * 5;
+					totalCalories += quantity * ingredientCalories[ingredientId];
+					links.add(new Object[] { id, ingredientId, quantity });
+				}
+				recipes.add(new Object[] { id, "Recipe " + id, "Mix the ingredients and cook them for " + (5 + random.nextInt(55))
+						+ " minutes", totalCalories, ownerOf(id, settings.users) });
+			}
+			jdbcTemplate.batchUpdate("insert into recipe (id, name, preparation, total_calories, user_id) values (?, ?, ?, ?, ?)",
+					recipes);
+			jdbcTemplate.batchUpdate("insert into recipe_ingredient (recipe_id, ingredient_id, quantity) values (?, ?, ?)", links);
+		}
+	}
+
+	private void batch(String sql, int from, int to, RowSetter setter) {
+		for (int start = from; start < to; start += BATCH_SIZE) {
+			int first = start;
+			int size = Math.min(BATCH_SIZE, to - start);
+			jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+				@Override
+				public void setValues(PreparedStatement statement, int i) throws SQLException {
+					setter.set(statement, first + i);
+				}
+
+				@Override
+				public int getBatchSize() {
+					return size;
+				}
+			});
+		}
+	}
+
+	/**
+	 * Splits the IDs 1 to count in one range per thread and waits for all of them.
+	 */
+	private void inParallel(ExecutorService executor, int count, RangeWriter writer) throws InterruptedException {
+		int ranges = Math.max(1, Math.min(settings.generatorThreads, count / BATCH_SIZE));
+		List<Future<?>> futures = new ArrayList<>();
+		for (int range = 0; range < ranges; range++) {
+			int from = 1 + (int) ((long) count * range / ranges);
+			int to = 1 + (int) ((long) count * (range + 1) / ranges);
+			futures.add(executor.submit(() -> writer.write(from, to)));
+		}
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Could not generate the data set", e.getCause());
+		}
+	}
+
+	private void restartIdentity(String table, int lastId) {
+		jdbcTemplate.execute("alter table " + table + " alter column id restart with " + (lastId + 1));
+	}
+
+	private SplittableRandom random(long id) {
+		return new SplittableRandom(settings.seed * 31 + id);
+	}
+
+	@FunctionalInterface
+	private interface RowSetter {
+		void set(PreparedStatement statement, int id) throws SQLException;
+	}
+
+	@FunctionalInterface
+	private interface RangeWriter {
+		void write(int from, int to);
+	}
+}
@@ -2,6 +2,8 @@ package com.healthybites.api;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -9,6 +11,7 @@ import lombok.Setter;
 /**
  * A generic wrapper for successful API responses.
  * Includes a timestamp, a message, an HTTP-style status code, and the response data.
+ * Paginated responses also include the cursor of the next page.
  *
  * @param <T> The type of the data returned in the response
  */
@@ -21,6 +24,8 @@ public class ApiResponseDto<T> {
 	private String message;
 	private int code;
 	private T data;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String nextCursor;
 	
 	public ApiResponseDto(String message, int code, T data ) {
 		this.timestamp = LocalDateTime.now();
@@ -28,4 +33,9 @@ public class ApiResponseDto<T> {
 		this.code = code;
 		this.data = data;
 	}
+	
+	public ApiResponseDto(String message, int code, T data, String nextCursor) {
+		this(message, code, data);
+		this.nextCursor = nextCursor;
+	}
 }
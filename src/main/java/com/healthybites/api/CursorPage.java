@@ -0,0 +1,88 @@
+package com.healthybites.api;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import com.healthybites.exception.InvalidCursorException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A page of results obtained with keyset (cursor) pagination.
+ * Contains the items of the page and the opaque cursor pointing after the last item,
+ * or null when there are no more pages.
+ *
+ * @param <T> The type of the items in the page
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+	public static final int DEFAULT_LIMIT = 50;
+	public static final int MAX_LIMIT = 200;
+
+	private List<T> items;
+	private String nextCursor;
+
+	/**
+	 * Builds a page from rows fetched with {@code limit + 1} so the extra row tells whether
+	 * another page exists.
+	 *
+	 * @param rows        the rows returned by the seek query
+	 * @param limit       the requested page size
+	 * @param idExtractor function returning the id of a row
+	 * @param mapper      function mapping the rows of the page to the returned items
+	 * @return the page of mapped items and its next cursor
+	 */
+	public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, Long> idExtractor,
+			Function<List<E>, List<T>> mapper) {
+		boolean hasNext = rows.size() > limit;
+		List<E> pageRows = hasNext ? rows.subList(0, limit) : rows;
+		String nextCursor = hasNext ? encodeCursor(idExtractor.apply(pageRows.get(pageRows.size() - 1))) : null;
+		return new CursorPage<>(mapper.apply(pageRows), nextCursor);
+	}
+
+	/**
+	 * Normalizes the requested page size, applying the default and maximum limits.
+	 *
+	 * @param limit the requested page size, may be null
+	 * @return a page size between 1 and MAX_LIMIT
+	 */
+	public static int normalizeLimit(Integer limit) {
+		if (limit == null || limit <= 0) {
+			return DEFAULT_LIMIT;
+		}
+		return Math.min(limit, MAX_LIMIT);
+	}
+
+	/**
+	 * Encodes the id of the last item of a page as an opaque cursor.
+	 *
+	 * @param id the id of the last item
+	 * @return the URL-safe cursor
+	 */
+	public static String encodeCursor(Long id) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes a cursor into the id after which the next page starts.
+	 *
+	 * @param cursor the cursor sent by the client, may be null for the first page
+	 * @return the id to seek after, 0 for the first page
+	 * @throws InvalidCursorException if the cursor is malformed
+	 */
+	public static long decodeCursor(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return 0L;
+		}
+		try {
+			return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException(String.format("Invalid cursor '%s'", cursor), e);
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package com.healthybites.api;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * ResourceVersions
+ * Version counters of the collections served by the API, used as entity tags so a GET request
+ * with a matching If-None-Match header is answered with 304 Not Modified before reading the
+ * database. The counters are bumped by the service layer after every write commits, so a tag
+ * read before a query never describes data older than the response it is sent with.
+ *
+ * Recipes embed their ingredients, so every recipe tag includes the version of the ingredients.
+ * The versions of single recipes and of the recipes of a user are kept in fixed arrays of
+ * counters indexed by a hash of the ID: two IDs sharing a counter only cause an unneeded
+ * download, and the memory used does not grow with the number of recipes or users.
+ *
+ * Counters live in memory and restart with the application, so every tag includes a random
+ * epoch chosen at startup and tags from a previous run never match.
+ *
+ * The counters only see the writes of their own JVM, so the tags are only correct with a single
+ * instance of the application. Behind a load balancer, a write served by one instance does not
+ * bump the counters of the others, which keep answering 304, and serving the cached bytes of
+ * SerializedResponseCache, for data that changed. Running several instances needs versions read
+ * from shared state, such as the last entry of the change log of each type.
+ */
+@Component
+public class ResourceVersions {
+
+	private static final int STRIPES = 8192;
+
+	private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+	private final AtomicLong advices = new AtomicLong();
+	private final AtomicLong ingredients = new AtomicLong();
+	private final AtomicLong recipes = new AtomicLong();
+	private final AtomicLongArray recipesById = new AtomicLongArray(STRIPES);
+	private final AtomicLongArray recipesByUser = new AtomicLongArray(STRIPES);
+
+	/**
+	 * This method returns the entity tag of the advices.
+	 *
+	 * @return String - The entity tag.
+	 */
+	public String advicesTag() {
+		return tag("a", advices.get());
+	}
+
+	/**
+	 * This method returns the entity tag of the ingredients.
+	 *
+	 * @return String - The entity tag.
+	 */
+	public String ingredientsTag() {
+		return tag("i", ingredients.get());
+	}
+
+	/**
+	 * This method returns the entity tag of the responses that depend on all the recipes, such as
+	 * the searches.
+	 *
+	 * @return String - The entity tag.
+	 */
+	public String recipesTag() {
+		return tag("r", ingredients.get(), recipes.get());
+	}
+
+	/**
+	 * This method returns the entity tag of a recipe.
+	 *
+	 * @param recipeId - The ID of the recipe.
+	 * @return String - The entity tag.
+	 */
+	public String recipeTag(long recipeId) {
+		return tag("ri", ingredients.get(), recipesById.get(stripe(recipeId)));
+	}
+
+	/**
+	 * This method returns the entity tag of the recipes of a user.
+	 *
+	 * @param userId - The ID of the user.
+	 * @return String - The entity tag.
+	 */
+	public String userRecipesTag(long userId) {
+		return tag("ru", ingredients.get(), recipesByUser.get(stripe(userId)));
+	}
+
+	/**
+	 * This method bumps the version of the advices once the current transaction commits.
+	 */
+	public void advicesChanged() {
+		afterCommit(advices::incrementAndGet);
+	}
+
+	/**
+	 * This method bumps the version of the ingredients, and so of every recipe, once the current
+	 * transaction commits.
+	 */
+	public void ingredientsChanged() {
+		afterCommit(ingredients::incrementAndGet);
+	}
+
+	/**
+	 * This method bumps the version of a recipe and of the recipes of its owner once the current
+	 * transaction commits.
+	 *
+	 * @param recipeId - The ID of the recipe.
+	 * @param userId   - The ID of the owner of the recipe.
+	 */
+	public void recipeChanged(long recipeId, long userId) {
+		afterCommit(() -> {
+			recipesById.incrementAndGet(stripe(recipeId));
+			recipesByUser.incrementAndGet(stripe(userId));
+			recipes.incrementAndGet();
+		});
+	}
+
+	/**
+	 * This method bumps the version of every recipe of a user once the current transaction
+	 * commits, for writes that change recipes without knowing which ones.
+	 *
+	 * @param userId - The ID of the user.
+	 */
+	public void userRecipesChanged(long userId) {
+		afterCommit(() -> {
+			recipesByUser.incrementAndGet(stripe(userId));
+			for (int stripe = 0; stripe < STRIPES; stripe++) {
+				recipesById.incrementAndGet(stripe);
+			}
+			recipes.incrementAndGet();
+		});
+	}
+
+	// helpers
+
+	private String tag(String collection, long... versions) {
+		StringBuilder tag = new StringBuilder("W/\"").append(collection).append('-').append(epoch);
+		for (long version : versions) {
+			tag.append('-').append(Long.toString(version, 36));
+		}
+		return tag.append('"').toString();
+	}
+
+	private static int stripe(long id) {
+		return (int) ((id * 0x9E3779B97F4A7C15L) >>> 51) & (STRIPES - 1);
+	}
+
+	private static void afterCommit(Runnable bump) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					bump.run();
+				}
+			});
+		} else {
+			bump.run();
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package com.healthybites.api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthybites.metrics.RequestBreakdown;
+import com.healthybites.metrics.RequestBreakdown.Phase;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * SerializedResponseCache
+ * Keeps the final JSON bytes of responses that are the same for every user, plain and gzip
+ * compressed, so they are written straight to the servlet output without querying, mapping or
+ * serializing again. Every response is stored with the entity tag of the version it was built
+ * for (see ResourceVersions): a write changes the tag, and the first request that sees the new
+ * tag builds the response again while the other requests for it wait and reuse the result.
+ *
+ * The bytes are produced by the ObjectMapper of the application, so they are the same the
+ * message converters would write, except for the timestamp of the envelope, which is the time
+ * the response was built. Like the tags, the cache is only kept up to date with a single instance
+ * of the application.
+ */
+@Component
+public class SerializedResponseCache {
+
+	private static final String GZIP = "gzip";
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final ConcurrentMap<String, Slot> slots = new ConcurrentHashMap<>();
+
+	/**
+	 * This method writes a cached response, building it first if it is missing or was built for
+	 * another version. The gzip bytes are sent when the request accepts them.
+	 *
+	 * @param key      - The name of the cached response.
+	 * @param version  - The entity tag of the current version of the data.
+	 * @param body     - Builds the body of the response, called only when the cache is stale.
+	 * @param request  - The current request.
+	 * @param response - The response the bytes are written to.
+	 * @throws IOException if the bytes cannot be written.
+	 */
+	public void write(String key, String version, Supplier<?> body, WebRequest request, HttpServletResponse response)
+			throws IOException {
+		Serialized serialized = get(key, version, body);
+		boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+		byte[] bytes = gzip ? serialized.gzip : serialized.plain;
+		response.setStatus(HttpStatus.OK.value());
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (gzip) {
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+		}
+		response.setContentLength(bytes.length);
+		response.getOutputStream().write(bytes);
+	}
+
+	// helpers
+
+	private Serialized get(String key, String version, Supplier<?> body) {
+		Slot slot = slots.computeIfAbsent(key, k -> new Slot());
+		Serialized serialized = slot.serialized;
+		if (serialized != null && serialized.version.equals(version)) {
+			return serialized;
+		}
+		synchronized (slot) {
+			serialized = slot.serialized;
+			if (serialized == null || !serialized.version.equals(version)) {
+				serialized = serialize(version, body.get());
+				slot.serialized = serialized;
+			}
+			return serialized;
+		}
+	}
+
+	private Serialized serialize(String version, Object body) {
+		long start = RequestBreakdown.enter(Phase.SERIALIZATION);
+		try {
+			byte[] plain = objectMapper.writeValueAsBytes(body);
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream(plain.length / 4 + 64);
+			try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+				gzip.write(plain);
+			}
+			return new Serialized(version, plain, compressed.toByteArray());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			RequestBreakdown.exit(Phase.SERIALIZATION, start);
+		}
+	}
+
+	/**
+	 * Whether the Accept-Encoding header lists gzip without a quality of 0.
+	 */
+	private static boolean acceptsGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+		for (String coding : acceptEncoding.split(",")) {
+			String[] parts = coding.split(";");
+			String name = parts[0].trim();
+			if (name.equalsIgnoreCase(GZIP) || name.equalsIgnoreCase("x-gzip")) {
+				for (int i = 1; i < parts.length; i++) {
+					String parameter = parts[i].trim();
+					if (parameter.startsWith("q=")) {
+						try {
+							return Double.parseDouble(parameter.substring(2)) > 0;
+						} catch (NumberFormatException e) {
+							return false;
+						}
+					}
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static final class Slot {
+
+		private volatile Serialized serialized;
+	}
+
+	private static final class Serialized {
+
+		private final String version;
+		private final byte[] plain;
+		private final byte[] gzip;
+
+		private Serialized(String version, byte[] plain, byte[] gzip) {
+			this.version = version;
+			this.plain = plain;
+			this.gzip = gzip;
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.healthybites.configuration;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import com.healthybites.metrics.ServiceMethodEventInterceptor;
+import com.healthybites.service.advice.AdviceServiceImpl;
+import com.healthybites.service.ingredient.IngredientServiceImpl;
+import com.healthybites.service.recipe.RecipeServiceImpl;
+import com.healthybites.service.user.UserServiceImpl;
+import com.healthybites.service.userDetails.UserDetailsServiceImpl;
+
+/**
+ * Java Flight Recorder configuration for the application.
+ * With jfr.service-events.enabled=true every public method of the recipe, user, ingredient and
+ * advice services, and the login, records a com.healthybites.ServiceMethod event (see
+ * ServiceMethodEvent) when a recording is running, for example one started with
+ * -XX:StartFlightRecording. The flag is off by default, and the services are then left as they
+ * are. When it is on and no recording has the event enabled, a call costs one check.
+ *
+ * The advice joins the proxies Spring already creates for @Transactional, so it sees the calls
+ * made from other beans, such as the controllers, but not the calls a service makes to itself.
+ */
+@Configuration
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+@ConditionalOnProperty(name = "jfr.service-events.enabled", havingValue = "true")
+public class FlightRecorderConfig {
+
+	private static final Set<Class<?>> SERVICES = Set.of(RecipeServiceImpl.class, UserServiceImpl.class,
+			IngredientServiceImpl.class, AdviceServiceImpl.class);
+	private static final String LOGIN = "login";
+
+	/**
+	 * Applies the ServiceMethodEventInterceptor to the public methods of the services.
+	 *
+	 * @return the advisor of the service methods
+	 */
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	Advisor serviceMethodEventAdvisor() {
+		StaticMethodMatcherPointcutAdvisor advisor = new StaticMethodMatcherPointcutAdvisor() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public boolean matches(Method method, Class<?> targetClass) {
+				if (!Modifier.isPublic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+					return false;
+				}
+				if (targetClass == UserDetailsServiceImpl.class) {
+					return method.getName().equals(LOGIN);
+				}
+				return SERVICES.contains(targetClass);
+			}
+		};
+		advisor.setAdvice(new ServiceMethodEventInterceptor());
+		return advisor;
+	}
+}
@@ -0,0 +1,139 @@
+package com.healthybites.configuration;
+
+import javax.sql.DataSource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthybites.metrics.RequestBreakdown;
+import com.healthybites.metrics.RequestBreakdown.Phase;
+import com.healthybites.metrics.RequestBreakdownFilter;
+import com.healthybites.metrics.TimedDataSource;
+import com.healthybites.metrics.TimedJacksonHttpMessageConverter;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+/**
+ * Metrics configuration for the application, read through the actuator endpoints
+ * (/actuator/prometheus for a Prometheus server, /actuator/metrics to browse them).
+ *
+ * Every controller method is timed by Spring as http.server.requests, tagged with its method and
+ * uri; here its timers get the 0.5, 0.95 and 0.99 percentiles and a percentile histogram, so the
+ * percentiles can also be aggregated across instances. The max is always published.
+ *
+ * With metrics.request-breakdown.enabled (true by default) every request is also broken down in
+ * the time spent in the JWT filter, the JDBC statements, the MapStruct mappers and the JSON
+ * serialization, and its number of statements (see RequestBreakdownFilter). The requests over
+ * the statement budget, metrics.statement-budget.max-statements statements or
+ * metrics.statement-budget.max-duration-ms milliseconds, are logged with their SQL.
+ */
+@Configuration
+public class MetricsConfig {
+
+	private static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+	private static final String MAPPERS_PACKAGE = "com.healthybites.mappers.";
+
+	@Value("${metrics.statement-budget.max-statements:20}")
+	private int maxStatements;
+
+	@Value("${metrics.statement-budget.max-duration-ms:1000}")
+	private long maxDurationMillis;
+
+	/**
+	 * Publishes the percentiles of the http.server.requests timers. Any of them can still be
+	 * changed with management.metrics.distribution.*.
+	 *
+	 * @return the filter that configures the distribution of the timers
+	 */
+	@Bean
+	MeterFilter httpServerRequestsPercentiles() {
+		return new MeterFilter() {
+			@Override
+			public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+				if (!id.getName().equals(HTTP_SERVER_REQUESTS)) {
+					return config;
+				}
+				return config.merge(DistributionStatisticConfig.builder()
+						.percentiles(0.5, 0.95, 0.99)
+						.percentilesHistogram(true)
+						.build());
+			}
+		};
+	}
+
+	/**
+	 * Registers the filter that records the breakdown of every request, before the security
+	 * filters so the JWT filter is part of it.
+	 *
+	 * @param meterRegistry the registry of the application
+	 * @return the registration of the filter
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "metrics.request-breakdown.enabled", matchIfMissing = true)
+	FilterRegistrationBean<RequestBreakdownFilter> requestBreakdownFilter(MeterRegistry meterRegistry) {
+		FilterRegistrationBean<RequestBreakdownFilter> registration = new FilterRegistrationBean<>(
+				new RequestBreakdownFilter(meterRegistry, maxStatements, maxDurationMillis));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+		return registration;
+	}
+
+	/**
+	 * Replaces the JSON message converter of Spring Boot with one that times the serialization.
+	 *
+	 * @param objectMapper the ObjectMapper of the application
+	 * @return the JSON message converter
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "metrics.request-breakdown.enabled", matchIfMissing = true)
+	TimedJacksonHttpMessageConverter timedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+		return new TimedJacksonHttpMessageConverter(objectMapper);
+	}
+
+	/**
+	 * Wraps the DataSource to time its statements and the MapStruct mappers to time their calls.
+	 *
+	 * @return the post processor of the beans
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "metrics.request-breakdown.enabled", matchIfMissing = true)
+	static BeanPostProcessor requestBreakdownPostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource dataSource && !(bean instanceof TimedDataSource)) {
+					return new TimedDataSource(dataSource);
+				}
+				if (bean.getClass().getName().startsWith(MAPPERS_PACKAGE)) {
+					return timedMapper(bean);
+				}
+				return bean;
+			}
+		};
+	}
+
+	// helpers
+
+	private static Object timedMapper(Object mapper) {
+		ProxyFactory proxyFactory = new ProxyFactory(mapper);
+		proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+			long start = RequestBreakdown.enter(Phase.MAPPING);
+			try {
+				return invocation.proceed();
+			} finally {
+				RequestBreakdown.exit(Phase.MAPPING, start);
+			}
+		});
+		return proxyFactory.getProxy(mapper.getClass().getClassLoader());
+	}
+}
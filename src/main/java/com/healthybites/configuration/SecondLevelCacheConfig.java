@@ -0,0 +1,43 @@
+package com.healthybites.configuration;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Second-level cache configuration for Hibernate.
+ * The entities annotated with @Cache (roles and ingredients) and the cacheable queries are kept
+ * in a JCache provider, Caffeine in memory by default, so lookups of reference data do not reach
+ * the database. Entity writes go through the cache and bulk statements evict the regions of the
+ * tables they touch. Statistics are enabled so the hits and misses of every region can be read,
+ * without the session metrics Hibernate would otherwise log at the end of every session.
+ *
+ * Every setting is only a default: any of them can be overridden with
+ * spring.jpa.properties.hibernate.*, for example hibernate.javax.cache.provider and
+ * hibernate.javax.cache.uri to plug a clustered JCache provider.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+	private static final String CAFFEINE_PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+	/**
+	 * Adds the second-level cache defaults to the Hibernate properties.
+	 *
+	 * @return the customizer of the Hibernate properties
+	 */
+	@Bean
+	HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+		return properties -> {
+			properties.putIfAbsent(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true");
+			properties.putIfAbsent(AvailableSettings.USE_QUERY_CACHE, "true");
+			properties.putIfAbsent(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+			properties.putIfAbsent(ConfigSettings.PROVIDER, CAFFEINE_PROVIDER);
+			properties.putIfAbsent(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+			properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, "true");
+			properties.putIfAbsent(AvailableSettings.LOG_SESSION_METRICS, "false");
+		};
+	}
+}
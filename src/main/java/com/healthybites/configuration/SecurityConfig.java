@@ -54,6 +54,9 @@ public class SecurityConfig {
 														 "/v3/api-docs/**"
 														 ).permitAll()
 					
+					// Meal plans, before the public user endpoints; the controller checks the owner
+						.requestMatchers(HttpMethod.GET, "/api/v1/users/*/meal-plan").hasAnyRole("ADMIN", "USER")
+					
 					// Public authentication and user registration endpoints
 						.requestMatchers(HttpMethod.POST, "/api/auth/**").permitAll()
 						.requestMatchers(HttpMethod.GET, "/api/v1/users/**").permitAll()
@@ -67,6 +70,7 @@ public class SecurityConfig {
 						.requestMatchers(HttpMethod.GET, "/api/v1/advices/**").hasAnyRole("ADMIN", "USER")
 						.requestMatchers(HttpMethod.GET, "/api/v1/ingredients/**").hasAnyRole("ADMIN", "USER")
 						.requestMatchers(HttpMethod.GET, "/api/v1/recipes/**").hasAnyRole("ADMIN", "USER")
+						.requestMatchers(HttpMethod.GET, "/api/v1/sync").hasAnyRole("ADMIN", "USER")
 						
 					// Admin-only modifications
 						.requestMatchers(HttpMethod.POST, "/api/v1/advices/**").hasRole("ADMIN")
@@ -75,6 +79,12 @@ public class SecurityConfig {
 						.requestMatchers(HttpMethod.POST, "/api/v1/ingredients/**").hasRole("ADMIN")
 						.requestMatchers(HttpMethod.PUT, "/api/v1/ingredients/**").hasRole("ADMIN")
 						.requestMatchers(HttpMethod.DELETE, "/api/v1/ingredients/**").hasRole("ADMIN")
+						.requestMatchers(HttpMethod.POST, "/api/v1/recipes/calories/check").hasRole("ADMIN")
+						.requestMatchers(HttpMethod.GET, "/api/v1/cache/**").hasRole("ADMIN")
+						
+					// Actuator: public health, metrics and Prometheus scrape for administrators
+						.requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+						.requestMatchers("/actuator/**").hasRole("ADMIN")
 					
 					// User-only modifications
 						.requestMatchers(HttpMethod.POST, "/api/v1/recipes/**").hasRole("USER")
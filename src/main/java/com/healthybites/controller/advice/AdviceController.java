@@ -1,5 +1,6 @@
 package com.healthybites.controller.advice;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,10 +15,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.healthybites.api.ApiError;
 import com.healthybites.api.ApiResponseDto;
+import com.healthybites.api.CursorPage;
+import com.healthybites.api.ResourceVersions;
+import com.healthybites.api.SerializedResponseCache;
 import com.healthybites.dtos.advice.AdviceRequestDto;
 import com.healthybites.dtos.advice.AdviceResponseDto;
 import com.healthybites.dtos.user.UserEntityResponseDto;
@@ -28,6 +34,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 
@@ -42,6 +49,12 @@ public class AdviceController {
     @Autowired
     private AdviceServiceImpl adviceService;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private SerializedResponseCache responseCache;
+
     @Operation(
 		    summary = "Get all advices from the database",
 		    description = "Fetch all advices available in the database",
@@ -83,17 +96,34 @@ public class AdviceController {
 		})
     /**
      * * Get all advices
+     * When `after` or `limit` are provided the advices are returned one page at a time, ordered
+     * by id, and the response includes the cursor of the next page. Otherwise the
+     * whole list is written from the serialized response cache, gzip compressed when the client
+     * accepts it.
+     * @param after the cursor returned by the previous page
+     * @param limit the maximum number of advices in the page
      * @return The method `getAllAdvices()` returns a `ResponseEntity` containing an
      * `ApiResponseDto` with a list of `AdviceResponseDto` objects representing all advices
      * fetched from the service. The response message is "Advices fetched successfully" with an
      * HTTP status code of 200 (OK).
      */
     @GetMapping(value = ADVICE_RESOURCE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponseDto<List<AdviceResponseDto>>> getAllAdvices() {
-        List<AdviceResponseDto> advices = adviceService.getAllAdvices();
-        ApiResponseDto<List<AdviceResponseDto>> response =
-                new ApiResponseDto<>("Advices fetched successfully", HttpStatus.OK.value(), advices);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    public ResponseEntity<ApiResponseDto<List<AdviceResponseDto>>> getAllAdvices(
+            @RequestParam(required = false) String after, @RequestParam(required = false) Integer limit,
+            WebRequest request, HttpServletResponse servletResponse) throws IOException {
+        String tag = resourceVersions.advicesTag();
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        if (after != null || limit != null) {
+            CursorPage<AdviceResponseDto> page = adviceService.getAllAdvices(after, limit);
+            ApiResponseDto<List<AdviceResponseDto>> response = new ApiResponseDto<>(
+                    "Advices fetched successfully", HttpStatus.OK.value(), page.getItems(), page.getNextCursor());
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
+        responseCache.write("advices", tag, () -> new ApiResponseDto<>("Advices fetched successfully", HttpStatus.OK.value(),
+                adviceService.getAllAdvices()), request, servletResponse);
+        return null;
     }
 
     @Operation(
@@ -0,0 +1,88 @@
+package com.healthybites.controller.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.healthybites.api.ApiError;
+import com.healthybites.api.ApiResponseDto;
+import com.healthybites.dtos.cache.CacheStatisticsResponseDto;
+import com.healthybites.service.cache.CacheStatisticsServiceImpl;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+// Controller cache
+@RestController
+@RequestMapping("/api/v1")
+@CrossOrigin(origins="*", allowedHeaders="*")
+@Tag(name="Cache", description="Controller for Cache")
+public class CacheController {
+
+	@Autowired
+	CacheStatisticsServiceImpl cacheStatisticsService;
+
+	private static final String CACHE_STATISTICS_RESOURCE = "/cache/statistics";
+
+	@Operation(
+		    summary = "Get the statistics of the second-level cache",
+		    description = "Fetch the hits, misses and puts of the second-level cache and of the query cache, in total and for every cache region",
+		    tags = {"Cache"}
+		)
+		@ApiResponses(
+		    value = {
+		        @ApiResponse(
+		            responseCode = "200",
+		            description = "Cache statistics fetched successfully",
+		            content = {
+		                @Content(
+		                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+		                    schema = @Schema(
+		                        implementation = ApiResponseDto.class,
+		                        subTypes = {
+		                        		CacheStatisticsResponseDto.class
+		                        }
+		                    )
+		                )
+		            }
+		        ),
+				@ApiResponse(responseCode = "500", 
+				description = "Internal server error", 
+				content = {
+						@Content(
+								schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+												    "status": "INTERNAL_SERVER_ERROR",
+												    "message": "Could not open JPA EntityManager for transaction",
+												    "errors": [
+												        "An unexpected error occurred"
+												    ],
+												    "timestamp": "04/02/25 01:27:46"
+												}
+												 """)) })
+		})
+	/**
+	 * This Java function retrieves the statistics of the second-level cache and returns them in a
+	 * JSON response.
+	 * @return The method `getCacheStatistics` returns a `ResponseEntity` containing an
+	 * `ApiResponseDto` with the `CacheStatisticsResponseDto`, with an HTTP status code of 200 (OK).
+	 */
+	@GetMapping(value = CACHE_STATISTICS_RESOURCE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<ApiResponseDto<CacheStatisticsResponseDto>> getCacheStatistics() {
+		CacheStatisticsResponseDto statistics = cacheStatisticsService.getStatistics();
+		ApiResponseDto<CacheStatisticsResponseDto> response =
+				new ApiResponseDto<>("Cache statistics fetched successfully", HttpStatus.OK.value(), statistics);
+		return new ResponseEntity<>(response, HttpStatus.OK);
+	}
+}
@@ -2,7 +2,11 @@ package com.healthybites.controller.ingredient;
 
 import com.healthybites.api.ApiError;
 import com.healthybites.api.ApiResponseDto;
+import com.healthybites.api.CursorPage;
+import com.healthybites.api.ResourceVersions;
+import com.healthybites.api.SerializedResponseCache;
 import com.healthybites.dtos.advice.AdviceResponseDto;
+import com.healthybites.dtos.ingredient.IngredientImportResponseDto;
 import com.healthybites.dtos.ingredient.IngredientRequestDto;
 import com.healthybites.dtos.ingredient.IngredientResponseDto;
 import com.healthybites.dtos.user.UserEntityResponseDto;
@@ -17,8 +21,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -32,6 +40,12 @@ public class IngredientController {
     @Autowired
     private IngredientServiceImpl ingredientService;
 
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private SerializedResponseCache responseCache;
+
     @Operation(
 		    summary = "Get all ingredients from the database",
 		    description = "Fetch all ingredients available in the database",
@@ -73,13 +87,28 @@ public class IngredientController {
 		})
     /**
      * This Java function retrieves all ingredients and returns them in a JSON response.
+     * When `after` or `limit` are provided the ingredients are returned one page at a time, ordered
+     * by id, and the response includes the cursor of the next page.
      * 
+     * @param after the cursor returned by the previous page
+     * @param limit the maximum number of ingredients in the page
      * @return The method `getAllIngredients()` returns a ResponseEntity object containing an
      * ApiResponseDto with a list of IngredientResponseDto objects. This response entity is returned
      * with an HTTP status code of 200 (OK).
      */
     @GetMapping(value = INGREDIENT_RESOURCE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponseDto<List<IngredientResponseDto>>> getAllIngredients() {
+    public ResponseEntity<ApiResponseDto<List<IngredientResponseDto>>> getAllIngredients(
+            @RequestParam(required = false) String after, @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (request.checkNotModified(resourceVersions.ingredientsTag())) {
+            return null;
+        }
+        if (after != null || limit != null) {
+            CursorPage<IngredientResponseDto> page = ingredientService.getAllIngredients(after, limit);
+            ApiResponseDto<List<IngredientResponseDto>> response = new ApiResponseDto<>(
+                    "Ingredients fetched successfully", HttpStatus.OK.value(), page.getItems(), page.getNextCursor());
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
         List<IngredientResponseDto> ingredients = ingredientService.getAllIngredients();
         ApiResponseDto<List<IngredientResponseDto>> response =
                 new ApiResponseDto<>("Ingredients fetched successfully", HttpStatus.OK.value(), ingredients);
@@ -127,17 +156,158 @@ public class IngredientController {
 		})
     /**
      * This function retrieves all active ingredients and returns them in a JSON response.
+     * When `after` or `limit` are provided the ingredients are returned one page at a time, ordered
+     * by id, and the response includes the cursor of the next page. Otherwise the
+     * whole list is written from the serialized response cache, gzip compressed when the client
+     * accepts it.
      * 
+     * @param after the cursor returned by the previous page
+     * @param limit the maximum number of ingredients in the page
      * @return The method `getAllIngredientsActive` returns a `ResponseEntity` containing an
      * `ApiResponseDto` with a list of `IngredientResponseDto` objects representing all active
      * ingredients fetched from the `ingredientService`. The response message is "Ingredients fetched
      * successfully" with an HTTP status code of 200 (OK).
      */
     @GetMapping(value = INGREDIENT_RESOURCE + "/active", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponseDto<List<IngredientResponseDto>>> getAllIngredientsActive() {
-        List<IngredientResponseDto> ingredients = ingredientService.getAllActiveIngredients();
+    public ResponseEntity<ApiResponseDto<List<IngredientResponseDto>>> getAllIngredientsActive(
+            @RequestParam(required = false) String after, @RequestParam(required = false) Integer limit,
+            WebRequest request, HttpServletResponse servletResponse) throws IOException {
+        String tag = resourceVersions.ingredientsTag();
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        if (after != null || limit != null) {
+            CursorPage<IngredientResponseDto> page = ingredientService.getAllActiveIngredients(after, limit);
+            ApiResponseDto<List<IngredientResponseDto>> response = new ApiResponseDto<>(
+                    "Ingredients fetched successfully", HttpStatus.OK.value(), page.getItems(), page.getNextCursor());
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
+        responseCache.write("activeIngredients", tag, () -> new ApiResponseDto<>("Ingredients fetched successfully", HttpStatus.OK.value(),
+                ingredientService.getAllActiveIngredients()), request, servletResponse);
+        return null;
+    }
+    
+    @Operation(
+		    summary = "Suggest active ingredients by name",
+		    description = "Autocomplete active ingredients whose name has a word starting with the given text, ignoring case and accents",
+		    tags = {"Ingredients"}
+		)
+		@ApiResponses(
+		    value = {
+		        @ApiResponse(
+		            responseCode = "200",
+		            description = "Ingredients suggested successfully",
+		            content = {
+		                @Content(
+		                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+		                    schema = @Schema(
+		                        implementation = ApiResponseDto.class,
+		                        subTypes = {
+		                        		IngredientResponseDto.class
+		                        }
+		                    )
+		                )
+		            }
+		        ),
+				@ApiResponse(responseCode = "500", 
+				description = "Internal server error", 
+				content = {
+						@Content(
+								schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+												    "status": "INTERNAL_SERVER_ERROR",
+												    "message": "Could not open JPA EntityManager for transaction",
+												    "errors": [
+												        "An unexpected error occurred"
+												    ],
+												    "timestamp": "04/02/25 01:27:46"
+												}
+												 """)) })
+		})
+    /**
+     * This function suggests active ingredients for the text typed by the user, served from the
+     * in-memory ingredient catalog.
+     * 
+     * @param q the text typed by the user
+     * @param limit the maximum number of suggestions
+     * @return The method `suggestIngredients` returns a `ResponseEntity` containing an
+     * `ApiResponseDto` with the list of suggested `IngredientResponseDto`, with an HTTP status code
+     * of 200 (OK).
+     */
+    @GetMapping(value = INGREDIENT_RESOURCE + "/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDto<List<IngredientResponseDto>>> suggestIngredients(
+            @RequestParam String q, @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (request.checkNotModified(resourceVersions.ingredientsTag())) {
+            return null;
+        }
+        List<IngredientResponseDto> ingredients = ingredientService.suggestIngredients(q, limit);
         ApiResponseDto<List<IngredientResponseDto>> response =
-                new ApiResponseDto<>("Ingredients fetched successfully", HttpStatus.OK.value(), ingredients);
+                new ApiResponseDto<>("Ingredients suggested successfully", HttpStatus.OK.value(), ingredients);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+    
+    @Operation(
+		    summary = "Search active ingredients by name",
+		    description = "Typo tolerant search of active ingredients by name, ignoring case, accents and plurals, best match first",
+		    tags = {"Ingredients"}
+		)
+		@ApiResponses(
+		    value = {
+		        @ApiResponse(
+		            responseCode = "200",
+		            description = "Ingredients searched successfully",
+		            content = {
+		                @Content(
+		                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+		                    schema = @Schema(
+		                        implementation = ApiResponseDto.class,
+		                        subTypes = {
+		                        		IngredientResponseDto.class
+		                        }
+		                    )
+		                )
+		            }
+		        ),
+				@ApiResponse(responseCode = "500", 
+				description = "Internal server error", 
+				content = {
+						@Content(
+								schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+												    "status": "INTERNAL_SERVER_ERROR",
+												    "message": "Could not open JPA EntityManager for transaction",
+												    "errors": [
+												        "An unexpected error occurred"
+												    ],
+												    "timestamp": "04/02/25 01:27:46"
+												}
+												 """)) })
+		})
+    /**
+     * This function searches active ingredients by name tolerating typos, served from the trigram
+     * index of the in-memory ingredient catalog.
+     * 
+     * @param q the text typed by the user
+     * @param limit the maximum number of results
+     * @return The method `searchIngredients` returns a `ResponseEntity` containing an
+     * `ApiResponseDto` with the list of matching `IngredientResponseDto` ranked by similarity, with
+     * an HTTP status code of 200 (OK).
+     */
+    @GetMapping(value = INGREDIENT_RESOURCE + "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDto<List<IngredientResponseDto>>> searchIngredients(
+            @RequestParam String q, @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (request.checkNotModified(resourceVersions.ingredientsTag())) {
+            return null;
+        }
+        List<IngredientResponseDto> ingredients = ingredientService.searchIngredients(q, limit);
+        ApiResponseDto<List<IngredientResponseDto>> response =
+                new ApiResponseDto<>("Ingredients searched successfully", HttpStatus.OK.value(), ingredients);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
     
@@ -199,6 +369,82 @@ public class IngredientController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @Operation(
+		    summary = "Import ingredients from a CSV file",
+		    description = "Creates the ingredients of a CSV file sent as the request body. The header names the columns: "
+		    		+ "name and calories are required, protein, carbs and fat are optional. The separator may be a comma "
+		    		+ "or a semicolon. Rows whose name already exists are skipped and invalid rows are rejected.",
+		    tags = {"Ingredient"}
+		)
+		@ApiResponses(
+		    value = {
+		        @ApiResponse(
+		            responseCode = "200",
+		            description = "Ingredients imported successfully",
+		            content = {
+		                @Content(
+		                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+		                    schema = @Schema(
+		                        implementation = ApiResponseDto.class,
+		                        subTypes = {
+		                        		IngredientImportResponseDto.class
+		                        }
+		                    )
+		                )
+		            }
+		        ),
+		        @ApiResponse(
+			            responseCode = "400",
+			            description = "Invalid import file",
+			            content = @Content(
+			                schema = @Schema(
+			                    implementation = ApiError.class,
+			                    example = """
+			                        {
+									    "status": "BAD_REQUEST",
+									    "message": "La cabecera debe incluir las columnas del nombre y de las calorías",
+									    "errors": [
+									        "Invalid import file"
+									    ],
+									    "timestamp": "04/02/25 10:48:32"
+									}
+			                    """
+			                )
+			            )
+			        ),
+		        @ApiResponse(responseCode = "500", 
+				description = "Internal server error", 
+				content = {
+						@Content(
+								schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+												    "status": "INTERNAL_SERVER_ERROR",
+												    "message": "Could not open JPA EntityManager for transaction",
+												    "errors": [
+												        "An unexpected error occurred"
+												    ],
+												    "timestamp": "04/02/25 01:27:46"
+												}
+												 """)) })
+		})
+    /**
+     * This method imports the ingredients of a CSV file streamed in the request body.
+     * 
+     * @param csv - The content of the CSV file, encoded in UTF-8.
+     * @return ResponseEntity<ApiResponseDto<IngredientImportResponseDto>> - The number of imported,
+     * duplicated and rejected rows, with the reasons of the rejections.
+     * @throws IOException - If the request body cannot be read.
+     */
+    @PostMapping(value = INGREDIENT_RESOURCE + "/import", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDto<IngredientImportResponseDto>> importIngredients(HttpServletRequest request) throws IOException {
+        IngredientImportResponseDto imported = ingredientService.importIngredients(request.getInputStream());
+        ApiResponseDto<IngredientImportResponseDto> response =
+                new ApiResponseDto<>("Ingredients imported successfully", HttpStatus.OK.value(), imported);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
 
     @Operation(
 		    summary = "Update an existing ingredient",
@@ -0,0 +1,146 @@
+package com.healthybites.controller.mealplan;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.healthybites.api.ApiError;
+import com.healthybites.api.ApiResponseDto;
+import com.healthybites.dtos.mealplan.MealPlanResponseDto;
+import com.healthybites.service.mealplan.MealPlanServiceImpl;
+import com.healthybites.service.user.UserServiceImpl;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+// Controller meal plan
+@RestController
+@RequestMapping("/api/v1")
+@CrossOrigin(origins="*", allowedHeaders="*")
+@Tag(name="Meal plan", description="Controller for Meal plan")
+public class MealPlanController {
+
+	@Autowired
+	MealPlanServiceImpl mealPlanService;
+
+	@Autowired
+	UserServiceImpl userService;
+
+	private static final String MEAL_PLAN_PATH = "/users/{userId}/meal-plan";
+	private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+	private static final String ACCESS_DENIED = "The meal plan of user with id %d belongs to another user";
+
+	@Operation(
+		    summary = "Get a meal plan for a user",
+		    description = "Plan a breakfast, a lunch and a dinner for every day so that each day provides the calories the user needs according to the height, weight, age, sex and activity level of the profile",
+		    tags = {"Meal plan"}
+		)
+		@ApiResponses(
+		    value = {
+		        @ApiResponse(
+		            responseCode = "200",
+		            description = "Meal plan generated successfully",
+		            content = {
+		                @Content(
+		                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+		                    schema = @Schema(
+		                        implementation = ApiResponseDto.class,
+		                        subTypes = {
+		                        		MealPlanResponseDto.class
+		                        }
+		                    )
+		                )
+		            }
+		        ),
+		        @ApiResponse(responseCode = "403", 
+				description = "The meal plan belongs to another user", 
+				content = 
+				@Content(
+						schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+													"status": "FORBIDDEN",
+													"message": "The meal plan of user with id 1 belongs to another user",
+													"errors": [
+														"Access denied"
+													],
+													"timestamp": "04/02/25 01:15:06"
+												}
+												"""))),
+		        @ApiResponse(responseCode = "404", 
+				description = "User or health information not found", 
+				content = 
+				@Content(
+						schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+													"status": "NOT_FOUND",
+													"message": "Health information of user with id 1 not found",
+													"errors": [
+														"Health information of user with id 1 not found"
+													],
+													"timestamp": "04/02/25 01:15:06"
+												}
+												"""))),
+				@ApiResponse(responseCode = "500", 
+				description = "Internal server error", 
+				content = {
+						@Content(
+								schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+												    "status": "INTERNAL_SERVER_ERROR",
+												    "message": "Could not open JPA EntityManager for transaction",
+												    "errors": [
+												        "An unexpected error occurred"
+												    ],
+												    "timestamp": "04/02/25 01:27:46"
+												}
+												 """)) })
+		})
+	/**
+	 * This Java function plans the meals of a user for several days and returns the plan in a JSON
+	 * response. Only the user and the administrators can get the plan, since it reveals the calorie
+	 * target worked out from the health information of the user.
+	 * @param userId the id of the user
+	 * @param days the number of days to plan, 7 by default and at most 28
+	 * @param authentication the authenticated user
+	 * @return The method `getMealPlan` returns a `ResponseEntity` containing an `ApiResponseDto`
+	 * with the `MealPlanResponseDto`, with an HTTP status code of 200 (OK).
+	 */
+	@GetMapping(value = MEAL_PLAN_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<ApiResponseDto<MealPlanResponseDto>> getMealPlan(@PathVariable Long userId,
+			@RequestParam(required = false, defaultValue = "7") Integer days, Authentication authentication) {
+		checkOwnerOrAdmin(userId, authentication);
+		MealPlanResponseDto mealPlan = mealPlanService.getMealPlan(userId, days);
+		ApiResponseDto<MealPlanResponseDto> response =
+				new ApiResponseDto<>("Meal plan generated successfully", HttpStatus.OK.value(), mealPlan);
+		return new ResponseEntity<>(response, HttpStatus.OK);
+	}
+
+	// helpers
+
+	private void checkOwnerOrAdmin(Long userId, Authentication authentication) {
+		boolean admin = authentication.getAuthorities().stream()
+				.anyMatch(authority -> authority.getAuthority().equals(ADMIN_AUTHORITY));
+		if (!admin && !userService.findUserByEmail(authentication.getName()).getId().equals(userId)) {
+			throw new AccessDeniedException(String.format(ACCESS_DENIED, userId));
+		}
+	}
+}
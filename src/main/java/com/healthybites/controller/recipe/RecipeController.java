@@ -1,9 +1,12 @@
 package com.healthybites.controller.recipe;
 
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,17 +15,27 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.healthybites.api.ApiError;
 import com.healthybites.api.ApiResponseDto;
+import com.healthybites.api.CursorPage;
+import com.healthybites.api.ResourceVersions;
 import com.healthybites.dtos.advice.AdviceResponseDto;
 import com.healthybites.dtos.ingredient.IngredientResponseDto;
 import com.healthybites.dtos.recipe.AddIngredientToRecipeDto;
+import com.healthybites.dtos.recipe.PantryRecipeResponseDto;
 import com.healthybites.dtos.recipe.RecipeRequestDto;
 import com.healthybites.dtos.recipe.RecipeResponseDto;
+import com.healthybites.dtos.recipe.ShoppingListRequestDto;
+import com.healthybites.dtos.recipe.ShoppingListResponseDto;
+import com.healthybites.dtos.recipe.SimilarRecipeResponseDto;
 import com.healthybites.dtos.user.UserEntityResponseDto;
+import com.healthybites.service.recipe.RecipeCaloriesConsistencyChecker;
 import com.healthybites.service.recipe.RecipeServiceImpl;
+import com.healthybites.service.user.UserServiceImpl;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -31,6 +44,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
 import org.springframework.http.*;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 
@@ -41,10 +55,21 @@ public class RecipeController {
 
     private static final String RECIPE_RESOURCE = "/recipes";
     private static final String RECIPE_ID_PATH = RECIPE_RESOURCE + "/{recipeId}";
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
 
     @Autowired
     private RecipeServiceImpl recipeService;
 
+    @Autowired
+    private RecipeCaloriesConsistencyChecker caloriesConsistencyChecker;
+
+    @Autowired
+    private ResourceVersions resourceVersions;
+
+    @Autowired
+    private UserServiceImpl userService;
+
     @Operation(
 		    summary = "Get all recipes by user id from the database",
 		    description = "Fetch all recipes available in the database by user id",
@@ -86,19 +111,325 @@ public class RecipeController {
 		})
     /**
      * This Java function retrieves all recipes by user and returns them in a JSON response.
+     * When `after` or `limit` are provided the recipes are returned one page at a time, ordered
+     * by id, and the response includes the cursor of the next page.
      * @param userId 
+     * @param after the cursor returned by the previous page
+     * @param limit the maximum number of recipes in the page
      * @return The method `getAllRecipesByUser` returns a `ResponseEntity` containing an
      * `ApiResponseDto` with a list of `RecipeResponseDto` objects representing all recipes fetched
      * for a specific user. The response message is "Recipes fetched for user successfully" with an
      * HTTP status code of 200 (OK).
      */
     @GetMapping(value = RECIPE_RESOURCE + "/user/{userId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponseDto<List<RecipeResponseDto>>> getAllRecipesByUser(@PathVariable Long userId) {
+    public ResponseEntity<ApiResponseDto<List<RecipeResponseDto>>> getAllRecipesByUser(@PathVariable Long userId,
+            @RequestParam(required = false) String after, @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (request.checkNotModified(resourceVersions.userRecipesTag(userId))) {
+            return null;
+        }
+        if (after != null || limit != null) {
+            CursorPage<RecipeResponseDto> page = recipeService.getAllRecipesByUser(userId, after, limit);
+            ApiResponseDto<List<RecipeResponseDto>> response = new ApiResponseDto<>(
+                    "Recipes fetched for user successfully", HttpStatus.OK.value(), page.getItems(), page.getNextCursor());
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
         List<RecipeResponseDto> recipes = recipeService.getAllRecipesByUser(userId);
         ApiResponseDto<List<RecipeResponseDto>> response =
                 new ApiResponseDto<>("Recipes fetched for user successfully", HttpStatus.OK.value(), recipes);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
+
+    @Operation(
+		    summary = "Export recipes as newline-delimited JSON",
+		    description = "Streams the recipes with their ingredients, one recipe per line. Administrators export "
+		    		+ "the recipes of all users, users export their own recipes.",
+		    tags = {"Recipes"}
+		)
+		@ApiResponses(
+		    value = {
+		        @ApiResponse(
+		            responseCode = "200",
+		            description = "Recipes exported successfully",
+		            content = {
+		                @Content(
+		                    mediaType = APPLICATION_NDJSON_VALUE,
+		                    schema = @Schema(
+		                        implementation = RecipeResponseDto.class
+		                    )
+		                )
+		            }
+		        ),
+				@ApiResponse(responseCode = "500", 
+				description = "Internal server error", 
+				content = {
+						@Content(
+								schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+												    "status": "INTERNAL_SERVER_ERROR",
+												    "message": "Could not open JPA EntityManager for transaction",
+												    "errors": [
+												        "An unexpected error occurred"
+												    ],
+												    "timestamp": "04/02/25 01:27:46"
+												}
+												 """)) })
+		})
+    /**
+     * This method streams the recipes of the authenticated user, or of all users for an
+     * administrator, as newline-delimited JSON written straight to the response.
+     * 
+     * @param authentication - The authenticated user.
+     * @param servletResponse - The response the recipes are written to.
+     * @throws IOException - If the response cannot be written.
+     */
+    @GetMapping(value = RECIPE_RESOURCE + "/export", produces = APPLICATION_NDJSON_VALUE)
+    public void exportRecipes(Authentication authentication, HttpServletResponse servletResponse) throws IOException {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals(ADMIN_AUTHORITY));
+        Long userId = admin ? null : userService.findUserByEmail(authentication.getName()).getId();
+        servletResponse.setContentType(APPLICATION_NDJSON_VALUE);
+        servletResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        recipeService.exportRecipes(userId, servletResponse.getOutputStream());
+    }
+    
+    @Operation(
+		    summary = "Get the recipes within a range of total calories",
+		    description = "Fetch the recipes whose total calories are between min and max, ordered by total calories",
+		    tags = {"Recipes"}
+		)
+		@ApiResponses(
+		    value = {
+		        @ApiResponse(
+		            responseCode = "200",
+		            description = "Recipes fetched successfully",
+		            content = {
+		                @Content(
+		                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+		                    schema = @Schema(
+		                        implementation = ApiResponseDto.class,
+		                        subTypes = {
+		                        		RecipeResponseDto.class
+		                        }
+		                    )
+		                )
+		            }
+		        ),
+				@ApiResponse(responseCode = "500", 
+				description = "Internal server error", 
+				content = {
+						@Content(
+								schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+												    "status": "INTERNAL_SERVER_ERROR",
+												    "message": "Could not open JPA EntityManager for transaction",
+												    "errors": [
+												        "An unexpected error occurred"
+												    ],
+												    "timestamp": "04/02/25 01:27:46"
+												}
+												 """)) })
+		})
+    /**
+     * This Java function retrieves the recipes whose stored total calories are within a range and
+     * returns them in a JSON response, ordered by total calories.
+     * @param min the minimum total calories, inclusive
+     * @param max the maximum total calories, inclusive
+     * @param limit the maximum number of recipes to return
+     * @return The method `getRecipesByCalories` returns a `ResponseEntity` containing an
+     * `ApiResponseDto` with the list of `RecipeResponseDto` within the range, with an HTTP status
+     * code of 200 (OK).
+     */
+    @GetMapping(value = RECIPE_RESOURCE + "/calories", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDto<List<RecipeResponseDto>>> getRecipesByCalories(
+            @RequestParam(defaultValue = "0") float min, @RequestParam(defaultValue = "" + Float.MAX_VALUE) float max,
+            @RequestParam(required = false) Integer limit, WebRequest request) {
+        if (request.checkNotModified(resourceVersions.recipesTag())) {
+            return null;
+        }
+        List<RecipeResponseDto> recipes = recipeService.getRecipesByCalories(min, max, limit);
+        ApiResponseDto<List<RecipeResponseDto>> response =
+                new ApiResponseDto<>("Recipes fetched successfully", HttpStatus.OK.value(), recipes);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @Operation(
+		    summary = "Check and repair the total calories of all recipes",
+		    description = "Recompute the stored total calories of the recipes that no longer match their ingredients",
+		    tags = {"Recipes"}
+		)
+		@ApiResponses(
+		    value = {
+		        @ApiResponse(
+		            responseCode = "200",
+		            description = "Recipe calories checked successfully",
+		            content = {
+		                @Content(
+		                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+		                    schema = @Schema(implementation = ApiResponseDto.class)
+		                )
+		            }
+		        ),
+				@ApiResponse(responseCode = "500", 
+				description = "Internal server error", 
+				content = {
+						@Content(
+								schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+												    "status": "INTERNAL_SERVER_ERROR",
+												    "message": "Recipe calories check failed",
+												    "errors": [
+												        "An unexpected error occurred"
+												    ],
+												    "timestamp": "04/02/25 01:27:46"
+												}
+												 """)) })
+		})
+    /**
+     * This Java function checks the stored total calories of every recipe against its ingredients
+     * and repairs the stale ones.
+     * @return The method `checkRecipeCalories` returns a `ResponseEntity` containing an
+     * `ApiResponseDto` with the number of repaired recipes, with an HTTP status code of 200 (OK).
+     */
+    @PostMapping(value = RECIPE_RESOURCE + "/calories/check", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDto<Integer>> checkRecipeCalories() {
+        int repaired = caloriesConsistencyChecker.checkAndRepair();
+        ApiResponseDto<Integer> response =
+                new ApiResponseDto<>("Recipe calories checked successfully", HttpStatus.OK.value(), repaired);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @Operation(
+		    summary = "Get the recipes that can be cooked with a pantry",
+		    description = "Fetch the recipes whose ingredients are all in the pantry, or with at most maxMissing ingredients missing, ranked by the fraction of their ingredients found in the pantry",
+		    tags = {"Recipes"}
+		)
+		@ApiResponses(
+		    value = {
+		        @ApiResponse(
+		            responseCode = "200",
+		            description = "Recipes fetched successfully",
+		            content = {
+		                @Content(
+		                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+		                    schema = @Schema(
+		                        implementation = ApiResponseDto.class,
+		                        subTypes = {
+		                        		PantryRecipeResponseDto.class
+		                        }
+		                    )
+		                )
+		            }
+		        ),
+				@ApiResponse(responseCode = "500", 
+				description = "Internal server error", 
+				content = {
+						@Content(
+								schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+												    "status": "INTERNAL_SERVER_ERROR",
+												    "message": "Could not open JPA EntityManager for transaction",
+												    "errors": [
+												        "An unexpected error occurred"
+												    ],
+												    "timestamp": "04/02/25 01:27:46"
+												}
+												 """)) })
+		})
+    /**
+     * This Java function retrieves the recipes that can be cooked with the ingredients of a pantry
+     * and returns them in a JSON response, best coverage first.
+     * @param ingredients the ids of the ingredients of the pantry
+     * @param maxMissing the maximum number of ingredients of a recipe that may be missing
+     * @param limit the maximum number of recipes to return
+     * @return The method `getRecipesForPantry` returns a `ResponseEntity` containing an
+     * `ApiResponseDto` with the list of `PantryRecipeResponseDto`, each with its coverage and
+     * missing ingredients, with an HTTP status code of 200 (OK).
+     */
+    @GetMapping(value = RECIPE_RESOURCE + "/pantry", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDto<List<PantryRecipeResponseDto>>> getRecipesForPantry(
+            @RequestParam List<Long> ingredients, @RequestParam(defaultValue = "0") Integer maxMissing,
+            @RequestParam(required = false) Integer limit, WebRequest request) {
+        if (request.checkNotModified(resourceVersions.recipesTag())) {
+            return null;
+        }
+        List<PantryRecipeResponseDto> recipes = recipeService.getRecipesForPantry(ingredients, maxMissing, limit);
+        ApiResponseDto<List<PantryRecipeResponseDto>> response =
+                new ApiResponseDto<>("Recipes fetched successfully", HttpStatus.OK.value(), recipes);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @Operation(
+		    summary = "Search recipes by the ingredients they contain",
+		    description = "Fetch the recipes that contain all the included ingredients and none of the excluded ones, one page at a time ordered by id",
+		    tags = {"Recipes"}
+		)
+		@ApiResponses(
+		    value = {
+		        @ApiResponse(
+		            responseCode = "200",
+		            description = "Recipes fetched successfully",
+		            content = {
+		                @Content(
+		                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+		                    schema = @Schema(
+		                        implementation = ApiResponseDto.class,
+		                        subTypes = {
+		                        		RecipeResponseDto.class
+		                        }
+		                    )
+		                )
+		            }
+		        ),
+				@ApiResponse(responseCode = "500", 
+				description = "Internal server error", 
+				content = {
+						@Content(
+								schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+												    "status": "INTERNAL_SERVER_ERROR",
+												    "message": "Could not open JPA EntityManager for transaction",
+												    "errors": [
+												        "An unexpected error occurred"
+												    ],
+												    "timestamp": "04/02/25 01:27:46"
+												}
+												 """)) })
+		})
+    /**
+     * This Java function retrieves the recipes that contain all the included ingredients and none
+     * of the excluded ones and returns them in a JSON response, one page at a time.
+     * @param include the ids of the ingredients the recipes must contain
+     * @param exclude the ids of the ingredients the recipes must not contain
+     * @param after the cursor returned by the previous page
+     * @param limit the maximum number of recipes in the page
+     * @return The method `searchRecipesByIngredients` returns a `ResponseEntity` containing an
+     * `ApiResponseDto` with the page of matching `RecipeResponseDto` and the cursor of the next
+     * page, with an HTTP status code of 200 (OK).
+     */
+    @GetMapping(value = RECIPE_RESOURCE + "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDto<List<RecipeResponseDto>>> searchRecipesByIngredients(
+            @RequestParam(required = false) List<Long> include, @RequestParam(required = false) List<Long> exclude,
+            @RequestParam(required = false) String after, @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (request.checkNotModified(resourceVersions.recipesTag())) {
+            return null;
+        }
+        CursorPage<RecipeResponseDto> page = recipeService.searchRecipesByIngredients(include, exclude, after, limit);
+        ApiResponseDto<List<RecipeResponseDto>> response = new ApiResponseDto<>(
+                "Recipes fetched successfully", HttpStatus.OK.value(), page.getItems(), page.getNextCursor());
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
     
     @Operation(
 		    summary = "Get a recipe by its ID from the database",
@@ -163,7 +494,11 @@ public class RecipeController {
      * with an HTTP status code of 200 (OK).
      */
     @GetMapping(value = RECIPE_ID_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponseDto<RecipeResponseDto>> getRecipeById(@PathVariable Long recipeId) {
+    public ResponseEntity<ApiResponseDto<RecipeResponseDto>> getRecipeById(@PathVariable Long recipeId,
+            WebRequest request) {
+        if (request.checkNotModified(resourceVersions.recipeTag(recipeId))) {
+            return null;
+        }
     	RecipeResponseDto recipe = recipeService.getRecipeById(recipeId);
         ApiResponseDto<RecipeResponseDto> response =
                 new ApiResponseDto<>("Recipe fetched successfully", HttpStatus.OK.value(), recipe);
@@ -226,6 +561,78 @@ public class RecipeController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @Operation(
+		    summary = "Get the shopping list of several recipes",
+		    description = "Merge the ingredients of the provided recipes into a single list, adding up the quantity of every ingredient multiplied by the servings of each recipe",
+		    tags = {"Recipes"}
+		)
+		@ApiResponses(
+		    value = {
+		        @ApiResponse(
+		            responseCode = "200",
+		            description = "Shopping list generated successfully",
+		            content = {
+		                @Content(
+		                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+		                    schema = @Schema(
+		                        implementation = ApiResponseDto.class,
+		                        subTypes = {
+		                        		ShoppingListResponseDto.class
+		                        }
+		                    )
+		                )
+		            }
+		        ),
+		        @ApiResponse(responseCode = "404", 
+				description = "Recipe not found", 
+				content = 
+				@Content(
+						schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+													"status": "NOT_FOUND",
+													"message": "Recipe with id 1 not found",
+													"errors": [
+														"Recipe with id 1 not found"
+													],
+													"timestamp": "04/02/25 01:15:06"
+												}
+												"""))),
+				@ApiResponse(responseCode = "500", 
+				description = "Internal server error", 
+				content = {
+						@Content(
+								schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+												    "status": "INTERNAL_SERVER_ERROR",
+												    "message": "Could not open JPA EntityManager for transaction",
+												    "errors": [
+												        "An unexpected error occurred"
+												    ],
+												    "timestamp": "04/02/25 01:27:46"
+												}
+												 """)) })
+		})
+    /**
+     * This Java function merges the ingredients of several recipes into a shopping list and
+     * returns it in a JSON response.
+     * @param shoppingListRequest the recipes and the servings of each one
+     * @return The method `getShoppingList` returns a `ResponseEntity` containing an
+     * `ApiResponseDto` with the `ShoppingListResponseDto`, with an HTTP status code of 200 (OK).
+     */
+    @PostMapping(value = RECIPE_RESOURCE + "/shopping-list", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDto<ShoppingListResponseDto>> getShoppingList(
+            @Valid @RequestBody ShoppingListRequestDto shoppingListRequest) {
+        ShoppingListResponseDto shoppingList = recipeService.getShoppingList(shoppingListRequest);
+        ApiResponseDto<ShoppingListResponseDto> response =
+                new ApiResponseDto<>("Shopping list generated successfully", HttpStatus.OK.value(), shoppingList);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @Operation(
 		    summary = "Get Ingredients For Recipe Id",
 		    description = "Fetch a ingredient based on the provided ID",
@@ -291,13 +698,93 @@ public class RecipeController {
      * successfully" with an HTTP status code of 200 (OK).
      */
     @GetMapping(value = RECIPE_ID_PATH + "/ingredients", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ApiResponseDto<List<IngredientResponseDto>>> getIngredientsForRecipe(@PathVariable Long recipeId) {
+    public ResponseEntity<ApiResponseDto<List<IngredientResponseDto>>> getIngredientsForRecipe(@PathVariable Long recipeId,
+            WebRequest request) {
+        if (request.checkNotModified(resourceVersions.recipeTag(recipeId))) {
+            return null;
+        }
         List<IngredientResponseDto> ingredients = recipeService.getIngredientsForRecipe(recipeId);
         ApiResponseDto<List<IngredientResponseDto>> response =
                 new ApiResponseDto<>("Ingredients for recipe fetched successfully", HttpStatus.OK.value(), ingredients);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @Operation(
+		    summary = "Get the recipes most similar to a recipe",
+		    description = "Fetch the recipes with the highest Jaccard similarity of ingredients with the recipe of the provided ID, most similar first",
+		    tags = {"Recipes"}
+		)
+		@ApiResponses(
+		    value = {
+		        @ApiResponse(
+		            responseCode = "200",
+		            description = "Similar recipes fetched successfully",
+		            content = {
+		                @Content(
+		                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+		                    schema = @Schema(
+		                        implementation = ApiResponseDto.class,
+		                        subTypes = {
+		                        		SimilarRecipeResponseDto.class
+		                        }
+		                    )
+		                )
+		            }
+		        ),
+		        @ApiResponse(responseCode = "404", 
+				description = "Recipe not found", 
+				content = 
+				@Content(
+						schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+													"status": "NOT_FOUND",
+													"message": "Recipe with id 1 not found",
+													"errors": [
+														"Recipe with id 1 not found"
+													],
+													"timestamp": "04/02/25 01:15:06"
+												}
+												"""))),
+				@ApiResponse(responseCode = "500", 
+				description = "Internal server error", 
+				content = {
+						@Content(
+								schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+												    "status": "INTERNAL_SERVER_ERROR",
+												    "message": "Could not open JPA EntityManager for transaction",
+												    "errors": [
+												        "An unexpected error occurred"
+												    ],
+												    "timestamp": "04/02/25 01:27:46"
+												}
+												 """)) })
+		})
+    /**
+     * This Java function retrieves the recipes whose ingredients are most similar to those of a
+     * recipe and returns them in a JSON response, most similar first.
+     * @param recipeId the id of the recipe
+     * @param limit the maximum number of recipes to return
+     * @return The method `getSimilarRecipes` returns a `ResponseEntity` containing an
+     * `ApiResponseDto` with the list of `SimilarRecipeResponseDto`, each with its similarity, with
+     * an HTTP status code of 200 (OK).
+     */
+    @GetMapping(value = RECIPE_ID_PATH + "/similar", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponseDto<List<SimilarRecipeResponseDto>>> getSimilarRecipes(@PathVariable Long recipeId,
+            @RequestParam(required = false) Integer limit, WebRequest request) {
+        if (request.checkNotModified(resourceVersions.recipesTag())) {
+            return null;
+        }
+        List<SimilarRecipeResponseDto> recipes = recipeService.getSimilarRecipes(recipeId, limit);
+        ApiResponseDto<List<SimilarRecipeResponseDto>> response =
+                new ApiResponseDto<>("Similar recipes fetched successfully", HttpStatus.OK.value(), recipes);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
 
     @Operation(
 		    summary = "Update an existing recipe",
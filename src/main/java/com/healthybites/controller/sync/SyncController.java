@@ -0,0 +1,109 @@
+package com.healthybites.controller.sync;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.healthybites.api.ApiError;
+import com.healthybites.api.ApiResponseDto;
+import com.healthybites.dtos.sync.SyncResponseDto;
+import com.healthybites.service.sync.SyncServiceImpl;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+// Controller sync
+@RestController
+@RequestMapping("/api/v1")
+@CrossOrigin(origins="*", allowedHeaders="*")
+@Tag(name="Sync", description="Controller for Sync")
+public class SyncController {
+
+	@Autowired
+	SyncServiceImpl syncService;
+
+	private static final String SYNC_RESOURCE = "/sync";
+
+	@Operation(
+		    summary = "Get the changes since the last synchronization",
+		    description = "Fetch the recipes, ingredients and advices created, updated or deleted after the provided cursor. Without a cursor only the cursor of the latest change is returned, to be read before a full download",
+		    tags = {"Sync"}
+		)
+		@ApiResponses(
+		    value = {
+		        @ApiResponse(
+		            responseCode = "200",
+		            description = "Changes fetched successfully",
+		            content = {
+		                @Content(
+		                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+		                    schema = @Schema(
+		                        implementation = ApiResponseDto.class,
+		                        subTypes = {
+		                        		SyncResponseDto.class
+		                        }
+		                    )
+		                )
+		            }
+		        ),
+		        @ApiResponse(responseCode = "400", 
+				description = "Invalid cursor", 
+				content = 
+				@Content(
+						schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+													"status": "BAD_REQUEST",
+													"message": "Invalid cursor 'abc'",
+													"errors": [
+														"Invalid pagination cursor"
+													],
+													"timestamp": "04/02/25 01:15:06"
+												}
+												"""))),
+				@ApiResponse(responseCode = "500", 
+				description = "Internal server error", 
+				content = {
+						@Content(
+								schema = @Schema(
+										implementation = ApiError.class, 
+										example = """
+												{
+												    "status": "INTERNAL_SERVER_ERROR",
+												    "message": "Could not open JPA EntityManager for transaction",
+												    "errors": [
+												        "An unexpected error occurred"
+												    ],
+												    "timestamp": "04/02/25 01:27:46"
+												}
+												 """)) })
+		})
+	/**
+	 * This Java function retrieves the changes written after a cursor and returns them in a JSON
+	 * response.
+	 * @param since the cursor returned by the previous synchronization
+	 * @param userId the id of the user whose recipes are synchronized, all users if absent
+	 * @param limit the maximum number of changes to read
+	 * @return The method `getChanges` returns a `ResponseEntity` containing an `ApiResponseDto`
+	 * with the `SyncResponseDto`, with an HTTP status code of 200 (OK).
+	 */
+	@GetMapping(value = SYNC_RESOURCE, produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<ApiResponseDto<SyncResponseDto>> getChanges(@RequestParam(required = false) String since,
+			@RequestParam(required = false) Long userId, @RequestParam(required = false) Integer limit) {
+		SyncResponseDto changes = syncService.getChanges(since, userId, limit);
+		ApiResponseDto<SyncResponseDto> response =
+				new ApiResponseDto<>("Changes fetched successfully", HttpStatus.OK.value(), changes);
+		return new ResponseEntity<>(response, HttpStatus.OK);
+	}
+}
@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.healthybites.api.ApiError;
 import com.healthybites.api.ApiResponseDto;
+import com.healthybites.api.CursorPage;
 import com.healthybites.dtos.user.UserEntityRequestDto;
 import com.healthybites.dtos.user.UserEntityResponseDto;
 import com.healthybites.service.user.UserServiceImpl;
@@ -229,9 +230,26 @@ public class UserController {
 												}
 												 """)) })
 		})
+	/**
+	 * This Java function retrieves all users and returns them in a JSON response.
+	 * When `after` or `limit` are provided the users are returned one page at a time, ordered
+	 * by id, and the response includes the cursor of the next page.
+	 * 
+	 * @param after the cursor returned by the previous page
+	 * @param limit the maximum number of users in the page
+	 * @return The method `getAllUsers()` returns a `ResponseEntity` containing an `ApiResponseDto`
+	 * with a list of `UserEntityResponseDto` objects, with an HTTP status code of 200 (OK).
+	 */
 	@GetMapping(value = USER_RESOURCE,
 			produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<ApiResponseDto<List<UserEntityResponseDto>>> getAllUsers(){
+	public ResponseEntity<ApiResponseDto<List<UserEntityResponseDto>>> getAllUsers(
+			@RequestParam(required = false) String after, @RequestParam(required = false) Integer limit){
+		if (after != null || limit != null) {
+			CursorPage<UserEntityResponseDto> page = userService.getAllUsers(after, limit);
+			ApiResponseDto<List<UserEntityResponseDto>> response = new ApiResponseDto<>("Users fetched succesfully",
+					HttpStatus.OK.value(), page.getItems(), page.getNextCursor());
+			return new ResponseEntity<>(response, HttpStatus.OK);
+		}
 		List<UserEntityResponseDto> users =  userService.getAllUsers();
 
 		ApiResponseDto<List<UserEntityResponseDto>> response = new ApiResponseDto<>("Users fetched succesfully", HttpStatus.OK.value(), users);
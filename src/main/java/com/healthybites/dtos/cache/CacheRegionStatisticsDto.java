@@ -0,0 +1,20 @@
+package com.healthybites.dtos.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+/**
+ * CacheRegionStatisticsDto
+ * The hits, misses and puts of a region of the second-level cache since the application started.
+ */
+public class CacheRegionStatisticsDto {
+	private String region;
+	private long hitCount;
+	private long missCount;
+	private long putCount;
+	private double hitRatio;
+}
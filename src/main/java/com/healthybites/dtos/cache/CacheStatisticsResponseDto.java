@@ -0,0 +1,24 @@
+package com.healthybites.dtos.cache;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+/**
+ * CacheStatisticsResponseDto
+ * The response body containing the totals of the second-level cache and of the query cache and
+ * the statistics of every cache region.
+ */
+public class CacheStatisticsResponseDto {
+	private boolean enabled;
+	private long secondLevelCacheHitCount;
+	private long secondLevelCacheMissCount;
+	private long queryCacheHitCount;
+	private long queryCacheMissCount;
+	private List<CacheRegionStatisticsDto> regions;
+}
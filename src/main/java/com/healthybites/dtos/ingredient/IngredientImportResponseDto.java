@@ -0,0 +1,23 @@
+package com.healthybites.dtos.ingredient;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+/**
+ * IngredientImportResponseDto
+ * The response body containing the result of an ingredient import: the number of rows imported,
+ * skipped because the ingredient already exists and rejected, and the reasons of the first
+ * rejections.
+ */
+public class IngredientImportResponseDto {
+	private int imported;
+	private int duplicates;
+	private int rejected;
+	private List<String> errors;
+}
@@ -0,0 +1,22 @@
+package com.healthybites.dtos.mealplan;
+
+import com.healthybites.dtos.recipe.RecipeResponseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+/**
+ * MealPlanDayDto
+ * The response body containing the recipes planned for one day and their total calories.
+ */
+public class MealPlanDayDto {
+	private int day;
+	private RecipeResponseDto breakfast;
+	private RecipeResponseDto lunch;
+	private RecipeResponseDto dinner;
+	private float totalCalories;
+}
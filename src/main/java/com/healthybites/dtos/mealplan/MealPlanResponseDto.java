@@ -0,0 +1,21 @@
+package com.healthybites.dtos.mealplan;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+/**
+ * MealPlanResponseDto
+ * The response body containing the daily calorie target of a user and the meals planned for
+ * every day.
+ */
+public class MealPlanResponseDto {
+	private long userId;
+	private double dailyCalorieTarget;
+	private List<MealPlanDayDto> days;
+}
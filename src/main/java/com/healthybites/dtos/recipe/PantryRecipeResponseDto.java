@@ -0,0 +1,23 @@
+package com.healthybites.dtos.recipe;
+
+import java.util.List;
+
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+/**
+ * PantryRecipeResponseDto
+ * The response body containing a recipe that can be cooked with a pantry, the fraction of its
+ * ingredients found in the pantry and the ingredients that are missing.
+ */
+public class PantryRecipeResponseDto {
+	private RecipeResponseDto recipe;
+	private float coverage;
+	private List<IngredientResponseDto> missingIngredients;
+}
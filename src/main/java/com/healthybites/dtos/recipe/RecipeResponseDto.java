@@ -19,5 +19,6 @@ public class RecipeResponseDto {
 	private long id;
     private String name;
     private String preparation;
+    private float totalCalories;
     private List<IngredientResponseDto> ingredients;
 }
@@ -0,0 +1,22 @@
+package com.healthybites.dtos.recipe;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+/**
+ * ShoppingListRecipeDto
+ * The request body containing a recipe of a shopping list and how many times it is cooked.
+ */
+public class ShoppingListRecipeDto {
+	@NotNull(message = "El id de la receta no puede ser nulo")
+	private Long recipeId;
+
+	@Positive(message = "Las raciones deben ser un número positivo")
+	private float servings = 1;
+}
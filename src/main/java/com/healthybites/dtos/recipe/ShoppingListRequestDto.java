@@ -0,0 +1,23 @@
+package com.healthybites.dtos.recipe;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+/**
+ * ShoppingListRequestDto
+ * The request body containing the recipes whose ingredients are merged into a shopping list.
+ */
+public class ShoppingListRequestDto {
+	@NotEmpty(message = "La lista de recetas no puede estar vacía")
+	@Size(max = 200, message = "La lista de compra no puede tener más de 200 recetas")
+	private List<@Valid ShoppingListRecipeDto> recipes;
+}
@@ -0,0 +1,22 @@
+package com.healthybites.dtos.recipe;
+
+import java.util.List;
+
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+/**
+ * ShoppingListResponseDto
+ * The response body containing every ingredient needed by a set of recipes, with the quantities
+ * of all the recipes added up, and the total calories of the list.
+ */
+public class ShoppingListResponseDto {
+	private List<IngredientResponseDto> ingredients;
+	private float totalCalories;
+}
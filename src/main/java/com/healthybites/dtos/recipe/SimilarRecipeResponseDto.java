@@ -0,0 +1,18 @@
+package com.healthybites.dtos.recipe;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+/**
+ * SimilarRecipeResponseDto
+ * The response body containing a recipe similar to another one and the Jaccard similarity of
+ * their ingredients.
+ */
+public class SimilarRecipeResponseDto {
+	private RecipeResponseDto recipe;
+	private double similarity;
+}
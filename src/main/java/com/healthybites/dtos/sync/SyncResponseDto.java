@@ -0,0 +1,29 @@
+package com.healthybites.dtos.sync;
+
+import java.util.List;
+
+import com.healthybites.dtos.advice.AdviceResponseDto;
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.dtos.recipe.RecipeResponseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+/**
+ * SyncResponseDto
+ * The response body containing the recipes, ingredients and advices changed since a cursor, the
+ * IDs of the deleted ones and the cursor from which the next synchronization resumes.
+ */
+public class SyncResponseDto {
+	private String cursor;
+	private boolean hasMore;
+	private List<RecipeResponseDto> recipes;
+	private List<IngredientResponseDto> ingredients;
+	private List<AdviceResponseDto> advices;
+	private List<Long> deletedRecipeIds;
+	private List<Long> deletedAdviceIds;
+}
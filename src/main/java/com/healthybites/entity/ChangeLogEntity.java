@@ -0,0 +1,60 @@
+package com.healthybites.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ChangeLogEntity
+ * Represents an entry of the change log, written in the same transaction as every change of a
+ * recipe, an ingredient or an advice. The IDs of the entries are increasing, so the ID of the last
+ * entry read is the cursor from which a client resumes its synchronization. The owner is the user
+ * of a recipe, and is null for ingredients and advices, which are shared by all users.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "change_log")
+public class ChangeLogEntity {
+
+	public enum EntityType {
+		RECIPE, INGREDIENT, ADVICE
+	}
+
+	public enum Operation {
+		UPSERT, DELETE
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	private EntityType entityType;
+
+	@Column(nullable = false)
+	private Long entityId;
+
+	private Long ownerId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 10)
+	private Operation operation;
+
+	@Column(nullable = false)
+	private LocalDateTime changedAt;
+}
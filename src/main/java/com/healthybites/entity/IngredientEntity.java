@@ -4,6 +4,10 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -20,11 +24,15 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "ingredient")
 /**
  * IngredientEntity
  * Represents an ingredient entity in the database.
  * Contains fields for id, name, quantityCalories, creationDate, and active status.
+ * Ingredients are read by every recipe write and rarely change, so they are kept in the
+ * second-level cache.
  */
 public class IngredientEntity {
 	@Id
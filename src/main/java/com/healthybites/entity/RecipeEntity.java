@@ -12,6 +12,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -23,13 +24,15 @@ import lombok.NoArgsConstructor;
 /**
  * RecipeEntity
  * Represents a recipe entity in the database.
- * Contains fields for id, name, preparation, user, and recipe ingredients.
+ * Contains fields for id, name, preparation, total calories, user, and recipe ingredients.
+ * The total calories are denormalized from the recipe ingredients so recipes can be filtered
+ * and sorted by calories without joining the ingredients.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "recipe")
+@Table(name = "recipe", indexes = @Index(name = "idx_recipe_total_calories", columnList = "total_calories"))
 public class RecipeEntity{
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -41,6 +44,9 @@ public class RecipeEntity{
 	@Column(nullable = false, length = 500)
 	private String preparation;
 	
+	@Column(name = "total_calories", nullable = false)
+	private float totalCalories;
+	
 	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "user_id", nullable = false)
 	@JsonBackReference
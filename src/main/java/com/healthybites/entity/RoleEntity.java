@@ -1,5 +1,9 @@
 package com.healthybites.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -14,12 +18,15 @@ import lombok.NoArgsConstructor;
 /**
  * Entity representing a user role.
  * Maps to the "role" table in the database.
+ * Roles almost never change, so they are kept in the second-level cache.
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "role")
 public class RoleEntity {
 	@Id
@@ -0,0 +1,18 @@
+package com.healthybites.exception;
+
+/**
+ * Exception thrown when a pagination cursor sent by the client cannot be decoded.
+ * Extends RuntimeException to represent an unchecked exception.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public InvalidCursorException(String message) {
+		super(message);
+	}
+
+	public InvalidCursorException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
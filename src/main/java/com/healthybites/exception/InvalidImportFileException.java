@@ -0,0 +1,19 @@
+package com.healthybites.exception;
+
+/**
+ * Exception thrown when an uploaded import file cannot be read, for example when its header
+ * lacks a required column.
+ * Extends RuntimeException to represent an unchecked exception.
+ */
+public class InvalidImportFileException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public InvalidImportFileException(String message) {
+		super(message);
+	}
+
+	public InvalidImportFileException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -7,6 +7,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -15,6 +16,8 @@ import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import com.healthybites.api.ApiError;
+import com.healthybites.exception.InvalidCursorException;
+import com.healthybites.exception.InvalidImportFileException;
 import com.healthybites.exception.ResourceNotFoundException;
 
 import lombok.extern.slf4j.Slf4j;
@@ -70,6 +73,39 @@ public class GlobalRestExceptionHandler extends ResponseEntityExceptionHandler{
 	        return new ResponseEntity<>(apiError, new HttpHeaders(), apiError.getStatus());
 		}
 		
+		// 400 - Cursor de paginación no válido
+		@ExceptionHandler(InvalidCursorException.class)
+	    public ResponseEntity<ApiError> handleInvalidCursorException(InvalidCursorException ex,
+	    															 WebRequest request) {
+
+			log.info(ex.getClass().getName());
+
+			ApiError apiError = new ApiError(HttpStatus.BAD_REQUEST, ex.getLocalizedMessage(), "Invalid pagination cursor");
+	        return new ResponseEntity<>(apiError, new HttpHeaders(), apiError.getStatus());
+		}
+
+		// 400 - Fichero de importación no válido
+		@ExceptionHandler(InvalidImportFileException.class)
+	    public ResponseEntity<ApiError> handleInvalidImportFileException(InvalidImportFileException ex,
+	    																 WebRequest request) {
+
+			log.info(ex.getClass().getName());
+
+			ApiError apiError = new ApiError(HttpStatus.BAD_REQUEST, ex.getLocalizedMessage(), "Invalid import file");
+	        return new ResponseEntity<>(apiError, new HttpHeaders(), apiError.getStatus());
+		}
+
+		// 403 - Acceso denegado al recurso de otro usuario
+		@ExceptionHandler(AccessDeniedException.class)
+	    public ResponseEntity<ApiError> handleAccessDeniedException(AccessDeniedException ex,
+	    															WebRequest request) {
+
+			log.info(ex.getClass().getName());
+
+			ApiError apiError = new ApiError(HttpStatus.FORBIDDEN, ex.getLocalizedMessage(), "Access denied");
+	        return new ResponseEntity<>(apiError, new HttpHeaders(), apiError.getStatus());
+		}
+
 		// 500 - Error interno del servidor
 	    @ExceptionHandler(Exception.class)
 	    public ResponseEntity<ApiError> handleGlobalException(Exception ex, WebRequest request) {
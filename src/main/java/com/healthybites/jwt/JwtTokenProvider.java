@@ -11,13 +11,17 @@ import java.util.function.Function;
 import javax.crypto.SecretKey;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 /**
  * Utility class for generating and validating JWT tokens.
  * Handles token creation, claims extraction, and signature verification.
+ * The signing key and the parser are built once at startup, and recently verified
+ * tokens are kept in a bounded cache until they expire.
  */
 @Component
 public class JwtTokenProvider {
@@ -25,8 +29,31 @@ public class JwtTokenProvider {
 	@Value("${security.jwt.key.private}")
 	private String privateKey;
 	
+	@Value("${security.jwt.cache.max-size:10000}")
+	private int cacheMaxSize;
+	
 	private static final long JWT_EXPIRATION_DATE =  3600000;
 	
+	private SecretKey signInKey;
+	
+	private JwtParser jwtParser;
+	
+	private VerifiedTokenCache verifiedTokenCache;
+	
+	/**
+     * Derives the signing key from the Base64-encoded private key and builds the parser
+     * used to verify every incoming token.
+     */
+	@PostConstruct
+	public void init() {
+		byte[] keyBites = Decoders.BASE64.decode(privateKey);
+		this.signInKey = Keys.hmacShaKeyFor(keyBites);
+		this.jwtParser = Jwts.parser()
+							 .verifyWith(signInKey)
+							 .build();
+		this.verifiedTokenCache = new VerifiedTokenCache(cacheMaxSize);
+	}
+	
 	/**
      * Generates a JWT token for the authenticated user.
      * Includes username as subject and user role as a claim.
@@ -49,17 +76,24 @@ public class JwtTokenProvider {
 				   .claim("role", role)
 				   .issuedAt(currentDate)
 				   .expiration(expireDate)
-				   .signWith(getSignInKey(), Jwts.SIG.HS256)
+				   .signWith(signInKey, Jwts.SIG.HS256)
 				   .compact();
 	}
 	
 	/**
-     * Retrieves the signing key used to sign and verify JWT tokens.
-     * @return the SecretKey derived from the Base64-encoded private key
+     * Verifies the JWT token's signature and expiration once and returns all its claims.
+     * Tokens verified recently are served from the cache until they expire.
+     * @param token the JWT token string
+     * @return the verified Claims of the token
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
      */
-	private SecretKey getSignInKey() {
-		byte[] keyBites = Decoders.BASE64.decode(privateKey);		
-		return Keys.hmacShaKeyFor(keyBites);
+	public Claims getVerifiedClaims(String token) {
+		Claims claims = verifiedTokenCache.get(token);
+		if (claims == null) {
+			claims = extractAllClaims(token);
+			verifiedTokenCache.put(token, claims);
+		}
+		return claims;
 	}
 	
 	/**
@@ -77,7 +111,16 @@ public class JwtTokenProvider {
      * @return the user role as a string
      */
     public String getRoleFromToken(String token) {
-        return extraClaim(token, claims -> claims.get("role", String.class));
+        return extraClaim(token, JwtTokenProvider::getRole);
+    }
+    
+    /**
+     * Extracts the user role claim from already verified claims.
+     * @param claims the verified claims of a token
+     * @return the user role as a string
+     */
+    public static String getRole(Claims claims) {
+    	return claims.get("role", String.class);
     }
 	
     /**
@@ -86,11 +129,7 @@ public class JwtTokenProvider {
      * @return true if the token is valid, otherwise throws exception
      */
 	public boolean validateToken(String token) {
-		Jwts.parser()
-			.verifyWith(getSignInKey())
-			.build()
-			.parseSignedClaims(token);
-		
+		getVerifiedClaims(token);
 		return true;
 	}
 	
@@ -102,20 +141,17 @@ public class JwtTokenProvider {
      * @return the extracted claim value
      */
 	private <T> T extraClaim(String token, Function<Claims, T> claimResolver) {
-		final Claims claims = extractAllClaims(token);
+		final Claims claims = getVerifiedClaims(token);
 		return claimResolver.apply(claims);
 	}
 	
 	/**
-     * Extracts all claims from the JWT token.
+     * Extracts all claims from the JWT token, verifying its signature.
      * @param token the JWT token string
      * @return the Claims object extracted from the token
      */
 	private Claims extractAllClaims(String token) {
-		return Jwts.parser()
-				   .verifyWith(getSignInKey())
-				   .build()
-				   .parseSignedClaims(token)
-				   .getPayload();
+		return jwtParser.parseSignedClaims(token)
+				   		.getPayload();
 	}
 }
@@ -0,0 +1,88 @@
+package com.healthybites.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Bounded, least-recently-used cache of JWT claims that have already been verified.
+ * Entries are keyed by the SHA-256 hash of the token, so raw tokens are never retained,
+ * and are only served until the expiration date of the token.
+ */
+public class VerifiedTokenCache {
+
+	private final Map<String, Claims> entries;
+
+	/**
+	 * Creates a cache that keeps at most the given number of verified tokens.
+	 * @param maxSize the maximum number of entries, 0 disables the cache
+	 */
+	public VerifiedTokenCache(int maxSize) {
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached claims of a token if it was verified before and has not expired.
+	 * @param token the JWT token string
+	 * @return the verified claims, or null if the token is not cached
+	 */
+	public Claims get(String token) {
+		String key = hash(token);
+		synchronized (entries) {
+			Claims claims = entries.get(key);
+			if (claims != null && isExpired(claims)) {
+				entries.remove(key);
+				return null;
+			}
+			return claims;
+		}
+	}
+
+	/**
+	 * Stores the claims of a token whose signature has been verified.
+	 * @param token the JWT token string
+	 * @param claims the verified claims of the token
+	 */
+	public void put(String token, Claims claims) {
+		String key = hash(token);
+		synchronized (entries) {
+			entries.put(key, claims);
+		}
+	}
+
+	/**
+	 * Removes every cached token.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	private boolean isExpired(Claims claims) {
+		Date expiration = claims.getExpiration();
+		return expiration != null && expiration.before(new Date());
+	}
+
+	private String hash(String token) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
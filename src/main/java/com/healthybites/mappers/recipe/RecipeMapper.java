@@ -13,12 +13,13 @@ public interface RecipeMapper {
 
     /*
      * Converts a RecipeRequestDto to a RecipeEntity.
-     * Ignores the id, recipeIngredients, and user fields during the conversion.
+     * Ignores the id, totalCalories, recipeIngredients, and user fields during the conversion.
      * 
      * @param dto the RecipeRequestDto to convert
      * @return the converted RecipeEntity
     */
 	@Mapping(target = "id", ignore = true)
+    @Mapping(target = "totalCalories", ignore = true)
     @Mapping(target = "recipeIngredients", ignore = true)
     @Mapping(target = "user", ignore = true)  
     RecipeEntity toRecipe(RecipeRequestDto dto);
@@ -0,0 +1,162 @@
+package com.healthybites.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * RequestBreakdown
+ * The time a request spends in each part of the stack: the JWT filter, the JDBC statements, the
+ * MapStruct mappers and the JSON serialization of the response, with the number of statements.
+ * One breakdown is bound to the thread serving the request by RequestBreakdownFilter, and the
+ * timed parts add to it through the static methods below; outside a request they do nothing.
+ *
+ * Calls of the same part that are nested, such as a mapper that delegates to another mapper,
+ * are only timed once, at the outermost call. The SQL and the time of the first
+ * {@link #MAX_RECORDED_STATEMENTS} statements are kept as well, to tell which queries a request
+ * repeats; the statements after them are only counted and timed.
+ */
+public final class RequestBreakdown {
+
+	/**
+	 * The request attribute under which RequestBreakdownFilter leaves the breakdown of the request.
+	 */
+	public static final String ATTRIBUTE = RequestBreakdown.class.getName();
+
+	static final int MAX_RECORDED_STATEMENTS = 200;
+
+	private static final ThreadLocal<RequestBreakdown> CURRENT = new ThreadLocal<>();
+
+	/**
+	 * The timed parts of a request.
+	 */
+	public enum Phase {
+		JWT("jwt"),
+		JDBC("jdbc"),
+		MAPPING("mapping"),
+		SERIALIZATION("serialization");
+
+		private final String tag;
+
+		Phase(String tag) {
+			this.tag = tag;
+		}
+
+		/**
+		 * @return the value of the phase tag of the metrics
+		 */
+		public String tag() {
+			return tag;
+		}
+	}
+
+	/**
+	 * A statement executed during the request.
+	 *
+	 * @param sql the SQL of the statement, with its parameters as placeholders
+	 * @param nanos the time its execution took
+	 */
+	public record ExecutedStatement(String sql, long nanos) {
+	}
+
+	private final long[] nanos = new long[Phase.values().length];
+	private final int[] depth = new int[Phase.values().length];
+	private final List<ExecutedStatement> executedStatements = new ArrayList<>();
+	private int statements;
+
+	private RequestBreakdown() {
+	}
+
+	/**
+	 * Binds a new breakdown to the current thread.
+	 *
+	 * @return the breakdown of the request
+	 */
+	static RequestBreakdown start() {
+		RequestBreakdown breakdown = new RequestBreakdown();
+		CURRENT.set(breakdown);
+		return breakdown;
+	}
+
+	/**
+	 * Unbinds the breakdown of the current thread.
+	 */
+	static void finish() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * Marks the start of a timed part on the current thread.
+	 *
+	 * @param phase the part that starts
+	 * @return the start time to pass to {@link #exit}, or 0 when there is nothing to time
+	 */
+	public static long enter(Phase phase) {
+		RequestBreakdown breakdown = CURRENT.get();
+		if (breakdown == null || breakdown.depth[phase.ordinal()]++ > 0) {
+			return 0;
+		}
+		return System.nanoTime();
+	}
+
+	/**
+	 * Marks the end of a timed part on the current thread.
+	 *
+	 * @param phase the part that ends
+	 * @param start the value returned by {@link #enter}
+	 */
+	public static void exit(Phase phase, long start) {
+		RequestBreakdown breakdown = CURRENT.get();
+		if (breakdown == null) {
+			return;
+		}
+		breakdown.depth[phase.ordinal()]--;
+		if (start != 0) {
+			breakdown.nanos[phase.ordinal()] += System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Marks the end of the execution of a statement on the current thread, started with
+	 * {@code enter(Phase.JDBC)}.
+	 *
+	 * @param sql the SQL of the statement
+	 * @param start the value returned by {@link #enter}
+	 */
+	public static void exitStatement(String sql, long start) {
+		RequestBreakdown breakdown = CURRENT.get();
+		if (breakdown == null) {
+			return;
+		}
+		breakdown.depth[Phase.JDBC.ordinal()]--;
+		if (start != 0) {
+			long elapsed = System.nanoTime() - start;
+			breakdown.nanos[Phase.JDBC.ordinal()] += elapsed;
+			if (breakdown.statements++ < MAX_RECORDED_STATEMENTS) {
+				breakdown.executedStatements.add(new ExecutedStatement(sql, elapsed));
+			}
+		}
+	}
+
+	/**
+	 * @param phase a timed part
+	 * @return the nanoseconds spent in it so far
+	 */
+	long nanos(Phase phase) {
+		return nanos[phase.ordinal()];
+	}
+
+	/**
+	 * @return the number of JDBC statements executed so far
+	 */
+	public int statementCount() {
+		return statements;
+	}
+
+	/**
+	 * @return the first statements executed so far, in order
+	 */
+	public List<ExecutedStatement> executedStatements() {
+		return Collections.unmodifiableList(executedStatements);
+	}
+}
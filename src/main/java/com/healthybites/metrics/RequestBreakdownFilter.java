@@ -0,0 +1,169 @@
+package com.healthybites.metrics;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.healthybites.metrics.RequestBreakdown.ExecutedStatement;
+import com.healthybites.metrics.RequestBreakdown.Phase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RequestBreakdownFilter
+ * Binds a RequestBreakdown to every request and, once the response is written, records it per
+ * endpoint with the same method and uri tags as http.server.requests:
+ *
+ * - healthybites.request.phase, a timer per phase (jwt, jdbc, mapping, serialization), recorded
+ *   for every request even when the phase took no time, so its mean is the mean per request;
+ * - healthybites.request.statements, the number of JDBC statements of each request, whose mean
+ *   and max point at the endpoints with N+1 queries.
+ *
+ * A request that executes more statements or takes longer than the statement budget is logged
+ * as a warning with its controller method and its statements grouped by SQL, the most expensive
+ * first, and counted in healthybites.request.over.budget. The breakdown is left in the request
+ * attribute {@link RequestBreakdown#ATTRIBUTE} for the tests.
+ */
+@Slf4j
+public class RequestBreakdownFilter extends OncePerRequestFilter {
+
+	static final String PHASE_METRIC = "healthybites.request.phase";
+	static final String STATEMENTS_METRIC = "healthybites.request.statements";
+	static final String OVER_BUDGET_METRIC = "healthybites.request.over.budget";
+	private static final String UNKNOWN = "UNKNOWN";
+	private static final int LOGGED_SQL_GROUPS = 10;
+	private static final double NANOS_PER_MILLI = 1e6;
+
+	private final MeterRegistry meterRegistry;
+	private final int maxStatements;
+	private final long maxDurationNanos;
+
+	/**
+	 * @param meterRegistry the registry the breakdowns are recorded in
+	 * @param maxStatements the statements a request may execute before it is logged
+	 * @param maxDurationMillis the milliseconds a request may take before it is logged
+	 */
+	public RequestBreakdownFilter(MeterRegistry meterRegistry, int maxStatements, long maxDurationMillis) {
+		this.meterRegistry = meterRegistry;
+		this.maxStatements = maxStatements;
+		this.maxDurationNanos = TimeUnit.MILLISECONDS.toNanos(maxDurationMillis);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		long start = System.nanoTime();
+		RequestBreakdown breakdown = RequestBreakdown.start();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			RequestBreakdown.finish();
+			request.setAttribute(RequestBreakdown.ATTRIBUTE, breakdown);
+			record(breakdown, request, System.nanoTime() - start);
+		}
+	}
+
+	// helpers
+
+	private void record(RequestBreakdown breakdown, HttpServletRequest request, long durationNanos) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = pattern != null ? pattern.toString() : UNKNOWN;
+		Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+		for (Phase phase : Phase.values()) {
+			Timer.builder(PHASE_METRIC)
+					.description("Time spent by a request in a part of the stack")
+					.tags(tags)
+					.tag("phase", phase.tag())
+					.register(meterRegistry)
+					.record(breakdown.nanos(phase), TimeUnit.NANOSECONDS);
+		}
+		DistributionSummary.builder(STATEMENTS_METRIC)
+				.description("JDBC statements executed by a request")
+				.baseUnit("statements")
+				.tags(tags)
+				.register(meterRegistry)
+				.record(breakdown.statementCount());
+
+		if (breakdown.statementCount() > maxStatements || durationNanos > maxDurationNanos) {
+			String handler = handlerName(request);
+			Counter.builder(OVER_BUDGET_METRIC)
+					.description("Requests over the statement budget")
+					.tags(tags)
+					.tag("handler", handler)
+					.register(meterRegistry)
+					.increment();
+			if (log.isWarnEnabled()) {
+				log.warn(overBudgetMessage(breakdown, request.getMethod(), uri, handler, durationNanos));
+			}
+		}
+	}
+
+	/**
+	 * The controller class and method that handled the request, such as RecipeController.getRecipeById.
+	 */
+	private static String handlerName(HttpServletRequest request) {
+		if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+			return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+		}
+		return UNKNOWN;
+	}
+
+	private String overBudgetMessage(RequestBreakdown breakdown, String method, String uri, String handler,
+			long durationNanos) {
+		Map<String, SqlGroup> groups = new LinkedHashMap<>();
+		for (ExecutedStatement statement : breakdown.executedStatements()) {
+			groups.computeIfAbsent(String.valueOf(statement.sql()), sql -> new SqlGroup()).add(statement.nanos());
+		}
+		List<Map.Entry<String, SqlGroup>> sorted = groups.entrySet().stream()
+				.sorted(Comparator.comparingLong((Map.Entry<String, SqlGroup> entry) -> entry.getValue().nanos).reversed())
+				.limit(LOGGED_SQL_GROUPS)
+				.toList();
+
+		StringBuilder message = new StringBuilder(String.format(Locale.ROOT,
+				"%s %s (%s) executed %d statements in %.1f ms, %.1f ms of them in JDBC; budget %d statements, %.0f ms",
+				method, uri, handler, breakdown.statementCount(), durationNanos / NANOS_PER_MILLI,
+				breakdown.nanos(Phase.JDBC) / NANOS_PER_MILLI, maxStatements, maxDurationNanos / NANOS_PER_MILLI));
+		for (Map.Entry<String, SqlGroup> entry : sorted) {
+			message.append(String.format(Locale.ROOT, "%n  %4d x %9.1f ms  %s", entry.getValue().count,
+					entry.getValue().nanos / NANOS_PER_MILLI, entry.getKey()));
+		}
+		if (groups.size() > LOGGED_SQL_GROUPS) {
+			message.append(String.format("%n  and %d more distinct statements", groups.size() - LOGGED_SQL_GROUPS));
+		}
+		if (breakdown.statementCount() > RequestBreakdown.MAX_RECORDED_STATEMENTS) {
+			message.append(String.format("%n  (only the first %d statements are grouped)", RequestBreakdown.MAX_RECORDED_STATEMENTS));
+		}
+		return message.toString();
+	}
+
+	/**
+	 * The executions of one SQL statement during a request.
+	 */
+	private static final class SqlGroup {
+
+		private int count;
+		private long nanos;
+
+		void add(long statementNanos) {
+			count++;
+			nanos += statementNanos;
+		}
+	}
+}
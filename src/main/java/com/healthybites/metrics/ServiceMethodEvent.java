@@ -0,0 +1,45 @@
+package com.healthybites.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ServiceMethodEvent
+ * A Java Flight Recorder event for a call to a method of the service layer, with its duration,
+ * the ID of the entity it worked on and the number of rows it returned. It is recorded by
+ * ServiceMethodEventInterceptor and shows in JDK Mission Control under HealthyBites / Service,
+ * next to the garbage collections and lock contention of the same threads.
+ *
+ * Stack traces are not taken, to keep the event cheap. A threshold can be set in the recording
+ * settings to keep only the slow calls, for example in a copy of the profile settings written with
+ * jfr configure --input profile +com.healthybites.ServiceMethod#threshold=20ms --output healthybites.jfc
+ */
+@Name("com.healthybites.ServiceMethod")
+@Label("Service Method")
+@Category({ "HealthyBites", "Service" })
+@Description("A call to a method of the service layer")
+@StackTrace(false)
+public class ServiceMethodEvent extends Event {
+
+	@Label("Service")
+	String service;
+
+	@Label("Method")
+	String method;
+
+	@Label("Entity ID")
+	@Description("The first ID argument of the call, or else the ID of the entity it returned; 0 when there is none")
+	long entityId;
+
+	@Label("Row Count")
+	@Description("The number of rows returned, or processed by an import; -1 when the method returns no rows")
+	long rowCount;
+
+	@Label("Exception")
+	@Description("The class of the exception thrown by the call, if any")
+	String exception;
+}
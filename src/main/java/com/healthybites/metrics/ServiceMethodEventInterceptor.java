@@ -0,0 +1,105 @@
+package com.healthybites.metrics;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
+import java.util.Map;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+import com.healthybites.api.CursorPage;
+import com.healthybites.dtos.ingredient.IngredientImportResponseDto;
+
+/**
+ * ServiceMethodEventInterceptor
+ * Records a ServiceMethodEvent around every advised service method. When no recording has the
+ * event enabled the call goes straight through; the entity ID and the row count are only worked
+ * out for the events that are committed, after the threshold of the recording is checked.
+ */
+public class ServiceMethodEventInterceptor implements MethodInterceptor {
+
+	private static final MethodType GENERIC_GETTER = MethodType.methodType(Object.class, Object.class);
+
+	/**
+	 * The getId() of the returned DTOs, returning a long or a Long, null for the classes without one.
+	 */
+	private static final ClassValue<MethodHandle> ID_GETTERS = new ClassValue<>() {
+		@Override
+		protected MethodHandle computeValue(Class<?> type) {
+			for (Class<?> idType : new Class<?>[] { long.class, Long.class }) {
+				try {
+					return MethodHandles.publicLookup().findVirtual(type, "getId", MethodType.methodType(idType))
+							.asType(GENERIC_GETTER);
+				} catch (NoSuchMethodException | IllegalAccessException e) {
+					// try the next type
+				}
+			}
+			return null;
+		}
+	};
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		ServiceMethodEvent event = new ServiceMethodEvent();
+		if (!event.isEnabled()) {
+			return invocation.proceed();
+		}
+		event.begin();
+		Object result = null;
+		Throwable failure = null;
+		try {
+			result = invocation.proceed();
+			return result;
+		} catch (Throwable e) {
+			failure = e;
+			throw e;
+		} finally {
+			event.end();
+			if (event.shouldCommit()) {
+				event.service = AopUtils.getTargetClass(invocation.getThis()).getSimpleName();
+				event.method = invocation.getMethod().getName();
+				event.entityId = entityId(invocation.getArguments(), result);
+				event.rowCount = rowCount(result);
+				event.exception = failure != null ? failure.getClass().getName() : null;
+				event.commit();
+			}
+		}
+	}
+
+	// helpers
+
+	private static long entityId(Object[] arguments, Object result) throws Throwable {
+		for (Object argument : arguments) {
+			if (argument instanceof Long id) {
+				return id;
+			}
+		}
+		if (result != null) {
+			MethodHandle getId = ID_GETTERS.get(result.getClass());
+			if (getId != null) {
+				Object id = getId.invoke(result);
+				return id instanceof Long value ? value : 0;
+			}
+		}
+		return 0;
+	}
+
+	private static long rowCount(Object result) {
+		if (result instanceof Collection<?> rows) {
+			return rows.size();
+		}
+		if (result instanceof CursorPage<?> page) {
+			return page.getItems().size();
+		}
+		if (result instanceof Map<?, ?> rows) {
+			return rows.size();
+		}
+		if (result instanceof IngredientImportResponseDto imported) {
+			return (long) imported.getImported() + imported.getDuplicates() + imported.getRejected();
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,96 @@
+package com.healthybites.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.healthybites.metrics.RequestBreakdown.Phase;
+
+/**
+ * TimedDataSource
+ * Wraps the DataSource of the application so every statement executed during a request, by
+ * Hibernate or by a JdbcTemplate, is counted, timed and recorded with its SQL in the
+ * RequestBreakdown of the request. The time is the one of the execute call, which for a query
+ * includes sending it and getting the first rows back but not reading the rest of the result set.
+ * A batch is one statement, recorded with the SQL it was prepared with.
+ *
+ * The connections and statements are JDK proxies of the pooled ones: unwrap still reaches the
+ * pool, and outside a request the proxies only delegate.
+ */
+public class TimedDataSource extends DelegatingDataSource {
+
+	/**
+	 * @param dataSource the DataSource to wrap
+	 */
+	public TimedDataSource(DataSource dataSource) {
+		super(dataSource);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return connection(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return connection(super.getConnection(username, password));
+	}
+
+	// helpers
+
+	private static Connection connection(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[] { Connection.class },
+				(proxy, method, args) -> {
+					Object result = invoke(connection, method, args);
+					String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+					if (result instanceof CallableStatement) {
+						return statement(result, CallableStatement.class, sql);
+					}
+					if (result instanceof PreparedStatement) {
+						return statement(result, PreparedStatement.class, sql);
+					}
+					if (result instanceof Statement) {
+						return statement(result, Statement.class, null);
+					}
+					return result;
+				});
+	}
+
+	/**
+	 * @param preparedSql the SQL the statement was prepared with, null for a plain Statement,
+	 *                    whose SQL is the first argument of each execute call
+	 */
+	private static Object statement(Object statement, Class<?> type, String preparedSql) {
+		InvocationHandler handler = (proxy, method, args) -> {
+			if (!method.getName().startsWith("execute")) {
+				return invoke(statement, method, args);
+			}
+			String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+			long start = RequestBreakdown.enter(Phase.JDBC);
+			try {
+				return invoke(statement, method, args);
+			} finally {
+				RequestBreakdown.exitStatement(sql, start);
+			}
+		};
+		return Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[] { type }, handler);
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.healthybites.metrics;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthybites.metrics.RequestBreakdown.Phase;
+
+/**
+ * TimedJacksonHttpMessageConverter
+ * The JSON message converter of the application, timing in the RequestBreakdown of the request
+ * the serialization of every response body, written straight to the response.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+	/**
+	 * @param objectMapper the ObjectMapper of the application
+	 */
+	public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+		super(objectMapper);
+	}
+
+	@Override
+	protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+		long start = RequestBreakdown.enter(Phase.SERIALIZATION);
+		try {
+			super.writeInternal(object, type, outputMessage);
+		} finally {
+			RequestBreakdown.exit(Phase.SERIALIZATION, start);
+		}
+	}
+}
@@ -1,5 +1,8 @@
 package com.healthybites.repositoy;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +14,12 @@ import com.healthybites.entity.AdviceEntity;
  */
 public interface AdviceRepository extends JpaRepository<AdviceEntity, Long> {
 
+	/**
+	 * Finds the next page of AdviceEntity ordered by ID, seeking after the given ID.
+	 * 
+	 * @param id the ID after which the page starts
+	 * @param limit the maximum number of advices to return
+	 * @return a list of AdviceEntity
+	 */
+	List<AdviceEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
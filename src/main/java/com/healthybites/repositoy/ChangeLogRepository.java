@@ -0,0 +1,63 @@
+package com.healthybites.repositoy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.healthybites.entity.ChangeLogEntity;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntity, Long>, ChangeLogRepositoryCustom {
+	/**
+	 * Finds the next ChangeLogEntity ordered by ID, seeking after the given ID and skipping the
+	 * entries written after the given time. When a user is given, only the recipes of that user
+	 * are returned, together with the entries without owner.
+	 * 
+	 * @param id the ID after which the entries start
+	 * @param changedBefore the latest change time of the returned entries, inclusive
+	 * @param userId the ID of the user, or null for the recipes of all users
+	 * @param limit the maximum number of entries to return
+	 * @return a list of ChangeLogEntity
+	 */
+	@Query("select c from ChangeLogEntity c where c.id > :id and c.changedAt <= :changedBefore "
+			+ "and (:userId is null or c.ownerId is null or c.ownerId = :userId) order by c.id")
+	List<ChangeLogEntity> findChangesAfter(@Param("id") Long id, @Param("changedBefore") LocalDateTime changedBefore,
+			@Param("userId") Long userId, Limit limit);
+
+	/**
+	 * Finds the highest ID of the ChangeLogEntity written up to the given time.
+	 * 
+	 * @param changedBefore the latest change time of the entries, inclusive
+	 * @return the highest ID, 0 if there are no entries
+	 */
+	@Query("select coalesce(max(c.id), 0) from ChangeLogEntity c where c.changedAt <= :changedBefore")
+	long findLastIdChangedBefore(@Param("changedBefore") LocalDateTime changedBefore);
+
+	/**
+	 * Writes an upsert entry for every recipe that uses an ingredient in a single statement. The
+	 * statement declares the only table it writes, otherwise Hibernate would evict the whole
+	 * second-level cache after a native update.
+	 * 
+	 * @param ingredientId the ID of the ingredient
+	 * @param changedAt the time of the change
+	 * @return the number of entries written
+	 */
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "change_log"))
+	@Query(value = "insert into change_log (entity_type, entity_id, owner_id, operation, changed_at) "
+			+ "select 'RECIPE', r.id, r.user_id, 'UPSERT', :changedAt from recipe r "
+			+ "where r.id in (select ri.recipe_id from recipe_ingredient ri where ri.ingredient_id = :ingredientId)",
+			nativeQuery = true)
+	int insertRecipeUpsertsByIngredientId(@Param("ingredientId") Long ingredientId,
+			@Param("changedAt") LocalDateTime changedAt);
+}
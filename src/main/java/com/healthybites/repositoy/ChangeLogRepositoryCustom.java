@@ -0,0 +1,23 @@
+package com.healthybites.repositoy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.healthybites.entity.ChangeLogEntity.EntityType;
+import com.healthybites.entity.ChangeLogEntity.Operation;
+
+/**
+ * Custom operations for the change log that bypass the per-entity persistence of Spring Data.
+ */
+public interface ChangeLogRepositoryCustom {
+
+	/**
+	 * Inserts the same change of several entities without owner in a single JDBC batch.
+	 * 
+	 * @param entityType the type of the changed entities
+	 * @param entityIds the IDs of the changed entities
+	 * @param operation the change
+	 * @param changedAt the time of the change
+	 */
+	void batchInsert(EntityType entityType, List<Long> entityIds, Operation operation, LocalDateTime changedAt);
+}
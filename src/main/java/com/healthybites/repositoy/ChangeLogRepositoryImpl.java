@@ -0,0 +1,36 @@
+package com.healthybites.repositoy;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.healthybites.entity.ChangeLogEntity.EntityType;
+import com.healthybites.entity.ChangeLogEntity.Operation;
+
+/**
+ * Implementation of the custom change log operations using JdbcTemplate.
+ * Runs on the connection of the surrounding transaction.
+ */
+public class ChangeLogRepositoryImpl implements ChangeLogRepositoryCustom {
+
+	private static final String INSERT_SQL =
+			"insert into change_log (entity_type, entity_id, owner_id, operation, changed_at) values (?, ?, null, ?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void batchInsert(EntityType entityType, List<Long> entityIds, Operation operation, LocalDateTime changedAt) {
+		if (entityIds.isEmpty()) {
+			return;
+		}
+		Timestamp timestamp = Timestamp.valueOf(changedAt);
+		List<Object[]> rows = new ArrayList<>(entityIds.size());
+		entityIds.forEach(entityId -> rows.add(new Object[] { entityType.name(), entityId, operation.name(), timestamp }));
+		jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+	}
+}
@@ -1,5 +1,7 @@
 package com.healthybites.repositoy;
 
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import com.healthybites.entity.InfoUserEntity;
@@ -7,5 +9,12 @@ import com.healthybites.entity.InfoUserEntity;
 // Repository interface for InfoUserEntity.
 @Repository
 public interface InfoUserRepository extends JpaRepository<InfoUserEntity, Long> {
+	/**
+	 * Finds the InfoUserEntity of a user.
+	 * 
+	 * @param userId the ID of the user
+	 * @return an Optional containing the InfoUserEntity, empty if the user has no health information
+	 */
+	Optional<InfoUserEntity> findByUserId(Long userId);
 
 }
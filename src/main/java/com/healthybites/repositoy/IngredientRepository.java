@@ -2,18 +2,37 @@ package com.healthybites.repositoy;
 
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import com.healthybites.entity.IngredientEntity;
 
 @Repository
-public interface IngredientRepository extends JpaRepository<IngredientEntity, Long> {
+public interface IngredientRepository extends JpaRepository<IngredientEntity, Long>, IngredientRepositoryCustom {
 	/**
-	 * Finds a list of IngredientEntity by active status.
+	 * Finds the active IngredientEntity ordered by ID.
 	 * 
 	 * @return a list of IngredientEntity
 	 */
-	List<IngredientEntity> findByActiveTrue();
+	List<IngredientEntity> findByActiveTrueOrderByIdAsc();
+
+	/**
+	 * Finds the next page of IngredientEntity ordered by ID, seeking after the given ID.
+	 * 
+	 * @param id the ID after which the page starts
+	 * @param limit the maximum number of ingredients to return
+	 * @return a list of IngredientEntity
+	 */
+	List<IngredientEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+	/**
+	 * Finds the next page of active IngredientEntity ordered by ID, seeking after the given ID.
+	 * 
+	 * @param id the ID after which the page starts
+	 * @param limit the maximum number of ingredients to return
+	 * @return a list of IngredientEntity
+	 */
+	List<IngredientEntity> findByActiveTrueAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 
 }
@@ -0,0 +1,27 @@
+package com.healthybites.repositoy;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.healthybites.entity.IngredientEntity;
+
+/**
+ * Custom operations for ingredients that bypass the per-entity persistence of Spring Data.
+ */
+public interface IngredientRepositoryCustom {
+
+	/**
+	 * Inserts new ingredients in a single JDBC batch and assigns the generated IDs to them. The
+	 * IDs come from the identity column, which keeps Hibernate from batching these inserts.
+	 * 
+	 * @param ingredients the ingredients to insert, without ID
+	 */
+	void batchInsert(List<IngredientEntity> ingredients);
+
+	/**
+	 * Reads the name of every ingredient, active or not, row by row, without loading any entity.
+	 * 
+	 * @param action called with the name of every ingredient
+	 */
+	void forEachName(Consumer<String> action);
+}
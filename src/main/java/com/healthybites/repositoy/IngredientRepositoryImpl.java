@@ -0,0 +1,65 @@
+package com.healthybites.repositoy;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import com.healthybites.entity.IngredientEntity;
+
+/**
+ * Implementation of the custom ingredient operations using JdbcTemplate.
+ * Runs on the connection of the surrounding transaction. Rows inserted here are new, so no entity
+ * kept in the second-level cache becomes stale.
+ */
+public class IngredientRepositoryImpl implements IngredientRepositoryCustom {
+
+	private static final String INSERT_SQL =
+			"insert into ingredient (name, quantity_calories, creation_date, active) values (?, ?, ?, ?)";
+	private static final String NAMES_SQL = "select name from ingredient";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void batchInsert(List<IngredientEntity> ingredients) {
+		if (ingredients.isEmpty()) {
+			return;
+		}
+		GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+		jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] { "id" }),
+				new BatchPreparedStatementSetter() {
+					@Override
+					public void setValues(PreparedStatement statement, int i) throws SQLException {
+						IngredientEntity ingredient = ingredients.get(i);
+						statement.setString(1, ingredient.getName());
+						statement.setFloat(2, ingredient.getQuantityCalories());
+						statement.setTimestamp(3, Timestamp.valueOf(ingredient.getCreationDate()));
+						statement.setBoolean(4, ingredient.isActive());
+					}
+
+					@Override
+					public int getBatchSize() {
+						return ingredients.size();
+					}
+				}, keyHolder);
+		List<Map<String, Object>> keys = keyHolder.getKeyList();
+		for (int i = 0; i < ingredients.size(); i++) {
+			ingredients.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+		}
+	}
+
+	@Override
+	public void forEachName(Consumer<String> action) {
+		jdbcTemplate.query(NAMES_SQL, resultSet -> {
+			action.accept(resultSet.getString(1));
+		});
+	}
+}
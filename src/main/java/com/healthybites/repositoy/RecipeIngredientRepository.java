@@ -1,6 +1,7 @@
 package com.healthybites.repositoy;
 
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -16,7 +17,8 @@ import jakarta.transaction.Transactional;
 
 
 @Repository
-public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredientEntity, RecipeIngredientId> {
+public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredientEntity, RecipeIngredientId>,
+        RecipeIngredientRepositoryCustom {
     /**
      * Finds a list of RecipeIngredientEntity by recipe ID.
      * 
@@ -25,6 +27,16 @@ public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredie
      */
     List<RecipeIngredientEntity> findByRecipeId(Long recipeId);
 
+    /**
+     * Finds all RecipeIngredientEntity for a set of recipe IDs in a single query,
+     * fetching the ingredient of each relation in the same statement.
+     * 
+     * @param recipeIds the IDs of the recipes
+     * @return a list of RecipeIngredientEntity with their ingredient initialized
+     */
+    @Query("select ri from RecipeIngredientEntity ri join fetch ri.recipe join fetch ri.ingredient where ri.recipe.id in :recipeIds")
+    List<RecipeIngredientEntity> findByRecipeIdInWithIngredient(@Param("recipeIds") Collection<Long> recipeIds);
+
     /**
      * Finds a list of RecipeIngredientEntity by ingredient ID.
      * 
@@ -43,6 +55,16 @@ public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredie
     @Query("delete from RecipeIngredientEntity ri where ri.recipe.id = :recipeId")
     void deleteByRecipeId(@Param("recipeId") Long recipeId);
 
+    /**
+     * Deletes the RecipeIngredientEntity of every recipe of a user.
+     * 
+     * @param userId the ID of the user
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from RecipeIngredientEntity ri where ri.recipe.id in (select r.id from RecipeEntity r where r.user.id = :userId)")
+    void deleteByRecipeUserId(@Param("userId") Long userId);
+
     /**
      * Deletes a RecipeIngredientEntity by ingredient ID.
      * 
@@ -63,4 +85,15 @@ public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredie
     @Transactional
     @Query("delete from RecipeIngredientEntity ri where ri.recipe.id = :recipeId and ri.ingredient.id = :ingredientId ")
     void deleteByRecipeIdAndIngredientId(@Param("recipeId") Long recipeId, @Param("ingredientId") Long ingredientId);
+
+    /**
+     * Deletes the RecipeIngredientEntity of a recipe for a set of ingredient IDs.
+     * 
+     * @param recipeId the ID of the recipe
+     * @param ingredientIds the IDs of the ingredients to remove from the recipe
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from RecipeIngredientEntity ri where ri.recipe.id = :recipeId and ri.ingredient.id in :ingredientIds")
+    void deleteByRecipeIdAndIngredientIdIn(@Param("recipeId") Long recipeId, @Param("ingredientIds") Collection<Long> ingredientIds);
 }
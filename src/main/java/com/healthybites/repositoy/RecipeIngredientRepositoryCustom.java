@@ -0,0 +1,35 @@
+package com.healthybites.repositoy;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Custom operations for recipe-ingredient relations that bypass the per-entity
+ * persistence of Spring Data.
+ */
+public interface RecipeIngredientRepositoryCustom {
+
+	/**
+	 * Inserts the ingredients of a recipe in a single JDBC batch.
+	 * 
+	 * @param recipeId the ID of the recipe
+	 * @param quantitiesByIngredient the quantity of each ingredient, keyed by ingredient ID
+	 */
+	void batchInsert(Long recipeId, Map<Long, Float> quantitiesByIngredient);
+
+	/**
+	 * Updates the quantity of existing ingredients of a recipe in a single JDBC batch.
+	 * 
+	 * @param recipeId the ID of the recipe
+	 * @param quantitiesByIngredient the new quantity of each ingredient, keyed by ingredient ID
+	 */
+	void batchUpdateQuantities(Long recipeId, Map<Long, Float> quantitiesByIngredient);
+
+	/**
+	 * Reads the ingredient IDs of every recipe, row by row, without loading any entity. Recipes
+	 * without ingredients are passed once with a null ingredient ID.
+	 * 
+	 * @param action called with the recipe ID and the ingredient ID of every relation
+	 */
+	void forEachRecipeIngredientId(BiConsumer<Long, Long> action);
+}
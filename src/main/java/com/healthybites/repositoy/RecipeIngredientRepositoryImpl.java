@@ -0,0 +1,55 @@
+package com.healthybites.repositoy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Implementation of the custom recipe-ingredient operations using JdbcTemplate.
+ * Runs on the connection of the surrounding transaction.
+ */
+public class RecipeIngredientRepositoryImpl implements RecipeIngredientRepositoryCustom {
+
+	private static final String INSERT_SQL =
+			"insert into recipe_ingredient (recipe_id, ingredient_id, quantity) values (?, ?, ?)";
+	private static final String UPDATE_QUANTITY_SQL =
+			"update recipe_ingredient set quantity = ? where recipe_id = ? and ingredient_id = ?";
+
+	private static final String RECIPE_INGREDIENT_IDS_SQL =
+			"select r.id, ri.ingredient_id from recipe r left join recipe_ingredient ri on ri.recipe_id = r.id";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Override
+	public void batchInsert(Long recipeId, Map<Long, Float> quantitiesByIngredient) {
+		if (quantitiesByIngredient.isEmpty()) {
+			return;
+		}
+		List<Object[]> rows = new ArrayList<>(quantitiesByIngredient.size());
+		quantitiesByIngredient.forEach((ingredientId, quantity) -> rows.add(new Object[] { recipeId, ingredientId, quantity }));
+		jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+	}
+
+	@Override
+	public void batchUpdateQuantities(Long recipeId, Map<Long, Float> quantitiesByIngredient) {
+		if (quantitiesByIngredient.isEmpty()) {
+			return;
+		}
+		List<Object[]> rows = new ArrayList<>(quantitiesByIngredient.size());
+		quantitiesByIngredient.forEach((ingredientId, quantity) -> rows.add(new Object[] { quantity, recipeId, ingredientId }));
+		jdbcTemplate.batchUpdate(UPDATE_QUANTITY_SQL, rows);
+	}
+
+	@Override
+	public void forEachRecipeIngredientId(BiConsumer<Long, Long> action) {
+		jdbcTemplate.query(RECIPE_INGREDIENT_IDS_SQL, resultSet -> {
+			long ingredientId = resultSet.getLong(2);
+			action.accept(resultSet.getLong(1), resultSet.wasNull() ? null : ingredientId);
+		});
+	}
+}
@@ -1,12 +1,25 @@
 package com.healthybites.repositoy;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.healthybites.entity.RecipeEntity;
 
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+
 @Repository
 public interface RecipeRepository extends JpaRepository<RecipeEntity, Long> {
 	/**
@@ -17,6 +30,25 @@ public interface RecipeRepository extends JpaRepository<RecipeEntity, Long> {
 	 */
 	List<RecipeEntity> findByUserId(Long userId);
 
+	/**
+	 * Finds the IDs of the recipes of a user.
+	 * 
+	 * @param userId the ID of the user
+	 * @return a list of recipe IDs
+	 */
+	@Query("select r.id from RecipeEntity r where r.user.id = :userId")
+	List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+	/**
+	 * Finds the next page of RecipeEntity of a user ordered by ID, seeking after the given ID.
+	 * 
+	 * @param userId the ID of the user
+	 * @param id the ID after which the page starts
+	 * @param limit the maximum number of recipes to return
+	 * @return a list of RecipeEntity
+	 */
+	List<RecipeEntity> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Limit limit);
+
 	/**
 	 * Finds a RecipeEntity by name.
 	 * 
@@ -24,5 +56,143 @@ public interface RecipeRepository extends JpaRepository<RecipeEntity, Long> {
 	 * @return a RecipeEntity
 	 */
 	boolean existsByName(String name);
-	
+
+	/**
+	 * Finds the RecipeEntity whose stored total calories are within a range, ordered by total calories.
+	 * 
+	 * @param minCalories the minimum total calories, inclusive
+	 * @param maxCalories the maximum total calories, inclusive
+	 * @param limit the maximum number of recipes to return
+	 * @return a list of RecipeEntity
+	 */
+	List<RecipeEntity> findByTotalCaloriesBetweenOrderByTotalCaloriesAsc(float minCalories, float maxCalories, Limit limit);
+
+	/**
+	 * Finds the next batch of recipe IDs ordered by ID, seeking after the given ID.
+	 * 
+	 * @param id the ID after which the batch starts
+	 * @param limit the maximum number of IDs to return
+	 * @return a list of recipe IDs
+	 */
+	@Query("select r.id from RecipeEntity r where r.id > :id order by r.id")
+	List<Long> findIdsAfter(@Param("id") Long id, Limit limit);
+
+	/**
+	 * Finds which of the given recipe IDs exist.
+	 * 
+	 * @param recipeIds the IDs of the recipes
+	 * @return a list of the existing recipe IDs
+	 */
+	@Query("select r.id from RecipeEntity r where r.id in :recipeIds")
+	List<Long> findIdsByIdIn(@Param("recipeIds") Collection<Long> recipeIds);
+
+	/**
+	 * Finds the ID and the stored total calories of every recipe with a positive total.
+	 * 
+	 * @return a list of RecipeCalories
+	 */
+	@Query("select r.id as id, r.totalCalories as totalCalories from RecipeEntity r where r.totalCalories > 0")
+	List<RecipeCalories> findAllCalories();
+
+	/**
+	 * Finds, among the given recipes, those whose stored total calories differ from the sum of the
+	 * calories of their ingredients by more than the given tolerance.
+	 * 
+	 * @param recipeIds the IDs of the recipes to check
+	 * @param tolerance the maximum accepted difference
+	 * @return a list of RecipeOwner with a stale total
+	 */
+	@Query("select r.id as id, r.user.id as userId from RecipeEntity r where r.id in :recipeIds and abs(r.totalCalories - "
+			+ "coalesce((select sum(ri.quantity * i.quantityCalories) from RecipeIngredientEntity ri join ri.ingredient i "
+			+ "where ri.recipe.id = r.id), 0)) > :tolerance")
+	List<RecipeOwner> findWithStaleTotalCalories(@Param("recipeIds") Collection<Long> recipeIds,
+			@Param("tolerance") double tolerance);
+
+	/**
+	 * Recomputes the stored total calories of a set of recipes from their ingredients in a single statement.
+	 * 
+	 * @param recipeIds the IDs of the recipes
+	 * @return the number of updated recipes
+	 */
+	@Modifying(flushAutomatically = true)
+	@Transactional
+	@Query("update RecipeEntity r set r.totalCalories = coalesce((select sum(ri.quantity * i.quantityCalories) "
+			+ "from RecipeIngredientEntity ri join ri.ingredient i where ri.recipe.id = r.id), 0) where r.id in :recipeIds")
+	int refreshTotalCalories(@Param("recipeIds") Collection<Long> recipeIds);
+
+	/**
+	 * Recomputes the stored total calories of every recipe that uses an ingredient in a single statement.
+	 * 
+	 * @param ingredientId the ID of the ingredient
+	 * @return the number of updated recipes
+	 */
+	@Modifying(flushAutomatically = true)
+	@Transactional
+	@Query("update RecipeEntity r set r.totalCalories = coalesce((select sum(ri.quantity * i.quantityCalories) "
+			+ "from RecipeIngredientEntity ri join ri.ingredient i where ri.recipe.id = r.id), 0) "
+			+ "where r.id in (select rel.recipe.id from RecipeIngredientEntity rel where rel.ingredient.id = :ingredientId)")
+	int refreshTotalCaloriesByIngredientId(@Param("ingredientId") Long ingredientId);
+
+	/**
+	 * Streams the recipes with their ingredients, one row per recipe and ingredient ordered by
+	 * recipe ID, through a database cursor instead of loading every row. A recipe without
+	 * ingredients gives a single row with null ingredient columns. Rows are projections, so they
+	 * are not kept in the persistence context while the stream is read. Must be called inside a
+	 * transaction and the stream must be closed. MySQL Connector/J only honors the fetch size
+	 * with useCursorFetch=true in the JDBC URL, as in the README; without it the whole result set
+	 * is read into memory. The H2 tests stream either way and cannot show the difference.
+	 * 
+	 * @param userId the ID of the user, or null for the recipes of all users
+	 * @return a stream of RecipeExportRow
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("select r.id as recipeId, r.name as name, r.preparation as preparation, r.totalCalories as totalCalories, "
+			+ "i.id as ingredientId, i.name as ingredientName, ri.quantity as quantity, i.quantityCalories as quantityCalories, "
+			+ "i.active as ingredientActive, i.creationDate as ingredientCreationDate "
+			+ "from RecipeEntity r left join r.recipeIngredients ri left join ri.ingredient i "
+			+ "where (:userId is null or r.user.id = :userId) order by r.id, i.id")
+	Stream<RecipeExportRow> streamForExport(@Param("userId") Long userId);
+
+	/**
+	 * Projection with a recipe and one of its ingredients, null if the recipe has none.
+	 */
+	interface RecipeExportRow {
+		Long getRecipeId();
+
+		String getName();
+
+		String getPreparation();
+
+		float getTotalCalories();
+
+		Long getIngredientId();
+
+		String getIngredientName();
+
+		Float getQuantity();
+
+		Float getQuantityCalories();
+
+		Boolean getIngredientActive();
+
+		LocalDateTime getIngredientCreationDate();
+	}
+
+	/**
+	 * Projection with the ID and the stored total calories of a recipe.
+	 */
+	interface RecipeCalories {
+		Long getId();
+
+		float getTotalCalories();
+	}
+
+	/**
+	 * Projection with the ID of a recipe and the ID of its owner.
+	 */
+	interface RecipeOwner {
+		Long getId();
+
+		Long getUserId();
+	}
 }
@@ -2,15 +2,21 @@ package com.healthybites.repositoy;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.healthybites.entity.RoleEntity;
 
+import jakarta.persistence.QueryHint;
+
 // Repository interface for Role.
 @Repository
 public interface RoleRepository extends JpaRepository<RoleEntity, Long> {
 	
+	// Looked up on every user registration, so the result is kept in the query cache.
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
 	Optional<RoleEntity> findByName(String name);
 	
 }
@@ -1,7 +1,9 @@
 package com.healthybites.repositoy;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +13,13 @@ import com.healthybites.entity.UserEntity;
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
 	Optional<UserEntity> findByEmail(String email);
+	
+	/**
+	 * Finds the next page of UserEntity ordered by ID, seeking after the given ID.
+	 * 
+	 * @param id the ID after which the page starts
+	 * @param limit the maximum number of users to return
+	 * @return a list of UserEntity
+	 */
+	List<UserEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
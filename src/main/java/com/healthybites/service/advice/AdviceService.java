@@ -2,6 +2,7 @@ package com.healthybites.service.advice;
 
 import java.util.List;
 
+import com.healthybites.api.CursorPage;
 import com.healthybites.dtos.advice.AdviceRequestDto;
 import com.healthybites.dtos.advice.AdviceResponseDto;
 
@@ -9,6 +10,7 @@ import com.healthybites.dtos.advice.AdviceResponseDto;
 public interface AdviceService {
 	
 	List<AdviceResponseDto> getAllAdvices();
+	CursorPage<AdviceResponseDto> getAllAdvices(String after, Integer limit);
 	AdviceResponseDto createAdvice(AdviceRequestDto adviceRequestDto);
 	AdviceResponseDto updateAdvice(Long adviceId, AdviceRequestDto adviceRequest);
 	void deleteAdvice(Long adviceId);
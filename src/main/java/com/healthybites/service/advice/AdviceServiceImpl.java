@@ -4,14 +4,18 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.healthybites.api.CursorPage;
 import com.healthybites.dtos.advice.AdviceRequestDto;
 import com.healthybites.dtos.advice.AdviceResponseDto;
 import com.healthybites.entity.AdviceEntity;
 import com.healthybites.exception.ResourceNotFoundException;
 import com.healthybites.mappers.advice.AdviceMapper;
 import com.healthybites.repositoy.AdviceRepository;
+import com.healthybites.service.sync.ChangeLog;
 
 @Service
 public class AdviceServiceImpl implements AdviceService {
@@ -21,6 +25,8 @@ public class AdviceServiceImpl implements AdviceService {
 	AdviceRepository adviceRepository;
 	@Autowired
 	AdviceMapper adviceMapper;
+	@Autowired
+	ChangeLog changeLog;
 
 	/**
 	 * This method retrieves all advices from the database and maps them to a list of
@@ -33,6 +39,22 @@ public class AdviceServiceImpl implements AdviceService {
 		return adviceRepository.findAll().stream().map(adviceMapper::toAdviceResponseDto).toList();
 	}
 
+	/**
+	 * This method retrieves a page of advices using keyset pagination, ordered by advice ID.
+	 * 
+	 * @param after - The cursor returned by the previous page, or null for the first page.
+	 * @param limit - The maximum number of advices in the page.
+	 * @return CursorPage<AdviceResponseDto> - The page of advices and the cursor of the next page.
+	 */
+	@Override
+	public CursorPage<AdviceResponseDto> getAllAdvices(String after, Integer limit) {
+		int pageSize = CursorPage.normalizeLimit(limit);
+		List<AdviceEntity> rows = adviceRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.decodeCursor(after),
+				Limit.of(pageSize + 1));
+		return CursorPage.of(rows, pageSize, AdviceEntity::getId,
+				page -> page.stream().map(adviceMapper::toAdviceResponseDto).toList());
+	}
+
 	/**
 	 * This method creates a new advice in the database and returns the created advice as a
 	 * response DTO.
@@ -42,10 +64,13 @@ public class AdviceServiceImpl implements AdviceService {
 	 * @return AdviceResponseDto - The created advice as a response DTO.
 	 */
 	@Override
+	@Transactional
 	public AdviceResponseDto createAdvice(AdviceRequestDto adviceRequestDto) {
 		AdviceEntity advice = adviceMapper.toAdvice(adviceRequestDto);
 		advice.setCreationDate(LocalDateTime.now());
-		return adviceMapper.toAdviceResponseDto(adviceRepository.save(advice));
+		AdviceEntity created = adviceRepository.save(advice);
+		changeLog.adviceChanged(created.getId());
+		return adviceMapper.toAdviceResponseDto(created);
 	}
 
 	/**
@@ -57,11 +82,13 @@ public class AdviceServiceImpl implements AdviceService {
 	 * @return AdviceResponseDto - The updated advice as a response DTO.
 	 */
 	@Override
+	@Transactional
 	public AdviceResponseDto updateAdvice(Long adviceId, AdviceRequestDto adviceRequest) {
 		AdviceEntity advice = validateAndGetAdvice(adviceId);
 		advice.setTitle(adviceRequest.getTitle());
 		advice.setDescription(adviceRequest.getDescription());
 		advice.setCreationDate(LocalDateTime.now());
+		changeLog.adviceChanged(adviceId);
 		return adviceMapper.toAdviceResponseDto(adviceRepository.save(advice));
 	}
 
@@ -71,9 +98,11 @@ public class AdviceServiceImpl implements AdviceService {
 	 * @param adviceId - The ID of the advice to be deleted.
 	 */
 	@Override
+	@Transactional
 	public void deleteAdvice(Long adviceId) {
 		AdviceEntity advice = validateAndGetAdvice(adviceId);
 		adviceRepository.delete(advice);
+		changeLog.adviceDeleted(adviceId);
 	}
 
 	// helpers
@@ -0,0 +1,9 @@
+package com.healthybites.service.cache;
+
+import com.healthybites.dtos.cache.CacheStatisticsResponseDto;
+
+//  Service interface for the statistics of the second-level cache.
+public interface CacheStatisticsService {
+
+	CacheStatisticsResponseDto getStatistics();
+}
@@ -0,0 +1,52 @@
+package com.healthybites.service.cache;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.healthybites.dtos.cache.CacheRegionStatisticsDto;
+import com.healthybites.dtos.cache.CacheStatisticsResponseDto;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * This method reads the statistics of the second-level cache kept by Hibernate. The counters
+	 * stay at 0 when the statistics are disabled.
+	 * 
+	 * @return CacheStatisticsResponseDto - The totals and the statistics of every cache region.
+	 */
+	@Override
+	public CacheStatisticsResponseDto getStatistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		List<CacheRegionStatisticsDto> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+				.sorted()
+				.map(region -> toRegionStatistics(region, statistics.getCacheRegionStatistics(region)))
+				.toList();
+		return new CacheStatisticsResponseDto(statistics.isStatisticsEnabled(),
+				statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+				statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(), regions);
+	}
+
+	// helpers
+
+	private CacheRegionStatisticsDto toRegionStatistics(String region, CacheRegionStatistics statistics) {
+		if (statistics == null) {
+			return new CacheRegionStatisticsDto(region, 0, 0, 0, 0);
+		}
+		long hits = statistics.getHitCount();
+		long misses = statistics.getMissCount();
+		double hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+		return new CacheRegionStatisticsDto(region, hits, misses, statistics.getPutCount(), hitRatio);
+	}
+}
@@ -0,0 +1,200 @@
+package com.healthybites.service.ingredient;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CsvRecordReader
+ * Reads the records of a CSV file one at a time from a character stream, so the file is never
+ * held in memory. Follows RFC 4180: fields may be quoted, quoted fields may contain separators,
+ * line breaks and doubled quotes, and records end with LF or CRLF. The separator is a comma or a
+ * semicolon, as written by spreadsheets in locales with a decimal comma, and is detected from the
+ * first line. A byte order mark at the start is skipped and blank lines are ignored.
+ *
+ * Fields are cut at MAX_FIELD_LENGTH characters, and a quote that is never closed ends the file,
+ * so a malformed file cannot make a field grow to the size of the upload. Both are reported as
+ * the error of the record, see error().
+ *
+ * Not safe for concurrent use.
+ */
+final class CsvRecordReader {
+
+	private static final int BUFFER_SIZE = 8192;
+	private static final int NONE = -2;
+	static final int MAX_FIELD_LENGTH = 4096;
+
+	private final Reader reader;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private final StringBuilder field = new StringBuilder();
+
+	private int position;
+	private int limit;
+	private int pushedBack = NONE;
+	private char separator;
+	private int line = 1;
+	private int recordLine;
+	private String error;
+
+	CsvRecordReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * This method reads the next record.
+	 *
+	 * @return String[] - The fields of the record, or null at the end of the file.
+	 * @throws IOException if the stream cannot be read.
+	 */
+	String[] next() throws IOException {
+		int c = read();
+		if (separator == 0) {
+			if (c == '\uFEFF') {
+				c = read();
+			}
+			separator = detectSeparator(c);
+		}
+		while (c == '\r' || c == '\n') {
+			c = skipLineBreak(c);
+		}
+		if (c == -1) {
+			return null;
+		}
+		recordLine = line;
+		error = null;
+		List<String> fields = new ArrayList<>();
+		while (true) {
+			field.setLength(0);
+			if (c == '"') {
+				c = readQuoted();
+			} else {
+				while (c != separator && c != '\r' && c != '\n' && c != -1) {
+					append(c);
+					c = read();
+				}
+			}
+			fields.add(field.toString());
+			if (c == separator) {
+				c = read();
+				continue;
+			}
+			if (c != -1) {
+				pushedBack = skipLineBreak(c);
+			}
+			return fields.toArray(new String[0]);
+		}
+	}
+
+	/**
+	 * This method returns the line of the file where the last record read starts, counting from 1.
+	 *
+	 * @return int - The line number.
+	 */
+	int line() {
+		return recordLine;
+	}
+
+	/**
+	 * This method returns why the last record read is malformed.
+	 *
+	 * @return String - The reason, or null if the record is well formed.
+	 */
+	String error() {
+		return error;
+	}
+
+	/**
+	 * This method returns the separator of the fields, known once the first record is read.
+	 *
+	 * @return char - A comma or a semicolon.
+	 */
+	char separator() {
+		return separator;
+	}
+
+	// helpers
+
+	/**
+	 * Reads a quoted field, the opening quote already consumed, and returns the character after it.
+	 */
+	private int readQuoted() throws IOException {
+		while (true) {
+			int c = read();
+			if (c == -1) {
+				error = "Hay unas comillas sin cerrar";
+				return c;
+			}
+			if (c == '"') {
+				c = read();
+				if (c != '"') {
+					// text after the closing quote is kept as it is
+					while (c != separator && c != '\r' && c != '\n' && c != -1) {
+						append(c);
+						c = read();
+					}
+					return c;
+				}
+			} else if (c == '\n') {
+				line++;
+			}
+			append(c);
+		}
+	}
+
+	/**
+	 * Appends a character to the current field, unless the field is already at its maximum length.
+	 */
+	private void append(int c) {
+		if (field.length() < MAX_FIELD_LENGTH) {
+			field.append((char) c);
+		} else if (error == null) {
+			error = String.format("Un campo supera los %d caracteres", MAX_FIELD_LENGTH);
+		}
+	}
+
+	/**
+	 * Consumes a line break starting with the given character and returns the character after it.
+	 */
+	private int skipLineBreak(int c) throws IOException {
+		line++;
+		int next = read();
+		if (c == '\r' && next == '\n') {
+			next = read();
+		}
+		return next;
+	}
+
+	/**
+	 * Looks ahead in the first line, which the buffer is expected to hold, for the separator.
+	 */
+	private char detectSeparator(int first) {
+		int commas = first == ',' ? 1 : 0;
+		int semicolons = first == ';' ? 1 : 0;
+		for (int i = position; i < limit && buffer[i] != '\n' && buffer[i] != '\r'; i++) {
+			if (buffer[i] == ',') {
+				commas++;
+			} else if (buffer[i] == ';') {
+				semicolons++;
+			}
+		}
+		return semicolons > commas ? ';' : ',';
+	}
+
+	private int read() throws IOException {
+		if (pushedBack != NONE) {
+			int c = pushedBack;
+			pushedBack = NONE;
+			return c;
+		}
+		if (position == limit) {
+			limit = reader.read(buffer, 0, BUFFER_SIZE);
+			position = 0;
+			if (limit <= 0) {
+				limit = 0;
+				return -1;
+			}
+		}
+		return buffer[position++];
+	}
+}
@@ -0,0 +1,160 @@
+package com.healthybites.service.ingredient;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.mappers.ingredient.IngredientMapper;
+import com.healthybites.repositoy.IngredientRepository;
+
+/**
+ * IngredientCatalog
+ * In-memory copy of the active ingredients with a prefix index for autocomplete and a trigram
+ * index for typo tolerant search. The catalog is loaded from the database on first use and then
+ * kept up to date with every committed change to an ingredient, so reads never reach the
+ * database. Readers of the prefix index always see a complete snapshot, which is swapped
+ * atomically; the trigram index is updated in place.
+ *
+ * The active ingredients are kept in ID order, the order of the database listing, and the catalog
+ * only hands out copies of its ingredients, so callers cannot change the shared instances.
+ */
+@Component
+public class IngredientCatalog {
+
+	@Autowired
+	private IngredientRepository ingredientRepository;
+
+	@Autowired
+	private IngredientMapper ingredientMapper;
+
+	private final IngredientTrigramIndex trigramIndex = new IngredientTrigramIndex();
+
+	private volatile IngredientPrefixIndex prefixIndex;
+
+	/**
+	 * This method returns all the active ingredients.
+	 *
+	 * @return List<IngredientResponseDto> - The active ingredients.
+	 */
+	public List<IngredientResponseDto> getActiveIngredients() {
+		return copy(getPrefixIndex().getIngredients());
+	}
+
+	/**
+	 * This method finds the active ingredients with a word starting with the given text.
+	 *
+	 * @param query - The text typed by the user.
+	 * @param limit - The maximum number of ingredients to return.
+	 * @return List<IngredientResponseDto> - The matching ingredients.
+	 */
+	public List<IngredientResponseDto> suggest(String query, int limit) {
+		return copy(getPrefixIndex().suggest(query, limit));
+	}
+
+	/**
+	 * This method finds the active ingredients whose name is similar to the given text, tolerating
+	 * typos, accents and plurals, best match first.
+	 *
+	 * @param query - The text typed by the user.
+	 * @param limit - The maximum number of ingredients to return.
+	 * @return List<IngredientResponseDto> - The matching ingredients.
+	 */
+	public List<IngredientResponseDto> search(String query, int limit) {
+		getPrefixIndex();
+		return copy(trigramIndex.search(query, limit));
+	}
+
+	/**
+	 * This method applies a committed change of an ingredient to the catalog: active ingredients
+	 * are added or replaced and inactive ones are removed. Nothing is done if the catalog has not
+	 * been loaded yet, since the first read will load the committed state.
+	 *
+	 * @param ingredient - The ingredient as stored after the change.
+	 */
+	public void ingredientChanged(IngredientResponseDto ingredient) {
+		ingredientsChanged(List.of(ingredient));
+	}
+
+	/**
+	 * This method applies the committed changes of several ingredients to the catalog at once,
+	 * rebuilding the prefix index a single time. Changed ingredients keep their place in ID order.
+	 *
+	 * @param ingredients - The ingredients as stored after the change.
+	 */
+	public synchronized void ingredientsChanged(Collection<IngredientResponseDto> ingredients) {
+		IngredientPrefixIndex current = prefixIndex;
+		if (current == null || ingredients.isEmpty()) {
+			return;
+		}
+		Set<Long> changedIds = new HashSet<>(ingredients.size() * 2);
+		ingredients.forEach(ingredient -> changedIds.add(ingredient.getId()));
+		List<IngredientResponseDto> changed = new ArrayList<>(ingredients.size());
+		for (IngredientResponseDto ingredient : ingredients) {
+			if (ingredient.isActive()) {
+				IngredientResponseDto stored = copy(ingredient);
+				changed.add(stored);
+				trigramIndex.put(stored);
+			} else {
+				trigramIndex.remove(ingredient.getId());
+			}
+		}
+		changed.sort(Comparator.comparingLong(IngredientResponseDto::getId));
+
+		// both lists are in ID order, so they are merged in a single pass
+		List<IngredientResponseDto> active = new ArrayList<>(current.getIngredients().size() + changed.size());
+		int next = 0;
+		for (IngredientResponseDto existing : current.getIngredients()) {
+			if (changedIds.contains(existing.getId())) {
+				continue;
+			}
+			while (next < changed.size() && changed.get(next).getId() < existing.getId()) {
+				active.add(changed.get(next++));
+			}
+			active.add(existing);
+		}
+		active.addAll(changed.subList(next, changed.size()));
+		prefixIndex = IngredientPrefixIndex.build(active);
+	}
+
+	// helpers
+
+	private IngredientPrefixIndex getPrefixIndex() {
+		IngredientPrefixIndex current = prefixIndex;
+		if (current == null) {
+			synchronized (this) {
+				current = prefixIndex;
+				if (current == null) {
+					current = load();
+				}
+			}
+		}
+		return current;
+	}
+
+	private IngredientPrefixIndex load() {
+		List<IngredientResponseDto> active = ingredientRepository.findByActiveTrueOrderByIdAsc().stream()
+				.map(ingredientMapper::toIngredientResponseDto)
+				.toList();
+		trigramIndex.reset(active);
+		prefixIndex = IngredientPrefixIndex.build(active);
+		return prefixIndex;
+	}
+
+	private static List<IngredientResponseDto> copy(List<IngredientResponseDto> ingredients) {
+		List<IngredientResponseDto> copies = new ArrayList<>(ingredients.size());
+		ingredients.forEach(ingredient -> copies.add(copy(ingredient)));
+		return copies;
+	}
+
+	private static IngredientResponseDto copy(IngredientResponseDto ingredient) {
+		return new IngredientResponseDto(ingredient.getId(), ingredient.getName(), ingredient.getQuantity(),
+				ingredient.getQuantityCalories(), ingredient.isActive(), ingredient.getCreationDate());
+	}
+}
@@ -0,0 +1,160 @@
+package com.healthybites.service.ingredient;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Set;
+
+import com.healthybites.exception.InvalidImportFileException;
+
+/**
+ * IngredientCsvReader
+ * Reads the ingredients of a CSV file one row at a time and validates them with the same rules as
+ * the ingredients created through the API. The header names the columns, in any order and
+ * ignoring case, accents and symbols: name and calories are required, in English or Spanish, and
+ * the macronutrient columns protein, carbs and fat are optional. Ingredients have no
+ * macronutrients, so those columns are only checked to be empty or non-negative numbers. With a
+ * semicolon separator numbers may use a decimal comma.
+ *
+ * Not safe for concurrent use.
+ */
+final class IngredientCsvReader {
+
+	private static final int MAX_NAME_LENGTH = 60;
+	private static final int MISSING = -1;
+
+	private static final Set<String> NAME_COLUMNS = Set.of("name", "nombre", "ingredient", "ingrediente");
+	private static final Set<String> CALORIES_COLUMNS = Set.of("calories", "calorias", "kcal", "calorieskcal",
+			"caloriaskcal", "quantitycalories", "energy", "energia");
+	private static final Set<String> MACRO_COLUMNS = Set.of("protein", "proteins", "proteina", "proteinas",
+			"carbs", "carbohydrates", "carbohidratos", "hidratos", "fat", "fats", "grasa", "grasas", "lipidos");
+
+	private final CsvRecordReader records;
+	private final boolean decimalComma;
+	private int nameColumn = MISSING;
+	private int caloriesColumn = MISSING;
+	private int[] macroColumns = new int[0];
+
+	private String name;
+	private float calories;
+	private String error;
+
+	/**
+	 * Reads the header of the file.
+	 *
+	 * @param reader - The content of the file.
+	 * @throws IOException if the file cannot be read.
+	 * @throws InvalidImportFileException if the file is empty or lacks a required column.
+	 */
+	IngredientCsvReader(Reader reader) throws IOException {
+		records = new CsvRecordReader(reader);
+		String[] header = records.next();
+		if (header == null) {
+			throw new InvalidImportFileException("El fichero está vacío");
+		}
+		if (records.error() != null) {
+			throw new InvalidImportFileException("La cabecera no es válida: " + records.error());
+		}
+		decimalComma = records.separator() == ';';
+		for (int column = 0; column < header.length; column++) {
+			String key = IngredientPrefixIndex.normalize(header[column]).replaceAll("[^a-z0-9]", "");
+			if (NAME_COLUMNS.contains(key) && nameColumn == MISSING) {
+				nameColumn = column;
+			} else if (CALORIES_COLUMNS.contains(key) && caloriesColumn == MISSING) {
+				caloriesColumn = column;
+			} else if (MACRO_COLUMNS.contains(key)) {
+				macroColumns = Arrays.copyOf(macroColumns, macroColumns.length + 1);
+				macroColumns[macroColumns.length - 1] = column;
+			}
+		}
+		if (nameColumn == MISSING || caloriesColumn == MISSING) {
+			throw new InvalidImportFileException("La cabecera debe incluir las columnas del nombre y de las calorías");
+		}
+	}
+
+	/**
+	 * This method reads and validates the next row.
+	 *
+	 * @return boolean - False at the end of the file.
+	 * @throws IOException if the file cannot be read.
+	 */
+	boolean next() throws IOException {
+		String[] row = records.next();
+		if (row == null) {
+			return false;
+		}
+		name = field(row, nameColumn);
+		calories = parse(field(row, caloriesColumn));
+		error = records.error() != null ? records.error() : validate(row);
+		return true;
+	}
+
+	/**
+	 * This method returns the line of the file where the current row starts.
+	 *
+	 * @return int - The line number, counting from 1.
+	 */
+	int line() {
+		return records.line();
+	}
+
+	/**
+	 * This method returns why the current row is invalid.
+	 *
+	 * @return String - The reason, or null if the row is valid.
+	 */
+	String error() {
+		return error;
+	}
+
+	String name() {
+		return name;
+	}
+
+	float calories() {
+		return calories;
+	}
+
+	// helpers
+
+	private String validate(String[] row) {
+		if (name.isEmpty()) {
+			return "El nombre del ingrediente no puede estar en blanco";
+		}
+		if (name.length() > MAX_NAME_LENGTH) {
+			return "El nombre del ingrediente no puede tener más de 60 caracteres";
+		}
+		if (!(calories > 0) || Float.isInfinite(calories)) {
+			return "Las calorías deben ser un número positivo";
+		}
+		for (int column : macroColumns) {
+			String macro = field(row, column);
+			if (!macro.isEmpty()) {
+				float value = parse(macro);
+				if (!(value >= 0) || Float.isInfinite(value)) {
+					return "Los macronutrientes deben ser números mayores o iguales a cero";
+				}
+			}
+		}
+		return null;
+	}
+
+	private static String field(String[] row, int column) {
+		return column < row.length ? row[column].trim() : "";
+	}
+
+	/**
+	 * The number in a field, NaN if it is not a decimal number.
+	 */
+	private float parse(String value) {
+		String number = decimalComma ? value.replace(',', '.') : value;
+		if (number.isEmpty() || !number.chars().allMatch(c -> c >= '0' && c <= '9' || c == '.' || c == '-' || c == '+')) {
+			return Float.NaN;
+		}
+		try {
+			return Float.parseFloat(number);
+		} catch (NumberFormatException e) {
+			return Float.NaN;
+		}
+	}
+}
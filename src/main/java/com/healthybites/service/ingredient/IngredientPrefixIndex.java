@@ -0,0 +1,157 @@
+package com.healthybites.service.ingredient;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+
+/**
+ * IngredientPrefixIndex
+ * Immutable prefix index over the normalized names of a set of ingredients. Every word of a name
+ * is a key, so "rice" finds both "Rice flour" and "Brown rice", and so is the whole name, so
+ * "brown ri" finds "Brown rice". Keys are kept in one sorted array
+ * with a parallel array of ingredient positions, and a lookup is a binary search for the first
+ * key with the prefix followed by a scan that stops after {@code limit} distinct ingredients.
+ */
+public final class IngredientPrefixIndex {
+
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+	private final List<IngredientResponseDto> ingredients;
+	private final String[] keys;
+	private final int[] positions;
+
+	private IngredientPrefixIndex(List<IngredientResponseDto> ingredients, String[] keys, int[] positions) {
+		this.ingredients = ingredients;
+		this.keys = keys;
+		this.positions = positions;
+	}
+
+	/**
+	 * This method builds the index for a list of ingredients.
+	 *
+	 * @param ingredients - The ingredients to be indexed.
+	 * @return IngredientPrefixIndex - The index over the words of the ingredient names.
+	 */
+	public static IngredientPrefixIndex build(List<IngredientResponseDto> ingredients) {
+		List<IndexEntry> entries = new ArrayList<>(ingredients.size() * 2);
+		for (int position = 0; position < ingredients.size(); position++) {
+			String normalized = toKey(ingredients.get(position).getName());
+			if (normalized.isEmpty()) {
+				continue;
+			}
+			String[] words = normalized.split(" ");
+			for (String word : words) {
+				entries.add(new IndexEntry(word, position));
+			}
+			if (words.length > 1) {
+				entries.add(new IndexEntry(normalized, position));
+			}
+		}
+		entries.sort(null);
+
+		String[] keys = new String[entries.size()];
+		int[] positions = new int[entries.size()];
+		for (int i = 0; i < entries.size(); i++) {
+			keys[i] = entries.get(i).key();
+			positions[i] = entries.get(i).position();
+		}
+		return new IngredientPrefixIndex(List.copyOf(ingredients), keys, positions);
+	}
+
+	/**
+	 * This method finds the ingredients with a word starting with the given text, ordered by the
+	 * matching word.
+	 *
+	 * @param query - The text typed by the user.
+	 * @param limit - The maximum number of ingredients to return.
+	 * @return List<IngredientResponseDto> - The matching ingredients.
+	 */
+	public List<IngredientResponseDto> suggest(String query, int limit) {
+		String prefix = toKey(query);
+		if (prefix.isEmpty() || limit <= 0) {
+			return Collections.emptyList();
+		}
+		int from = lowerBound(prefix);
+
+		// limit is small, so a linear scan of the matched positions is cheaper than a set
+		int[] matched = new int[limit];
+		int count = 0;
+		for (int i = from; i < keys.length && count < limit && keys[i].startsWith(prefix); i++) {
+			if (!contains(matched, count, positions[i])) {
+				matched[count++] = positions[i];
+			}
+		}
+
+		List<IngredientResponseDto> matches = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			matches.add(ingredients.get(matched[i]));
+		}
+		return matches;
+	}
+
+	/**
+	 * This method returns the indexed ingredients.
+	 *
+	 * @return List<IngredientResponseDto> - The indexed ingredients, in the order they were given.
+	 */
+	public List<IngredientResponseDto> getIngredients() {
+		return ingredients;
+	}
+
+	/**
+	 * This method normalizes a name for searching: lower case and without accents.
+	 *
+	 * @param name - The name to be normalized.
+	 * @return String - The normalized name, or an empty string for null.
+	 */
+	public static String normalize(String name) {
+		if (name == null) {
+			return "";
+		}
+		String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+		return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+	}
+
+	// helpers
+
+	private int lowerBound(String key) {
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (keys[mid].compareTo(key) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static String toKey(String name) {
+		return SEPARATORS.matcher(normalize(name)).replaceAll(" ").strip();
+	}
+
+	private static boolean contains(int[] values, int count, int value) {
+		for (int i = 0; i < count; i++) {
+			if (values[i] == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private record IndexEntry(String key, int position) implements Comparable<IndexEntry> {
+		@Override
+		public int compareTo(IndexEntry other) {
+			int byKey = key.compareTo(other.key);
+			return byKey != 0 ? byKey : Integer.compare(position, other.position);
+		}
+	}
+}
@@ -1,17 +1,25 @@
 package com.healthybites.service.ingredient;
 
+import java.io.InputStream;
 import java.util.List;
 
+import com.healthybites.api.CursorPage;
+import com.healthybites.dtos.ingredient.IngredientImportResponseDto;
 import com.healthybites.dtos.ingredient.IngredientRequestDto;
 import com.healthybites.dtos.ingredient.IngredientResponseDto;
 //  Service interface for managing ingredient operations.
 public interface IngredientService {
 
 	List<IngredientResponseDto> getAllIngredients();
+	CursorPage<IngredientResponseDto> getAllIngredients(String after, Integer limit);
 	IngredientResponseDto createIngredient(IngredientRequestDto ingredientRequestDto);
 	IngredientResponseDto updateIngredient(Long ingredientId, IngredientRequestDto ingredientRequest);
 	void disableIngredient(Long ingredientId);
 	List<IngredientResponseDto> getAllActiveIngredients();
+	CursorPage<IngredientResponseDto> getAllActiveIngredients(String after, Integer limit);
 	IngredientResponseDto reactivateIngredient(Long ingredientId);
+	List<IngredientResponseDto> suggestIngredients(String query, Integer limit);
+	List<IngredientResponseDto> searchIngredients(String query, Integer limit);
+	IngredientImportResponseDto importIngredients(InputStream csv);
 
 }
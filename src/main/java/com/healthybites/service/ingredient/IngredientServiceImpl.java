@@ -1,29 +1,67 @@
 package com.healthybites.service.ingredient;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.healthybites.api.CursorPage;
+import com.healthybites.dtos.ingredient.IngredientImportResponseDto;
 import com.healthybites.dtos.ingredient.IngredientRequestDto;
 import com.healthybites.dtos.ingredient.IngredientResponseDto;
 import com.healthybites.entity.IngredientEntity;
+import com.healthybites.exception.InvalidImportFileException;
 import com.healthybites.exception.ResourceNotFoundException;
 import com.healthybites.mappers.ingredient.IngredientMapper;
 import com.healthybites.repositoy.IngredientRepository;
+import com.healthybites.repositoy.RecipeRepository;
+import com.healthybites.service.sync.ChangeLog;
 
 
 @Service
 public class IngredientServiceImpl implements IngredientService {
 
 	private final static String INGREDIENT_NOT_FOUND = "Ingredient with id %d not found";
+	private final static int DEFAULT_SEARCH_LIMIT = 10;
+	private final static int MAX_SEARCH_LIMIT = 50;
+	private final static int MAX_IMPORT_ERRORS = 100;
+	private final static String IMPORT_ERROR = "Línea %d: %s";
 
 	@Autowired
 	private IngredientRepository ingredientRepository;
 
+	@Autowired
+	private RecipeRepository recipeRepository;
+
 	@Autowired
 	private IngredientMapper ingredientMapper;
 
+	@Autowired
+	private IngredientCatalog ingredientCatalog;
+
+	@Autowired
+	private ChangeLog changeLog;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${ingredient-import.chunk-size:5000}")
+	private int importChunkSize;
+
 	/**
 	 * This method retrieves all ingredients from the database and maps them to a list of
 	 * IngredientResponseDto objects.
@@ -35,6 +73,21 @@ public class IngredientServiceImpl implements IngredientService {
 		return ingredientRepository.findAll().stream().map(ingredientMapper::toIngredientResponseDto).toList();
 	}
 
+	/**
+	 * This method retrieves a page of ingredients using keyset pagination, ordered by ingredient ID.
+	 * 
+	 * @param after - The cursor returned by the previous page, or null for the first page.
+	 * @param limit - The maximum number of ingredients in the page.
+	 * @return CursorPage<IngredientResponseDto> - The page of ingredients and the cursor of the next page.
+	 */
+	@Override
+	public CursorPage<IngredientResponseDto> getAllIngredients(String after, Integer limit) {
+		int pageSize = CursorPage.normalizeLimit(limit);
+		List<IngredientEntity> rows = ingredientRepository.findByIdGreaterThanOrderByIdAsc(
+				CursorPage.decodeCursor(after), Limit.of(pageSize + 1));
+		return CursorPage.of(rows, pageSize, IngredientEntity::getId, this::toIngredientResponseDtos);
+	}
+
 	/**
 	 * This method creates a new ingredient in the database and returns the created ingredient as a
 	 * response DTO.
@@ -44,30 +97,45 @@ public class IngredientServiceImpl implements IngredientService {
 	 * @return IngredientResponseDto - The created ingredient as a response DTO.
 	 */
 	@Override
+	@Transactional
 	public IngredientResponseDto createIngredient(IngredientRequestDto ingredientRequestDto) {
 		IngredientEntity entity = ingredientMapper.toIngredient(ingredientRequestDto);
 		entity.setActive(true); 
-		return ingredientMapper.toIngredientResponseDto(ingredientRepository.save(entity));
+		IngredientResponseDto created = ingredientMapper.toIngredientResponseDto(ingredientRepository.save(entity));
+		changeLog.ingredientChanged(created.getId(), false);
+		publishChange(created);
+		return created;
 	}
 
 	/**
 	 * This method updates an existing ingredient in the database and returns the updated ingredient
-	 * as a response DTO.
+	 * as a response DTO. If the calories of the ingredient change, the total calories of every
+	 * recipe that uses it are recomputed in the same transaction.
 	 * 
 	 * @param ingredientId        - The ID of the ingredient to be updated.
 	 * @param ingredientRequest   - The request DTO containing the updated details of the ingredient.
 	 * @return IngredientResponseDto - The updated ingredient as a response DTO.
 	 */
 	@Override
+	@Transactional
 	public IngredientResponseDto updateIngredient(Long ingredientId, IngredientRequestDto ingredientRequest) {
 
 		IngredientEntity ingredient = validateAndGetIngredient(ingredientId);
+		boolean caloriesChanged = Float.compare(ingredient.getQuantityCalories(),
+				ingredientRequest.getQuantityCalories()) != 0;
 
 		ingredient.setName(ingredientRequest.getName());
 		ingredient.setQuantityCalories(ingredientRequest.getQuantityCalories());
 		ingredient.setCreationDate(ingredientRequest.getCreationDate());
 
-		return ingredientMapper.toIngredientResponseDto(ingredientRepository.save(ingredient));
+		IngredientEntity updated = ingredientRepository.save(ingredient);
+		if (caloriesChanged) {
+			recipeRepository.refreshTotalCaloriesByIngredientId(ingredientId);
+		}
+		changeLog.ingredientChanged(ingredientId, caloriesChanged);
+		IngredientResponseDto response = ingredientMapper.toIngredientResponseDto(updated);
+		publishChange(response);
+		return response;
 	}
 
 	/**
@@ -76,21 +144,38 @@ public class IngredientServiceImpl implements IngredientService {
 	 * @param ingredientId - The ID of the ingredient to be disabled.
 	 */
 	@Override
+	@Transactional
 	public void disableIngredient(Long ingredientId) {
 		IngredientEntity ingredient = validateAndGetIngredient(ingredientId);
 		ingredient.setActive(false);
-	    ingredientRepository.save(ingredient);
+	    publishChange(ingredientMapper.toIngredientResponseDto(ingredientRepository.save(ingredient)));
+		changeLog.ingredientChanged(ingredientId, false);
 	}
 	
 	/**
-	 * This method retrieves all active ingredients from the database and maps them to a list of
-	 * IngredientResponseDto objects.
+	 * This method retrieves all active ingredients from the in-memory catalog.
 	 * 
 	 * @return List<IngredientResponseDto> - A list of all active ingredients in the system.
 	 */
 	@Override
 	public List<IngredientResponseDto> getAllActiveIngredients() {
-		return ingredientRepository.findByActiveTrue().stream().map(ingredientMapper::toIngredientResponseDto).toList();
+		return ingredientCatalog.getActiveIngredients();
+	}
+
+	/**
+	 * This method retrieves a page of active ingredients using keyset pagination, ordered by
+	 * ingredient ID.
+	 * 
+	 * @param after - The cursor returned by the previous page, or null for the first page.
+	 * @param limit - The maximum number of ingredients in the page.
+	 * @return CursorPage<IngredientResponseDto> - The page of active ingredients and the cursor of the next page.
+	 */
+	@Override
+	public CursorPage<IngredientResponseDto> getAllActiveIngredients(String after, Integer limit) {
+		int pageSize = CursorPage.normalizeLimit(limit);
+		List<IngredientEntity> rows = ingredientRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(
+				CursorPage.decodeCursor(after), Limit.of(pageSize + 1));
+		return CursorPage.of(rows, pageSize, IngredientEntity::getId, this::toIngredientResponseDtos);
 	}
 	
 	/**
@@ -100,14 +185,146 @@ public class IngredientServiceImpl implements IngredientService {
 	 * @return IngredientResponseDto - The reactivated ingredient as a response DTO.
 	 */
 	@Override
+	@Transactional
 	public IngredientResponseDto reactivateIngredient(Long ingredientId) {
 		IngredientEntity ingredient = validateAndGetIngredient(ingredientId);
 		ingredient.setActive(true);
-		return ingredientMapper.toIngredientResponseDto(ingredientRepository.save(ingredient));
+		IngredientResponseDto reactivated = ingredientMapper.toIngredientResponseDto(ingredientRepository.save(ingredient));
+		changeLog.ingredientChanged(ingredientId, false);
+		publishChange(reactivated);
+		return reactivated;
+	}
+
+	/**
+	 * This method suggests active ingredients whose name has a word starting with the given text,
+	 * using the in-memory catalog.
+	 * 
+	 * @param query - The text typed by the user.
+	 * @param limit - The maximum number of suggestions, 10 by default and at most 50.
+	 * @return List<IngredientResponseDto> - The suggested ingredients.
+	 */
+	@Override
+	public List<IngredientResponseDto> suggestIngredients(String query, Integer limit) {
+		int size = limit == null || limit <= 0 ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+		return ingredientCatalog.suggest(query, size);
+	}
+
+	/**
+	 * This method searches active ingredients by name tolerating typos, accents and plurals, using
+	 * the trigram index of the in-memory catalog. The best matches come first.
+	 * 
+	 * @param query - The text typed by the user.
+	 * @param limit - The maximum number of results, 10 by default and at most 50.
+	 * @return List<IngredientResponseDto> - The matching ingredients ranked by similarity.
+	 */
+	@Override
+	public List<IngredientResponseDto> searchIngredients(String query, Integer limit) {
+		int size = limit == null || limit <= 0 ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+		return ingredientCatalog.search(query, size);
+	}
+
+	/**
+	 * This method imports ingredients from a CSV file read as a stream, so the file is never held
+	 * in memory. The header names the columns, see IngredientCsvReader. Invalid rows are rejected
+	 * and the reasons of the first 100 are returned. Rows whose name already exists, in the
+	 * database or earlier in the file and ignoring case and accents, are skipped. The new
+	 * ingredients are inserted in JDBC batches, one transaction per chunk, so the chunks committed
+	 * before a failure are kept.
+	 * 
+	 * @param csv - The content of the CSV file, encoded in UTF-8.
+	 * @return IngredientImportResponseDto - The number of imported, duplicated and rejected rows.
+	 * @throws InvalidImportFileException - If the file cannot be read or lacks a required column.
+	 */
+	@Override
+	public IngredientImportResponseDto importIngredients(InputStream csv) {
+		Set<String> names = new HashSet<>();
+		ingredientRepository.forEachName(name -> names.add(toImportKey(name)));
+
+		int imported = 0;
+		int duplicates = 0;
+		int rejected = 0;
+		List<String> errors = new ArrayList<>();
+		List<IngredientEntity> chunk = new ArrayList<>(importChunkSize);
+		LocalDateTime creationDate = LocalDateTime.now();
+		try {
+			IngredientCsvReader reader = new IngredientCsvReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+			while (reader.next()) {
+				if (reader.error() != null) {
+					rejected++;
+					if (errors.size() < MAX_IMPORT_ERRORS) {
+						errors.add(String.format(IMPORT_ERROR, reader.line(), reader.error()));
+					}
+				} else if (!names.add(toImportKey(reader.name()))) {
+					duplicates++;
+				} else {
+					chunk.add(new IngredientEntity(null, reader.name(), reader.calories(), creationDate, true, new HashSet<>()));
+					if (chunk.size() == importChunkSize) {
+						imported += insertChunk(chunk);
+						chunk = new ArrayList<>(importChunkSize);
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new InvalidImportFileException("No se pudo leer el fichero", e);
+		}
+		imported += insertChunk(chunk);
+		return new IngredientImportResponseDto(imported, duplicates, rejected, errors);
 	}
 
 	// helpers
 
+	/**
+	 * This method inserts a chunk of new ingredients in its own transaction, writes their change
+	 * log entries and adds them to the in-memory catalog once committed.
+	 * 
+	 * @param chunk - The ingredients to be inserted.
+	 * @return int - The number of inserted ingredients.
+	 */
+	private int insertChunk(List<IngredientEntity> chunk) {
+		if (chunk.isEmpty()) {
+			return 0;
+		}
+		transactionTemplate.executeWithoutResult(status -> {
+			ingredientRepository.batchInsert(chunk);
+			changeLog.ingredientsCreated(chunk.stream().map(IngredientEntity::getId).toList());
+			publishChanges(toIngredientResponseDtos(chunk));
+		});
+		return chunk.size();
+	}
+
+	private static String toImportKey(String name) {
+		return IngredientPrefixIndex.normalize(name).trim();
+	}
+
+	/**
+	 * This method applies a change of an ingredient to the in-memory catalog once it is committed.
+	 * Outside a transaction the change is applied immediately.
+	 * 
+	 * @param ingredient - The ingredient as stored after the change.
+	 */
+	private void publishChange(IngredientResponseDto ingredient) {
+		publishChanges(List.of(ingredient));
+	}
+
+	/**
+	 * This method applies the changes of several ingredients to the in-memory catalog at once when
+	 * they are committed. Outside a transaction the changes are applied immediately.
+	 * 
+	 * @param ingredients - The ingredients as stored after the change.
+	 */
+	private void publishChanges(List<IngredientResponseDto> ingredients) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					ingredientCatalog.ingredientsChanged(ingredients);
+				}
+			});
+		} else {
+			ingredientCatalog.ingredientsChanged(ingredients);
+		}
+	}
+
 	/**
 	 * This method validates and retrieves an ingredient by its ID.
 	 * 
@@ -120,5 +337,15 @@ public class IngredientServiceImpl implements IngredientService {
 				.orElseThrow(() -> new ResourceNotFoundException(String.format(INGREDIENT_NOT_FOUND, ingredientId)));
 	}
 
+	/**
+	 * This method maps a list of ingredient entities to response DTOs.
+	 * 
+	 * @param ingredients - The ingredient entities to be mapped.
+	 * @return List<IngredientResponseDto> - The mapped ingredients.
+	 */
+	private List<IngredientResponseDto> toIngredientResponseDtos(List<IngredientEntity> ingredients) {
+		return ingredients.stream().map(ingredientMapper::toIngredientResponseDto).toList();
+	}
+
 	
 }
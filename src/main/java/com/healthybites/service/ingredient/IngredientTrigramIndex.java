@@ -0,0 +1,434 @@
+package com.healthybites.service.ingredient;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+
+/**
+ * IngredientTrigramIndex
+ * Typo tolerant search over ingredient names. Names are normalized (lower case, without accents
+ * and without a trailing plural "s") and split into words. Each distinct word of the catalog is
+ * indexed once by its padded trigrams, and keeps the list of ingredients that use it, shortest
+ * name first.
+ *
+ * A search finds, for every query word, the words of the vocabulary whose trigrams reach a Dice
+ * coefficient threshold, reading only the rarest trigrams of the query word from the index (a
+ * word cannot reach the threshold without one of them). Those words are ranked by edit distance,
+ * counting a swap of two letters as one edit, and the ingredients of the best ones are scored by
+ * how well they cover all the query words. The work depends on the size of the vocabulary,
+ * which grows much slower than the number of ingredients, and on the number of results, not on
+ * the size of the catalog.
+ *
+ * The index is updated in place, one ingredient at a time, and is safe for concurrent use.
+ */
+public final class IngredientTrigramIndex {
+
+	public static final double DEFAULT_THRESHOLD = 0.4;
+
+	private static final int MATCHED_WORDS_PER_QUERY_WORD = 32;
+	private static final int CANDIDATES_PER_WORD = 256;
+	private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final int[] NO_COUNTERS = new int[0];
+	private static final Comparator<Entry> SHORTEST_FIRST = Comparator.<Entry>comparingInt(entry -> entry.length)
+			.thenComparingLong(entry -> entry.ingredient.getId());
+
+	private final double threshold;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Long, Entry> entriesByIngredient = new HashMap<>();
+	private final Map<String, Word> wordsByText = new HashMap<>();
+	private final Map<Long, List<Word>> wordsByTrigram = new HashMap<>();
+	private final Deque<Integer> freeWordIds = new ArrayDeque<>();
+	private final ThreadLocal<int[]> counters = ThreadLocal.withInitial(() -> NO_COUNTERS);
+
+	private int wordIdCount;
+
+	public IngredientTrigramIndex() {
+		this(DEFAULT_THRESHOLD);
+	}
+
+	public IngredientTrigramIndex(double threshold) {
+		this.threshold = threshold;
+	}
+
+	/**
+	 * This method replaces the content of the index with the given ingredients.
+	 *
+	 * @param all - The ingredients to be indexed.
+	 */
+	public void reset(Collection<IngredientResponseDto> all) {
+		lock.writeLock().lock();
+		try {
+			entriesByIngredient.clear();
+			wordsByText.clear();
+			wordsByTrigram.clear();
+			freeWordIds.clear();
+			wordIdCount = 0;
+
+			for (IngredientResponseDto ingredient : all) {
+				Entry entry = newEntry(ingredient);
+				entriesByIngredient.put(ingredient.getId(), entry);
+				for (Word word : entry.words) {
+					word.entries.add(entry);
+				}
+			}
+			for (Word word : wordsByText.values()) {
+				word.entries.sort(SHORTEST_FIRST);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This method adds an ingredient to the index, replacing the previous version if it was
+	 * already indexed.
+	 *
+	 * @param ingredient - The ingredient to be indexed.
+	 */
+	public void put(IngredientResponseDto ingredient) {
+		lock.writeLock().lock();
+		try {
+			removeEntry(ingredient.getId());
+			Entry entry = newEntry(ingredient);
+			entriesByIngredient.put(ingredient.getId(), entry);
+			for (Word word : entry.words) {
+				int position = -Collections.binarySearch(word.entries, entry, SHORTEST_FIRST) - 1;
+				word.entries.add(position, entry);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This method removes an ingredient from the index.
+	 *
+	 * @param ingredientId - The ID of the ingredient to be removed.
+	 */
+	public void remove(long ingredientId) {
+		lock.writeLock().lock();
+		try {
+			removeEntry(ingredientId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This method finds the ingredients whose name is similar to the query, best match first.
+	 * An ingredient scores the average, over the query words, of the similarity of the closest
+	 * word of its name; ties go to the shorter name.
+	 *
+	 * @param query - The text typed by the user.
+	 * @param limit - The maximum number of ingredients to return.
+	 * @return List<IngredientResponseDto> - The matching ingredients.
+	 */
+	public List<IngredientResponseDto> search(String query, int limit) {
+		List<String> queryWords = wordsOf(query);
+		if (queryWords.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+
+		// With one query word an ingredient scores the similarity of its best word, so only the
+		// `limit` shortest names of each matched word can make it to the result.
+		int candidatesPerWord = queryWords.size() == 1 ? limit : CANDIDATES_PER_WORD;
+
+		lock.readLock().lock();
+		try {
+			List<Map<Word, Double>> matchedWords = new ArrayList<>(queryWords.size());
+			Set<Entry> candidates = new LinkedHashSet<>();
+			for (String queryWord : queryWords) {
+				Map<Word, Double> matches = matchWord(queryWord);
+				matchedWords.add(matches);
+				for (Word word : matches.keySet()) {
+					candidates.addAll(word.entries.subList(0, Math.min(candidatesPerWord, word.entries.size())));
+				}
+			}
+
+			List<ScoredEntry> scored = new ArrayList<>(candidates.size());
+			for (Entry entry : candidates) {
+				double total = 0;
+				for (Map<Word, Double> matches : matchedWords) {
+					double best = 0;
+					for (Word word : entry.words) {
+						best = Math.max(best, matches.getOrDefault(word, 0d));
+					}
+					total += best;
+				}
+				scored.add(new ScoredEntry(entry, total / queryWords.size()));
+			}
+			scored.sort(Comparator.comparingDouble(ScoredEntry::score).reversed()
+					.thenComparing(ScoredEntry::entry, SHORTEST_FIRST));
+
+			return scored.stream()
+					.limit(limit)
+					.map(scoredEntry -> scoredEntry.entry().ingredient)
+					.toList();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns the number of indexed ingredients.
+	 *
+	 * @return int - The number of indexed ingredients.
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return entriesByIngredient.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns the number of distinct words of the indexed names.
+	 *
+	 * @return int - The size of the vocabulary.
+	 */
+	public int vocabularySize() {
+		lock.readLock().lock();
+		try {
+			return wordsByText.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method normalizes a name and splits it into its distinct words, without plural "s".
+	 *
+	 * @param name - The name to be split.
+	 * @return List<String> - The distinct normalized words, in order of appearance.
+	 */
+	static List<String> wordsOf(String name) {
+		Set<String> words = new LinkedHashSet<>();
+		for (String word : SEPARATORS.split(IngredientPrefixIndex.normalize(name))) {
+			if (word.isEmpty()) {
+				continue;
+			}
+			if (word.length() > 3 && word.charAt(word.length() - 1) == 's') {
+				word = word.substring(0, word.length() - 1);
+			}
+			words.add(word);
+		}
+		return List.copyOf(words);
+	}
+
+	/**
+	 * This method splits a word into its distinct padded trigrams.
+	 *
+	 * @param word - The normalized word.
+	 * @return long[] - The sorted distinct trigrams, each one packed in a long.
+	 */
+	static long[] trigramsOf(String word) {
+		String padded = "  " + word + " ";
+		long[] trigrams = new long[padded.length() - 2];
+		for (int i = 0; i < trigrams.length; i++) {
+			trigrams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+		}
+		Arrays.sort(trigrams);
+		int distinct = 0;
+		for (int i = 0; i < trigrams.length; i++) {
+			if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+				trigrams[distinct++] = trigrams[i];
+			}
+		}
+		return Arrays.copyOf(trigrams, distinct);
+	}
+
+	// helpers
+
+	/**
+	 * This method finds the words of the vocabulary similar to a query word. With a Dice
+	 * threshold t, a word must share at least t * |Q| / (2 - t) trigrams with the query, so the
+	 * candidates are found in the postings of the rarest trigrams only and then verified. The
+	 * words that reach the threshold are ranked by edit similarity.
+	 *
+	 * @param queryWord - The normalized query word.
+	 * @return Map<Word, Double> - The best matching words with their edit similarity.
+	 */
+	private Map<Word, Double> matchWord(String queryWord) {
+		long[] queryTrigrams = trigramsOf(queryWord);
+		int minShared = Math.max(1, (int) Math.ceil(threshold * queryTrigrams.length / (2 - threshold)));
+
+		List<List<Word>> postings = new ArrayList<>(queryTrigrams.length);
+		Integer[] order = new Integer[queryTrigrams.length];
+		for (int i = 0; i < queryTrigrams.length; i++) {
+			postings.add(wordsByTrigram.getOrDefault(queryTrigrams[i], List.of()));
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparingInt(i -> postings.get(i).size()));
+
+		int prefixLength = queryTrigrams.length - minShared + 1;
+		int[] counts = counters(wordIdCount);
+		List<Word> candidates = new ArrayList<>();
+		for (int p = 0; p < prefixLength; p++) {
+			for (Word word : postings.get(order[p])) {
+				if (counts[word.id]++ == 0) {
+					candidates.add(word);
+				}
+			}
+		}
+
+		List<Map.Entry<Word, Double>> matches = new ArrayList<>();
+		for (Word word : candidates) {
+			int shared = counts[word.id];
+			counts[word.id] = 0;
+			for (int p = prefixLength; p < queryTrigrams.length; p++) {
+				if (Arrays.binarySearch(word.trigrams, queryTrigrams[order[p]]) >= 0) {
+					shared++;
+				}
+			}
+			double dice = 2.0 * shared / (queryTrigrams.length + word.trigrams.length);
+			if (dice >= threshold) {
+				matches.add(Map.entry(word, editSimilarity(queryWord, word.text)));
+			}
+		}
+		matches.sort(Map.Entry.<Word, Double>comparingByValue().reversed());
+
+		Map<Word, Double> best = new HashMap<>();
+		for (Map.Entry<Word, Double> match : matches.subList(0, Math.min(MATCHED_WORDS_PER_QUERY_WORD, matches.size()))) {
+			best.put(match.getKey(), match.getValue());
+		}
+		return best;
+	}
+
+	/**
+	 * This method compares two words with the optimal string alignment distance, where
+	 * inserting, deleting, replacing or swapping two adjacent letters is one edit.
+	 *
+	 * @param a - The first word.
+	 * @param b - The second word.
+	 * @return double - 1 for equal words, down to 0 when every letter must change.
+	 */
+	static double editSimilarity(String a, String b) {
+		int[] previous2 = new int[b.length() + 1];
+		int[] previous = new int[b.length() + 1];
+		int[] current = new int[b.length() + 1];
+		for (int j = 0; j <= b.length(); j++) {
+			previous[j] = j;
+		}
+		for (int i = 1; i <= a.length(); i++) {
+			current[0] = i;
+			for (int j = 1; j <= b.length(); j++) {
+				int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+				current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+				if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+					current[j] = Math.min(current[j], previous2[j - 2] + 1);
+				}
+			}
+			int[] recycled = previous2;
+			previous2 = previous;
+			previous = current;
+			current = recycled;
+		}
+		int longest = Math.max(a.length(), b.length());
+		return longest == 0 ? 1 : 1 - (double) previous[b.length()] / longest;
+	}
+
+	private Entry newEntry(IngredientResponseDto ingredient) {
+		List<String> texts = wordsOf(ingredient.getName());
+		Word[] words = new Word[texts.size()];
+		int length = 0;
+		for (int i = 0; i < words.length; i++) {
+			words[i] = wordsByText.computeIfAbsent(texts.get(i), this::newWord);
+			length += texts.get(i).length();
+		}
+		return new Entry(ingredient, words, length);
+	}
+
+	private Word newWord(String text) {
+		int id = freeWordIds.isEmpty() ? wordIdCount++ : freeWordIds.pop();
+		Word word = new Word(id, text, trigramsOf(text));
+		for (long trigram : word.trigrams) {
+			wordsByTrigram.computeIfAbsent(trigram, key -> new ArrayList<>()).add(word);
+		}
+		return word;
+	}
+
+	private void removeEntry(long ingredientId) {
+		Entry entry = entriesByIngredient.remove(ingredientId);
+		if (entry == null) {
+			return;
+		}
+		for (Word word : entry.words) {
+			word.entries.remove(Collections.binarySearch(word.entries, entry, SHORTEST_FIRST));
+			if (word.entries.isEmpty()) {
+				removeWord(word);
+			}
+		}
+	}
+
+	private void removeWord(Word word) {
+		wordsByText.remove(word.text);
+		for (long trigram : word.trigrams) {
+			List<Word> posting = wordsByTrigram.get(trigram);
+			posting.remove(word);
+			if (posting.isEmpty()) {
+				wordsByTrigram.remove(trigram);
+			}
+		}
+		freeWordIds.push(word.id);
+	}
+
+	private int[] counters(int size) {
+		int[] counts = counters.get();
+		if (counts.length < size) {
+			counts = new int[Math.max(size, counts.length * 2)];
+			counters.set(counts);
+		}
+		return counts;
+	}
+
+	/**
+	 * An indexed ingredient with the words of its name and the total length of those words.
+	 */
+	private static final class Entry {
+		private final IngredientResponseDto ingredient;
+		private final Word[] words;
+		private final int length;
+
+		Entry(IngredientResponseDto ingredient, Word[] words, int length) {
+			this.ingredient = ingredient;
+			this.words = words;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * A distinct word of the vocabulary with its trigrams and the ingredients that use it,
+	 * shortest name first.
+	 */
+	private static final class Word {
+		private final int id;
+		private final String text;
+		private final long[] trigrams;
+		private final List<Entry> entries = new ArrayList<>(1);
+
+		Word(int id, String text, long[] trigrams) {
+			this.id = id;
+			this.text = text;
+			this.trigrams = trigrams;
+		}
+	}
+
+	private record ScoredEntry(Entry entry, double score) {
+	}
+}
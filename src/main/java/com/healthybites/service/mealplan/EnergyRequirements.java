@@ -0,0 +1,90 @@
+package com.healthybites.service.mealplan;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.healthybites.entity.InfoUserEntity;
+
+/**
+ * EnergyRequirements
+ * Daily energy needs computed from the health profile of a user. The basal metabolic rate (BMR)
+ * uses the Mifflin-St Jeor equation and the total daily energy expenditure (TDEE) multiplies it by
+ * the usual factor of the activity level. Sex and activity level are free text in the profile, so
+ * they are matched, in Spanish or English and ignoring case and accents, against known values.
+ */
+public final class EnergyRequirements {
+
+	public static final double DEFAULT_ACTIVITY_FACTOR = 1.2;
+
+	private static final Set<String> MALE = Set.of("m", "h", "male", "man", "masculino", "hombre", "varon");
+	private static final Set<String> FEMALE = Set.of("f", "female", "woman", "femenino", "mujer");
+	private static final Map<String, Double> ACTIVITY_FACTORS = Map.ofEntries(
+			Map.entry("sedentario", 1.2), Map.entry("sedentaria", 1.2), Map.entry("sedentary", 1.2),
+			Map.entry("ligero", 1.375), Map.entry("ligera", 1.375), Map.entry("light", 1.375),
+			Map.entry("bajo", 1.375), Map.entry("baja", 1.375), Map.entry("low", 1.375),
+			Map.entry("moderado", 1.55), Map.entry("moderada", 1.55), Map.entry("moderate", 1.55),
+			Map.entry("medio", 1.55), Map.entry("media", 1.55), Map.entry("medium", 1.55),
+			Map.entry("activo", 1.725), Map.entry("activa", 1.725), Map.entry("active", 1.725),
+			Map.entry("alto", 1.725), Map.entry("alta", 1.725), Map.entry("high", 1.725),
+			Map.entry("muy activo", 1.9), Map.entry("muy activa", 1.9), Map.entry("very active", 1.9),
+			Map.entry("muy alto", 1.9), Map.entry("intenso", 1.9), Map.entry("intensa", 1.9),
+			Map.entry("extreme", 1.9));
+
+	private EnergyRequirements() {
+	}
+
+	/**
+	 * This method computes the daily calorie target of a user, the calories needed to keep the
+	 * current weight.
+	 *
+	 * @param info - The health profile of the user.
+	 * @return double - The total daily energy expenditure in kcal.
+	 */
+	public static double dailyCalories(InfoUserEntity info) {
+		return basalMetabolicRate(info.getWeight(), info.getHeight(), info.getAge(), info.getSex())
+				* activityFactor(info.getActivityLevel());
+	}
+
+	/**
+	 * This method computes the basal metabolic rate with the Mifflin-St Jeor equation. When the
+	 * sex is unknown the average of the male and female equations is used.
+	 *
+	 * @param weight - The weight in kilograms.
+	 * @param height - The height in centimeters, or in meters if it is below 3.
+	 * @param age    - The age in years.
+	 * @param sex    - The sex as entered by the user, may be null.
+	 * @return double - The basal metabolic rate in kcal per day.
+	 */
+	public static double basalMetabolicRate(double weight, double height, int age, String sex) {
+		double centimeters = height < 3 ? height * 100 : height;
+		String normalized = normalize(sex);
+		double offset = MALE.contains(normalized) ? 5 : FEMALE.contains(normalized) ? -161 : -78;
+		return 10 * weight + 6.25 * centimeters - 5 * age + offset;
+	}
+
+	/**
+	 * This method returns the factor that turns the basal metabolic rate into the total daily
+	 * energy expenditure for an activity level.
+	 *
+	 * @param activityLevel - The activity level as entered by the user, may be null.
+	 * @return double - The activity factor, 1.2 for unknown levels.
+	 */
+	public static double activityFactor(String activityLevel) {
+		return ACTIVITY_FACTORS.getOrDefault(normalize(activityLevel), DEFAULT_ACTIVITY_FACTOR);
+	}
+
+	// helpers
+
+	private static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		return Normalizer.normalize(text, Normalizer.Form.NFD)
+				.replaceAll("\\p{M}", "")
+				.toLowerCase(Locale.ROOT)
+				.trim()
+				.replaceAll("[\\s_-]+", " ");
+	}
+}
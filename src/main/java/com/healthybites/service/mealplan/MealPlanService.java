@@ -0,0 +1,9 @@
+package com.healthybites.service.mealplan;
+
+import com.healthybites.dtos.mealplan.MealPlanResponseDto;
+
+//  Service interface for planning the meals of a user.
+public interface MealPlanService {
+
+	MealPlanResponseDto getMealPlan(Long userId, Integer days);
+}
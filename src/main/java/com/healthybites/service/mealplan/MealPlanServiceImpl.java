@@ -0,0 +1,129 @@
+package com.healthybites.service.mealplan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.healthybites.dtos.mealplan.MealPlanDayDto;
+import com.healthybites.dtos.mealplan.MealPlanResponseDto;
+import com.healthybites.dtos.recipe.RecipeResponseDto;
+import com.healthybites.entity.InfoUserEntity;
+import com.healthybites.exception.ResourceNotFoundException;
+import com.healthybites.repositoy.InfoUserRepository;
+import com.healthybites.repositoy.RecipeRepository;
+import com.healthybites.repositoy.RecipeRepository.RecipeCalories;
+import com.healthybites.repositoy.UserRepository;
+import com.healthybites.service.recipe.RecipeService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * MealPlanServiceImpl
+ * Plans the breakfast, lunch and dinner of a user for several days so that every day provides the
+ * calories the user needs according to the health information of the profile. The search runs on
+ * a ForkJoinPool shared by all the requests, so concurrent plans cannot use more threads than
+ * configured.
+ */
+@Service
+public class MealPlanServiceImpl implements MealPlanService {
+
+	private final static String USER_NOT_FOUND = "User with id %d not found";
+	private final static String INFO_USER_NOT_FOUND = "Health information of user with id %d not found";
+	private final static int DEFAULT_DAYS = 7;
+	private final static int MAX_DAYS = 28;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private InfoUserRepository infoUserRepository;
+
+	@Autowired
+	private RecipeRepository recipeRepository;
+
+	@Autowired
+	private RecipeService recipeService;
+
+	@Value("${meal-plan.parallelism:4}")
+	private int parallelism;
+
+	@Value("${meal-plan.tolerance:0.1}")
+	private double tolerance;
+
+	private ForkJoinPool pool;
+
+	@PostConstruct
+	public void start() {
+		pool = new ForkJoinPool(parallelism);
+	}
+
+	@PreDestroy
+	public void stop() {
+		pool.shutdown();
+	}
+
+	/**
+	 * This method plans the meals of a user for several days. The daily calorie target is the total
+	 * daily energy expenditure of the user, and the calories of every planned day are within 10% of
+	 * it. Recipes are not repeated across days unless there are not enough of them.
+	 * 
+	 * @param userId - The ID of the user.
+	 * @param days   - The number of days to plan, 7 by default and at most 28.
+	 * @return MealPlanResponseDto - The daily calorie target and the meals of every day. Fewer days
+	 *         are returned if no combination of recipes hits the target.
+	 * @throws ResourceNotFoundException - If the user does not exist or has no health information.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public MealPlanResponseDto getMealPlan(Long userId, Integer days) {
+		if (!userRepository.existsById(userId)) {
+			throw new ResourceNotFoundException(String.format(USER_NOT_FOUND, userId));
+		}
+		InfoUserEntity info = infoUserRepository.findByUserId(userId)
+				.orElseThrow(() -> new ResourceNotFoundException(String.format(INFO_USER_NOT_FOUND, userId)));
+		int planDays = days == null || days <= 0 ? DEFAULT_DAYS : Math.min(days, MAX_DAYS);
+		double target = EnergyRequirements.dailyCalories(info);
+
+		List<long[]> plan = newPlanner().plan(target, tolerance, planDays, pool);
+		Set<Long> recipeIds = plan.stream()
+				.flatMapToLong(Arrays::stream)
+				.boxed()
+				.collect(Collectors.toSet());
+		Map<Long, RecipeResponseDto> recipesById = recipeService.getRecipesByIds(recipeIds).stream()
+				.collect(Collectors.toMap(RecipeResponseDto::getId, Function.identity()));
+
+		List<MealPlanDayDto> planDaysDto = new ArrayList<>(plan.size());
+		for (long[] meals : plan) {
+			RecipeResponseDto breakfast = recipesById.get(meals[0]);
+			RecipeResponseDto lunch = recipesById.get(meals[1]);
+			RecipeResponseDto dinner = recipesById.get(meals[2]);
+			float totalCalories = breakfast.getTotalCalories() + lunch.getTotalCalories() + dinner.getTotalCalories();
+			planDaysDto.add(new MealPlanDayDto(planDaysDto.size() + 1, breakfast, lunch, dinner, totalCalories));
+		}
+		return new MealPlanResponseDto(userId, target, planDaysDto);
+	}
+
+	// helpers
+
+	private MealPlanner newPlanner() {
+		List<RecipeCalories> recipes = recipeRepository.findAllCalories();
+		long[] recipeIds = new long[recipes.size()];
+		float[] calories = new float[recipes.size()];
+		for (int i = 0; i < recipeIds.length; i++) {
+			recipeIds[i] = recipes.get(i).getId();
+			calories[i] = recipes.get(i).getTotalCalories();
+		}
+		return new MealPlanner(recipeIds, calories);
+	}
+}
@@ -0,0 +1,241 @@
+package com.healthybites.service.mealplan;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * MealPlanner
+ * Chooses a breakfast, a lunch and a dinner for every day of a plan so that the calories of each
+ * day hit a target within a tolerance. Breakfast, lunch and dinner are meant to provide 25%, 40%
+ * and 35% of the target, so only the recipes closest to those shares are considered for each
+ * meal, which bounds the search whatever the number of recipes. For every pair of breakfast and
+ * lunch the dinner that best completes the day is found with a binary search over the recipes
+ * sorted by calories. The breakfasts are split across the tasks of a ForkJoinPool.
+ *
+ * Days are planned one after the other and the recipes of the previous days are excluded, so a
+ * recipe is repeated only when no day can be completed without it. A day is scored by its
+ * distance to the target and, with a lower weight, by the distance of each meal to its share.
+ *
+ * A planner is immutable and can be used by several threads.
+ */
+public final class MealPlanner {
+
+	public static final double[] MEAL_SHARES = { 0.25, 0.40, 0.35 };
+
+	private static final int MEALS = MEAL_SHARES.length;
+	private static final int CANDIDATES_PER_MEAL = 200;
+	private static final int BREAKFASTS_PER_TASK = 16;
+	private static final double BALANCE_WEIGHT = 0.1;
+
+	private final long[] recipeIds;
+	private final float[] calories;
+
+	/**
+	 * @param recipeIds - The IDs of the recipes that can be planned.
+	 * @param calories  - The total calories of every recipe, in the same order.
+	 */
+	public MealPlanner(long[] recipeIds, float[] calories) {
+		int[] order = IntStream.range(0, recipeIds.length).boxed()
+				.sorted(Comparator.<Integer>comparingDouble(i -> calories[i]).thenComparingLong(i -> recipeIds[i]))
+				.mapToInt(Integer::intValue)
+				.toArray();
+		this.recipeIds = new long[order.length];
+		this.calories = new float[order.length];
+		for (int i = 0; i < order.length; i++) {
+			this.recipeIds[i] = recipeIds[order[i]];
+			this.calories[i] = calories[order[i]];
+		}
+	}
+
+	/**
+	 * This method plans the meals of several days.
+	 *
+	 * @param target    - The calories of a day.
+	 * @param tolerance - The accepted deviation of the calories of a day, as a fraction of the target.
+	 * @param days      - The number of days.
+	 * @param pool      - The pool the search runs on.
+	 * @return List<long[]> - The IDs of the breakfast, lunch and dinner recipes of every day. The
+	 *         list is shorter than the number of days if no combination hits the target.
+	 */
+	public List<long[]> plan(double target, double tolerance, int days, ForkJoinPool pool) {
+		int[][] candidates = new int[MEALS][];
+		for (int meal = 0; meal < MEALS; meal++) {
+			candidates[meal] = closest(target * MEAL_SHARES[meal], CANDIDATES_PER_MEAL);
+		}
+
+		List<long[]> plan = new ArrayList<>(days);
+		boolean[] used = new boolean[recipeIds.length];
+		for (int day = 0; day < days; day++) {
+			Combination best = pool.invoke(new SearchTask(candidates, used, target, tolerance, 0, candidates[0].length));
+			if (best == null) {
+				// every combination uses a recipe of the previous days, so allow repetitions
+				best = pool.invoke(new SearchTask(candidates, new boolean[recipeIds.length], target, tolerance, 0,
+						candidates[0].length));
+				if (best == null) {
+					break;
+				}
+			}
+			plan.add(new long[] { recipeIds[best.breakfast], recipeIds[best.lunch], recipeIds[best.dinner] });
+			used[best.breakfast] = true;
+			used[best.lunch] = true;
+			used[best.dinner] = true;
+		}
+		return plan;
+	}
+
+	// helpers
+
+	/**
+	 * The positions of the recipes whose calories are closest to the given value, in calorie order.
+	 */
+	private int[] closest(double value, int count) {
+		int right = lowerBound(value);
+		int left = right - 1;
+		int[] positions = new int[Math.min(count, recipeIds.length)];
+		for (int i = 0; i < positions.length; i++) {
+			if (left < 0 || right < recipeIds.length && calories[right] - value < value - calories[left]) {
+				positions[i] = right++;
+			} else {
+				positions[i] = left--;
+			}
+		}
+		Arrays.sort(positions);
+		return positions;
+	}
+
+	private int lowerBound(double value) {
+		int low = 0;
+		int high = recipeIds.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (calories[middle] < value) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static final class Combination {
+
+		private final int breakfast;
+		private final int lunch;
+		private final int dinner;
+		private final double score;
+
+		private Combination(int breakfast, int lunch, int dinner, double score) {
+			this.breakfast = breakfast;
+			this.lunch = lunch;
+			this.dinner = dinner;
+			this.score = score;
+		}
+
+		private static Combination best(Combination first, Combination second) {
+			if (first == null) {
+				return second;
+			}
+			return second == null || first.score <= second.score ? first : second;
+		}
+	}
+
+	private final class SearchTask extends RecursiveTask<Combination> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[][] candidates;
+		private final boolean[] used;
+		private final double target;
+		private final double tolerance;
+		private final int from;
+		private final int to;
+
+		private SearchTask(int[][] candidates, boolean[] used, double target, double tolerance, int from, int to) {
+			this.candidates = candidates;
+			this.used = used;
+			this.target = target;
+			this.tolerance = tolerance;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Combination compute() {
+			if (to - from > BREAKFASTS_PER_TASK) {
+				int middle = (from + to) >>> 1;
+				SearchTask left = new SearchTask(candidates, used, target, tolerance, from, middle);
+				left.fork();
+				Combination right = new SearchTask(candidates, used, target, tolerance, middle, to).compute();
+				return Combination.best(left.join(), right);
+			}
+
+			double low = target * (1 - tolerance);
+			double high = target * (1 + tolerance);
+			int[] breakfasts = candidates[0];
+			int[] lunches = candidates[1];
+			int[] dinners = candidates[2];
+			Combination best = null;
+			for (int b = from; b < to; b++) {
+				int breakfast = breakfasts[b];
+				if (used[breakfast]) {
+					continue;
+				}
+				for (int lunch : lunches) {
+					if (lunch == breakfast || used[lunch]) {
+						continue;
+					}
+					double partial = calories[breakfast] + calories[lunch];
+					int nearest = nearestDinner(dinners, target - partial);
+					// walk away from the nearest dinner in both directions until an unused recipe is found
+					for (int d = nearest; d < dinners.length && partial + calories[dinners[d]] <= high; d++) {
+						if (isFree(dinners[d], breakfast, lunch)) {
+							best = Combination.best(best, combination(breakfast, lunch, dinners[d], low));
+							break;
+						}
+					}
+					for (int d = nearest - 1; d >= 0 && partial + calories[dinners[d]] >= low; d--) {
+						if (isFree(dinners[d], breakfast, lunch)) {
+							best = Combination.best(best, combination(breakfast, lunch, dinners[d], low));
+							break;
+						}
+					}
+				}
+			}
+			return best;
+		}
+
+		private boolean isFree(int dinner, int breakfast, int lunch) {
+			return dinner != breakfast && dinner != lunch && !used[dinner];
+		}
+
+		private Combination combination(int breakfast, int lunch, int dinner, double low) {
+			double total = calories[breakfast] + calories[lunch] + calories[dinner];
+			if (total < low) {
+				return null;
+			}
+			double balance = Math.abs(calories[breakfast] - target * MEAL_SHARES[0])
+					+ Math.abs(calories[lunch] - target * MEAL_SHARES[1])
+					+ Math.abs(calories[dinner] - target * MEAL_SHARES[2]);
+			return new Combination(breakfast, lunch, dinner, (Math.abs(total - target) + BALANCE_WEIGHT * balance) / target);
+		}
+
+		private int nearestDinner(int[] dinners, double value) {
+			int low = 0;
+			int high = dinners.length;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (calories[dinners[middle]] < value) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+	}
+}
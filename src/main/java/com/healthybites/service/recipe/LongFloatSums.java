@@ -0,0 +1,100 @@
+package com.healthybites.service.recipe;
+
+import java.util.Arrays;
+
+/**
+ * LongFloatSums
+ * Sums of float values keyed by a long ID, without boxing keys or values. Entries are kept in
+ * insertion order in two parallel arrays and found through an open addressing table with linear
+ * probing that stores the position of the entry plus one, 0 marking an empty slot.
+ *
+ * Not safe for concurrent use.
+ */
+final class LongFloatSums {
+
+	private long[] keys;
+	private float[] sums;
+	private int[] slots;
+	private int size;
+
+	LongFloatSums(int expectedSize) {
+		int capacity = Math.max(4, expectedSize);
+		keys = new long[capacity];
+		sums = new float[capacity];
+		slots = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+	}
+
+	/**
+	 * This method adds a value to the sum of a key, creating the entry if needed.
+	 *
+	 * @param key   - The key.
+	 * @param value - The value to be added.
+	 * @return int - The position of the entry of the key, in insertion order.
+	 */
+	int add(long key, float value) {
+		int slot = slotOf(key);
+		int index = slots[slot] - 1;
+		if (index < 0) {
+			if (size == keys.length) {
+				grow();
+				slot = slotOf(key);
+			}
+			index = size++;
+			keys[index] = key;
+			slots[slot] = index + 1;
+		}
+		sums[index] += value;
+		return index;
+	}
+
+	/**
+	 * This method returns the sum of a key.
+	 *
+	 * @param key - The key.
+	 * @return float - The sum, 0 if the key was never added.
+	 */
+	float get(long key) {
+		int index = slots[slotOf(key)] - 1;
+		return index < 0 ? 0 : sums[index];
+	}
+
+	int size() {
+		return size;
+	}
+
+	long keyAt(int index) {
+		return keys[index];
+	}
+
+	float sumAt(int index) {
+		return sums[index];
+	}
+
+	// helpers
+
+	/**
+	 * The slot holding the key, or the empty slot where it would be inserted.
+	 */
+	private int slotOf(long key) {
+		int mask = slots.length - 1;
+		int slot = (int) (key * 0x9E3779B97F4A7C15L >>> 40) & mask;
+		while (slots[slot] != 0 && keys[slots[slot] - 1] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void grow() {
+		keys = Arrays.copyOf(keys, size * 2);
+		sums = Arrays.copyOf(sums, size * 2);
+		slots = new int[slots.length * 2];
+		int mask = slots.length - 1;
+		for (int index = 0; index < size; index++) {
+			int slot = (int) (keys[index] * 0x9E3779B97F4A7C15L >>> 40) & mask;
+			while (slots[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			slots[slot] = index + 1;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.healthybites.service.recipe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.healthybites.repositoy.RecipeRepository;
+import com.healthybites.repositoy.RecipeRepository.RecipeOwner;
+import com.healthybites.service.sync.ChangeLog;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * RecipeCaloriesConsistencyChecker
+ * Verifies the denormalized total calories of every recipe against its ingredients and repairs
+ * the recipes whose stored total is stale. Recipes are scanned in ID batches that are checked in
+ * parallel, each batch with one read and, only when needed, one update. The repaired recipes
+ * are written to the change log in the transaction of the update, so the clients that
+ * synchronize or send an entity tag see the new totals.
+ *
+ * The check also runs when the application starts, so the recipes stored before the total
+ * calories column existed, which the schema update creates with 0, get their totals back.
+ */
+@Slf4j
+@Component
+public class RecipeCaloriesConsistencyChecker {
+
+	private static final double TOLERANCE = 0.01;
+
+	@Autowired
+	private RecipeRepository recipeRepository;
+
+	@Autowired
+	private ChangeLog changeLog;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${recipe.calories.check.batch-size:500}")
+	private int batchSize;
+
+	@Value("${recipe.calories.check.threads:4}")
+	private int threads;
+
+	@Value("${recipe.calories.check.on-startup:true}")
+	private boolean checkOnStartup;
+
+	/**
+	 * This method checks the total calories of all recipes when the application starts, unless the
+	 * check on startup is disabled.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void repairOnStartup() {
+		if (checkOnStartup) {
+			int repaired = checkAndRepair();
+			if (repaired > 0) {
+				log.info("Repaired the total calories of {} recipes on startup", repaired);
+			}
+		}
+	}
+
+	/**
+	 * This method checks the total calories of all recipes and recomputes the stale ones.
+	 *
+	 * @return int - The number of recipes whose total calories were repaired.
+	 */
+	public int checkAndRepair() {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Integer>> batches = new ArrayList<>();
+			long lastId = 0;
+			List<Long> ids = recipeRepository.findIdsAfter(lastId, Limit.of(batchSize));
+			while (!ids.isEmpty()) {
+				List<Long> batch = ids;
+				batches.add(executor.submit(() -> repairBatch(batch)));
+				lastId = ids.get(ids.size() - 1);
+				ids = recipeRepository.findIdsAfter(lastId, Limit.of(batchSize));
+			}
+
+			int repaired = 0;
+			for (Future<Integer> batch : batches) {
+				repaired += batch.get();
+			}
+			return repaired;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Recipe calories check interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Recipe calories check failed", e.getCause());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	// helpers
+
+	private int repairBatch(List<Long> recipeIds) {
+		List<RecipeOwner> stale = recipeRepository.findWithStaleTotalCalories(recipeIds, TOLERANCE);
+		if (stale.isEmpty()) {
+			return 0;
+		}
+		return transactionTemplate.execute(status -> {
+			int repaired = recipeRepository.refreshTotalCalories(stale.stream().map(RecipeOwner::getId).toList());
+			stale.forEach(recipe -> changeLog.recipeChanged(recipe.getId(), recipe.getUserId()));
+			return repaired;
+		});
+	}
+}
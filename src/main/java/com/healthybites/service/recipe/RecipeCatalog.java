@@ -0,0 +1,178 @@
+package com.healthybites.service.recipe;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.healthybites.repositoy.RecipeIngredientRepository;
+import com.healthybites.service.recipe.RecipeIngredientIndex.PantryMatch;
+
+/**
+ * RecipeCatalog
+ * In-memory indexes over the ingredients of every recipe: an inverted index for ingredient
+ * searches and pantry matching, and MinHash signatures for similar recipes. The indexes are loaded
+ * from the database when the application starts, or on first use if preloading is disabled, and
+ * then kept up to date with every committed change to a recipe, so none of these reads touch the
+ * recipe-ingredient relations.
+ */
+@Component
+public class RecipeCatalog {
+
+	@Autowired
+	private RecipeIngredientRepository recipeIngredientRepository;
+
+	@Value("${recipe.catalog.preload:true}")
+	private boolean preload;
+
+	private final RecipeIngredientIndex ingredientIndex = new RecipeIngredientIndex();
+
+	private final RecipeSimilarityIndex similarityIndex = new RecipeSimilarityIndex();
+
+	private volatile boolean loaded;
+
+	/**
+	 * This method finds the recipes that contain all the included ingredients and none of the
+	 * excluded ones, in ascending ID order.
+	 *
+	 * @param include - The IDs of the ingredients the recipes must contain.
+	 * @param exclude - The IDs of the ingredients the recipes must not contain.
+	 * @param after   - Only recipes with an ID greater than this one are returned.
+	 * @param limit   - The maximum number of recipe IDs to return.
+	 * @return List<Long> - The IDs of the matching recipes.
+	 */
+	public List<Long> searchByIngredients(Collection<Long> include, Collection<Long> exclude, long after, int limit) {
+		ensureLoaded();
+		return ingredientIndex.search(include, exclude, after, limit);
+	}
+
+	/**
+	 * This method finds the recipes that can be cooked with the ingredients of a pantry, missing at
+	 * most the given number of ingredients, best coverage first.
+	 *
+	 * @param pantry     - The IDs of the ingredients of the pantry.
+	 * @param maxMissing - The maximum number of ingredients of a recipe that may be missing.
+	 * @param limit      - The maximum number of recipes to return.
+	 * @return List<PantryMatch> - The matching recipes.
+	 */
+	public List<PantryMatch> matchPantry(Collection<Long> pantry, int maxMissing, int limit) {
+		ensureLoaded();
+		return ingredientIndex.matchPantry(pantry, maxMissing, limit);
+	}
+
+	/**
+	 * This method finds the recipes whose ingredients are most similar to those of a recipe. The
+	 * candidates are the recipes sharing a MinHash bucket with it, ranked by their exact Jaccard
+	 * similarity.
+	 *
+	 * @param recipeId - The ID of the recipe.
+	 * @param limit    - The maximum number of recipes to return.
+	 * @return Map<Long, Double> - The similarity of each similar recipe, keyed by recipe ID, most
+	 *         similar first.
+	 */
+	public Map<Long, Double> findSimilar(long recipeId, int limit) {
+		ensureLoaded();
+		int[] candidates = similarityIndex.candidates(recipeId);
+		double[] similarities = ingredientIndex.jaccard(recipeId, candidates);
+		Map<Long, Double> similar = new LinkedHashMap<>();
+		IntStream.range(0, candidates.length)
+				.filter(i -> similarities[i] > 0)
+				.boxed()
+				.sorted(Comparator.<Integer>comparingDouble(i -> -similarities[i]).thenComparingInt(i -> candidates[i]))
+				.limit(limit)
+				.forEach(i -> similar.put((long) candidates[i], similarities[i]));
+		return similar;
+	}
+
+	/**
+	 * This method loads the indexes when the application starts, unless preloading is disabled.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void preload() {
+		if (preload) {
+			ensureLoaded();
+		}
+	}
+
+	/**
+	 * This method applies a committed change of the ingredients of a recipe, or the creation of a
+	 * recipe, to the indexes. Nothing is done if the indexes have not been loaded yet, since the
+	 * first read will load the committed state.
+	 *
+	 * @param recipeId      - The ID of the recipe.
+	 * @param ingredientIds - The IDs of all the ingredients of the recipe after the change.
+	 */
+	public synchronized void recipeChanged(long recipeId, Collection<Long> ingredientIds) {
+		if (loaded) {
+			ingredientIndex.put(recipeId, ingredientIds);
+			similarityIndex.put(recipeId, ingredientIndex.getIngredients(recipeId));
+		}
+	}
+
+	/**
+	 * This method applies a committed addition of an ingredient to a recipe to the indexes.
+	 *
+	 * @param recipeId     - The ID of the recipe.
+	 * @param ingredientId - The ID of the added ingredient.
+	 */
+	public synchronized void ingredientAdded(long recipeId, long ingredientId) {
+		if (loaded) {
+			ingredientIndex.addIngredient(recipeId, ingredientId);
+			similarityIndex.put(recipeId, ingredientIndex.getIngredients(recipeId));
+		}
+	}
+
+	/**
+	 * This method applies a committed deletion of a recipe to the indexes.
+	 *
+	 * @param recipeId - The ID of the deleted recipe.
+	 */
+	public synchronized void recipeDeleted(long recipeId) {
+		if (loaded) {
+			ingredientIndex.remove(recipeId);
+			similarityIndex.remove(recipeId);
+		}
+	}
+
+	// helpers
+
+	private void ensureLoaded() {
+		if (!loaded) {
+			synchronized (this) {
+				if (!loaded) {
+					load();
+					loaded = true;
+				}
+			}
+		}
+	}
+
+	private void load() {
+		ingredientIndex.clear();
+		recipeIngredientRepository.forEachRecipeIngredientId((recipeId, ingredientId) -> {
+			if (ingredientId == null) {
+				ingredientIndex.put(recipeId, List.of());
+			} else {
+				ingredientIndex.addIngredient(recipeId, ingredientId);
+			}
+		});
+
+		int size = ingredientIndex.size();
+		int[] recipeIds = new int[size];
+		long[][] ingredients = new long[size][];
+		int[] position = new int[1];
+		ingredientIndex.forEachRecipe((recipeId, recipeIngredients) -> {
+			recipeIds[position[0]] = Math.toIntExact(recipeId);
+			ingredients[position[0]++] = recipeIngredients;
+		});
+		similarityIndex.reset(recipeIds, ingredients);
+	}
+}
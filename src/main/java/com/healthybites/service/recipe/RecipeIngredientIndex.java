@@ -0,0 +1,444 @@
+package com.healthybites.service.recipe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+import org.roaringbitmap.BatchIterator;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * RecipeIngredientIndex
+ * Inverted index from ingredients to the recipes that use them. Every ingredient keeps the IDs
+ * of its recipes in a compressed bitmap, so the recipes containing all of some ingredients and
+ * none of others are found with a few bitmap intersections and differences, without reading the
+ * recipe-ingredient relations. The work depends on the number of ingredients in the query and on
+ * the size of the bitmaps, which are a few bits per recipe for common ingredients and a few bytes
+ * per recipe for rare ones.
+ *
+ * The number of ingredients of every recipe, at most 65535, is also kept in an array indexed by
+ * recipe ID. The recipes that can be cooked with a pantry, or with at most a few missing
+ * ingredients, are found by counting how many pantry ingredients each recipe uses while walking
+ * the bitmaps of the pantry ingredients, and comparing that count with the size of the recipe.
+ * The work depends on the size of the bitmaps of the pantry ingredients.
+ *
+ * Recipe IDs must fit in an int. The index is updated in place, one recipe at a time, and is safe
+ * for concurrent use.
+ */
+public final class RecipeIngredientIndex {
+
+	private static final long[] NO_INGREDIENTS = new long[0];
+	private static final int BATCH_SIZE = 256;
+	private static final Comparator<PantryMatch> BEST_FIRST = (first, second) -> second.isWorseThan(first) ? -1
+			: first.isWorseThan(second) ? 1 : 0;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<Long, RoaringBitmap> recipesByIngredient = new HashMap<>();
+	private final Map<Long, long[]> ingredientsByRecipe = new HashMap<>();
+	private final RoaringBitmap allRecipes = new RoaringBitmap();
+
+	private final Queue<char[]> counters = new ConcurrentLinkedQueue<>();
+
+	private char[] ingredientCounts = new char[16];
+
+	/**
+	 * This method removes every recipe from the index.
+	 */
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			recipesByIngredient.clear();
+			ingredientsByRecipe.clear();
+			allRecipes.clear();
+			ingredientCounts = new char[16];
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This method adds a recipe to the index, replacing its previous ingredients if it was already
+	 * indexed.
+	 *
+	 * @param recipeId      - The ID of the recipe.
+	 * @param ingredientIds - The IDs of all the ingredients of the recipe.
+	 */
+	public void put(long recipeId, Collection<Long> ingredientIds) {
+		int recipe = Math.toIntExact(recipeId);
+		long[] ingredients = ingredientIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+		lock.writeLock().lock();
+		try {
+			removePostings(recipe, ingredientsByRecipe.put(recipeId, ingredients));
+			for (long ingredientId : ingredients) {
+				recipesByIngredient.computeIfAbsent(ingredientId, id -> new RoaringBitmap()).add(recipe);
+			}
+			allRecipes.add(recipe);
+			setIngredientCount(recipe, ingredients.length);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This method adds one ingredient to a recipe, adding the recipe to the index if it was not
+	 * indexed yet.
+	 *
+	 * @param recipeId     - The ID of the recipe.
+	 * @param ingredientId - The ID of the ingredient added to the recipe.
+	 */
+	public void addIngredient(long recipeId, long ingredientId) {
+		int recipe = Math.toIntExact(recipeId);
+		lock.writeLock().lock();
+		try {
+			long[] ingredients = ingredientsByRecipe.getOrDefault(recipeId, NO_INGREDIENTS);
+			int position = Arrays.binarySearch(ingredients, ingredientId);
+			if (position < 0) {
+				position = -position - 1;
+				long[] updated = new long[ingredients.length + 1];
+				System.arraycopy(ingredients, 0, updated, 0, position);
+				updated[position] = ingredientId;
+				System.arraycopy(ingredients, position, updated, position + 1, ingredients.length - position);
+				ingredientsByRecipe.put(recipeId, updated);
+				setIngredientCount(recipe, updated.length);
+			}
+			recipesByIngredient.computeIfAbsent(ingredientId, id -> new RoaringBitmap()).add(recipe);
+			allRecipes.add(recipe);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This method removes a recipe from the index.
+	 *
+	 * @param recipeId - The ID of the recipe to be removed.
+	 */
+	public void remove(long recipeId) {
+		int recipe = Math.toIntExact(recipeId);
+		lock.writeLock().lock();
+		try {
+			removePostings(recipe, ingredientsByRecipe.remove(recipeId));
+			allRecipes.remove(recipe);
+			setIngredientCount(recipe, 0);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This method finds the recipes that contain all the included ingredients and none of the
+	 * excluded ones, in ascending ID order. When no ingredient is included every recipe is a
+	 * candidate.
+	 *
+	 * @param include - The IDs of the ingredients the recipes must contain.
+	 * @param exclude - The IDs of the ingredients the recipes must not contain.
+	 * @param after   - Only recipes with an ID greater than this one are returned.
+	 * @param limit   - The maximum number of recipe IDs to return.
+	 * @return List<Long> - The IDs of the matching recipes.
+	 */
+	public List<Long> search(Collection<Long> include, Collection<Long> exclude, long after, int limit) {
+		if (after >= Integer.MAX_VALUE || limit <= 0) {
+			return Collections.emptyList();
+		}
+		RoaringBitmap matches;
+		lock.readLock().lock();
+		try {
+			matches = matching(include, exclude);
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		List<Long> recipeIds = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+		PeekableIntIterator iterator = matches.getIntIterator();
+		iterator.advanceIfNeeded((int) Math.max(after + 1, 0));
+		while (iterator.hasNext() && recipeIds.size() < limit) {
+			recipeIds.add((long) iterator.next());
+		}
+		return recipeIds;
+	}
+
+	/**
+	 * This method finds the recipes that can be cooked with the ingredients of a pantry, missing at
+	 * most the given number of ingredients. Recipes are ranked by coverage, the fraction of their
+	 * ingredients that are in the pantry, then by the number of missing ingredients and then by ID.
+	 * Recipes that use none of the pantry ingredients are never returned.
+	 *
+	 * @param pantry     - The IDs of the ingredients of the pantry.
+	 * @param maxMissing - The maximum number of ingredients of a recipe that may be missing.
+	 * @param limit      - The maximum number of recipes to return.
+	 * @return List<PantryMatch> - The matching recipes, best coverage first.
+	 */
+	public List<PantryMatch> matchPantry(Collection<Long> pantry, int maxMissing, int limit) {
+		if (pantry.isEmpty() || limit <= 0) {
+			return Collections.emptyList();
+		}
+		PriorityQueue<PantryMatch> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+		lock.readLock().lock();
+		try {
+			List<RoaringBitmap> postings = new ArrayList<>(pantry.size());
+			for (long ingredientId : pantry.stream().mapToLong(Long::longValue).distinct().toArray()) {
+				RoaringBitmap recipes = recipesByIngredient.get(ingredientId);
+				if (recipes != null) {
+					postings.add(recipes);
+				}
+			}
+			if (postings.isEmpty()) {
+				return Collections.emptyList();
+			}
+
+			int end = allRecipes.last() + 1;
+			char[] matched = counters.poll();
+			if (matched == null || matched.length < end) {
+				matched = new char[end];
+			}
+			int[] batch = new int[BATCH_SIZE];
+			for (RoaringBitmap recipes : postings) {
+				BatchIterator iterator = recipes.getBatchIterator();
+				while (iterator.hasNext()) {
+					int count = iterator.nextBatch(batch);
+					for (int i = 0; i < count; i++) {
+						matched[batch[i]]++;
+					}
+				}
+			}
+			// a sequential scan of the counters is cheaper than the union of the pantry bitmaps, and
+			// clears them on the way so the array can be reused by the next search
+			for (int recipe = 0; recipe < end; recipe++) {
+				int hits = matched[recipe];
+				if (hits == 0) {
+					continue;
+				}
+				matched[recipe] = 0;
+				int total = ingredientCounts[recipe];
+				if (total - hits > maxMissing) {
+					continue;
+				}
+				if (best.size() < limit) {
+					best.add(new PantryMatch(recipe, hits, total));
+				} else if (best.peek().isWorseThan(recipe, hits, total)) {
+					best.poll();
+					best.add(new PantryMatch(recipe, hits, total));
+				}
+			}
+			counters.offer(matched);
+		} finally {
+			lock.readLock().unlock();
+		}
+		List<PantryMatch> matches = new ArrayList<>(best);
+		matches.sort(BEST_FIRST);
+		return matches;
+	}
+
+	/**
+	 * This method returns the ingredients of a recipe.
+	 *
+	 * @param recipeId - The ID of the recipe.
+	 * @return long[] - The sorted IDs of the ingredients, empty if the recipe is not indexed.
+	 */
+	public long[] getIngredients(long recipeId) {
+		lock.readLock().lock();
+		try {
+			return ingredientsByRecipe.getOrDefault(recipeId, NO_INGREDIENTS);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method computes the Jaccard similarity between the ingredients of a recipe and those of
+	 * other recipes: the number of shared ingredients divided by the number of distinct ingredients
+	 * of both.
+	 *
+	 * @param recipeId       - The ID of the recipe.
+	 * @param otherRecipeIds - The IDs of the recipes to compare with.
+	 * @return double[] - The similarity with each of the other recipes, 0 for unknown recipes.
+	 */
+	public double[] jaccard(long recipeId, int[] otherRecipeIds) {
+		double[] similarities = new double[otherRecipeIds.length];
+		lock.readLock().lock();
+		try {
+			long[] ingredients = ingredientsByRecipe.get(recipeId);
+			if (ingredients == null) {
+				return similarities;
+			}
+			for (int i = 0; i < otherRecipeIds.length; i++) {
+				long[] others = ingredientsByRecipe.get((long) otherRecipeIds[i]);
+				if (others != null) {
+					int shared = shared(ingredients, others);
+					similarities[i] = (double) shared / (ingredients.length + others.length - shared);
+				}
+			}
+			return similarities;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method passes every indexed recipe and its sorted ingredient IDs to the given action.
+	 *
+	 * @param action - The action called for every recipe.
+	 */
+	public void forEachRecipe(BiConsumer<Long, long[]> action) {
+		lock.readLock().lock();
+		try {
+			ingredientsByRecipe.forEach(action);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns the number of indexed recipes.
+	 *
+	 * @return int - The number of recipes.
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return allRecipes.getCardinality();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// helpers
+
+	private RoaringBitmap matching(Collection<Long> include, Collection<Long> exclude) {
+		RoaringBitmap matches;
+		if (include.isEmpty()) {
+			matches = allRecipes.clone();
+		} else {
+			List<RoaringBitmap> required = new ArrayList<>(include.size());
+			for (Long ingredientId : include) {
+				RoaringBitmap recipes = recipesByIngredient.get(ingredientId);
+				if (recipes == null) {
+					return new RoaringBitmap();
+				}
+				required.add(recipes);
+			}
+			// intersect the smallest bitmaps first so the intermediate result shrinks quickly
+			required.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+			matches = required.get(0).clone();
+			for (int i = 1; i < required.size() && !matches.isEmpty(); i++) {
+				matches.and(required.get(i));
+			}
+		}
+		for (Long ingredientId : exclude) {
+			RoaringBitmap recipes = recipesByIngredient.get(ingredientId);
+			if (recipes != null && !matches.isEmpty()) {
+				matches.andNot(recipes);
+			}
+		}
+		return matches;
+	}
+
+	private static int shared(long[] first, long[] second) {
+		int shared = 0;
+		for (int i = 0, j = 0; i < first.length && j < second.length;) {
+			if (first[i] == second[j]) {
+				shared++;
+				i++;
+				j++;
+			} else if (first[i] < second[j]) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+		return shared;
+	}
+
+	private void setIngredientCount(int recipe, int count) {
+		if (count > Character.MAX_VALUE) {
+			throw new IllegalArgumentException(String.format("Recipe %d has more than %d ingredients", recipe,
+					(int) Character.MAX_VALUE));
+		}
+		if (recipe >= ingredientCounts.length) {
+			ingredientCounts = Arrays.copyOf(ingredientCounts, Math.max(recipe + 1, ingredientCounts.length * 2));
+		}
+		ingredientCounts[recipe] = (char) count;
+	}
+
+	private void removePostings(int recipe, long[] ingredients) {
+		if (ingredients == null) {
+			return;
+		}
+		for (long ingredientId : ingredients) {
+			RoaringBitmap recipes = recipesByIngredient.get(ingredientId);
+			if (recipes != null) {
+				recipes.remove(recipe);
+				if (recipes.isEmpty()) {
+					recipesByIngredient.remove(ingredientId);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A recipe that can be cooked with a pantry, with the number of its ingredients found in the
+	 * pantry.
+	 */
+	public static final class PantryMatch {
+
+		private final long recipeId;
+		private final int matchedIngredients;
+		private final int totalIngredients;
+
+		PantryMatch(long recipeId, int matchedIngredients, int totalIngredients) {
+			this.recipeId = recipeId;
+			this.matchedIngredients = matchedIngredients;
+			this.totalIngredients = totalIngredients;
+		}
+
+		public long getRecipeId() {
+			return recipeId;
+		}
+
+		public int getMatchedIngredients() {
+			return matchedIngredients;
+		}
+
+		public int getMissingIngredients() {
+			return totalIngredients - matchedIngredients;
+		}
+
+		public float getCoverage() {
+			return (float) matchedIngredients / totalIngredients;
+		}
+
+		boolean isWorseThan(PantryMatch other) {
+			return isWorseThan(other.recipeId, other.matchedIngredients, other.totalIngredients);
+		}
+
+		/**
+		 * Compares the coverage exactly, multiplying instead of dividing, then the number of missing
+		 * ingredients and then the recipe ID.
+		 */
+		boolean isWorseThan(long otherRecipeId, int otherMatched, int otherTotal) {
+			long coverage = (long) matchedIngredients * otherTotal;
+			long otherCoverage = (long) otherMatched * totalIngredients;
+			if (coverage != otherCoverage) {
+				return coverage < otherCoverage;
+			}
+			int missing = totalIngredients - matchedIngredients;
+			int otherMissing = otherTotal - otherMatched;
+			if (missing != otherMissing) {
+				return missing > otherMissing;
+			}
+			return recipeId > otherRecipeId;
+		}
+	}
+}
@@ -1,10 +1,18 @@
 package com.healthybites.service.recipe;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 
+import com.healthybites.api.CursorPage;
 import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.dtos.recipe.PantryRecipeResponseDto;
 import com.healthybites.dtos.recipe.RecipeRequestDto;
 import com.healthybites.dtos.recipe.RecipeResponseDto;
+import com.healthybites.dtos.recipe.ShoppingListRequestDto;
+import com.healthybites.dtos.recipe.ShoppingListResponseDto;
+import com.healthybites.dtos.recipe.SimilarRecipeResponseDto;
 //  Service interface for managing recipe operations.
 public interface RecipeService {
 
@@ -14,6 +22,14 @@ public interface RecipeService {
 	void deleteRecipe(Long recipeId);
 	List<IngredientResponseDto> getIngredientsForRecipe(Long recipeId);
 	List<RecipeResponseDto> getAllRecipesByUser(Long userId);
+	CursorPage<RecipeResponseDto> getAllRecipesByUser(Long userId, String after, Integer limit);
 	RecipeResponseDto getRecipeById(Long recipeId);
+	List<RecipeResponseDto> getRecipesByIds(Collection<Long> recipeIds);
+	List<RecipeResponseDto> getRecipesByCalories(float minCalories, float maxCalories, Integer limit);
+	List<PantryRecipeResponseDto> getRecipesForPantry(List<Long> pantry, Integer maxMissing, Integer limit);
+	List<SimilarRecipeResponseDto> getSimilarRecipes(Long recipeId, Integer limit);
+	ShoppingListResponseDto getShoppingList(ShoppingListRequestDto shoppingListRequest);
+	CursorPage<RecipeResponseDto> searchRecipesByIngredients(List<Long> include, List<Long> exclude, String after, Integer limit);
 	boolean addIngredientToRecipe(Long recipeId, Long ingredientId, float quantity);
+	void exportRecipes(Long userId, OutputStream output) throws IOException;
 }
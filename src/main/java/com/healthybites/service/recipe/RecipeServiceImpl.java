@@ -1,13 +1,40 @@
 package com.healthybites.service.recipe;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.healthybites.api.CursorPage;
 import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.dtos.recipe.PantryRecipeResponseDto;
+import com.healthybites.dtos.recipe.RecipeIngredientDto;
 import com.healthybites.dtos.recipe.RecipeRequestDto;
 import com.healthybites.dtos.recipe.RecipeResponseDto;
+import com.healthybites.dtos.recipe.ShoppingListRecipeDto;
+import com.healthybites.dtos.recipe.ShoppingListRequestDto;
+import com.healthybites.dtos.recipe.ShoppingListResponseDto;
+import com.healthybites.dtos.recipe.SimilarRecipeResponseDto;
 import com.healthybites.entity.IngredientEntity;
 import com.healthybites.entity.RecipeEntity;
 import com.healthybites.entity.RecipeIngredientEntity;
@@ -18,13 +45,18 @@ import com.healthybites.mappers.recipe.RecipeMapper;
 import com.healthybites.repositoy.IngredientRepository;
 import com.healthybites.repositoy.RecipeIngredientRepository;
 import com.healthybites.repositoy.RecipeRepository;
+import com.healthybites.repositoy.RecipeRepository.RecipeExportRow;
 import com.healthybites.repositoy.UserRepository;
+import com.healthybites.service.recipe.RecipeIngredientIndex.PantryMatch;
+import com.healthybites.service.sync.ChangeLog;
 
 @Service
 public class RecipeServiceImpl implements RecipeService {
 
 	private final static String RECIPE_NOT_FOUND = "Recipe with id %d not found";
 	private final static String INGREDIENT_NOT_FOUND = "Ingredient with id %d not found";
+	private final static int DEFAULT_SIMILAR_LIMIT = 10;
+	private final static int MAX_SIMILAR_LIMIT = 50;
 
 	@Autowired
 	private RecipeIngredientRepository recipeIngredientRepository;
@@ -44,6 +76,15 @@ public class RecipeServiceImpl implements RecipeService {
 	@Autowired
 	private IngredientMapper ingredientMapper;
 
+	@Autowired
+	private RecipeCatalog recipeCatalog;
+
+	@Autowired
+	private ChangeLog changeLog;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	/**
 	 * This method retrieves all recipes from the database and maps them to a list of
 	 * RecipeResponseDto objects.
@@ -51,13 +92,9 @@ public class RecipeServiceImpl implements RecipeService {
 	 * @return List<RecipeResponseDto> - A list of all recipes in the system.
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<RecipeResponseDto> getAllRecipes() {
-		return recipeRepository.findAll().stream().map(recipe -> {
-			RecipeResponseDto recipeDto = recipeMapper.toRecipeResponseDto(recipe);
-			List<IngredientResponseDto> ingredientes = getIngredientDtosByRecipe(recipe);
-			recipeDto.setIngredients(ingredientes);
-			return recipeDto;
-		}).toList();
+		return toRecipeResponseDtos(recipeRepository.findAll());
 	}
 
 	/**
@@ -68,15 +105,231 @@ public class RecipeServiceImpl implements RecipeService {
 	 * @return List<RecipeResponseDto> - A list of recipes for the specified user.
 	 */
 	@Override
+	@Transactional(readOnly = true)
 	public List<RecipeResponseDto> getAllRecipesByUser(Long userId) {
-		return recipeRepository.findByUserId(userId).stream().map(recipe -> {
-			RecipeResponseDto recipeDto = recipeMapper.toRecipeResponseDto(recipe);
-			List<IngredientResponseDto> ingredientes = getIngredientDtosByRecipe(recipe);
-			recipeDto.setIngredients(ingredientes);
-			return recipeDto;
-		}).toList();
+		return toRecipeResponseDtos(recipeRepository.findByUserId(userId));
+	}
+
+	/**
+	 * This method writes the recipes of a user, or of all users, with their ingredients as
+	 * newline-delimited JSON, one RecipeResponseDto per line. The rows are read through a database
+	 * cursor and every recipe is written as soon as its last row is read, so only one recipe is
+	 * held in memory whatever the number of recipes.
+	 * 
+	 * @param userId - The ID of the user whose recipes are exported, or null for all recipes.
+	 * @param output - The stream the recipes are written to. It is flushed but not closed.
+	 * @throws IOException - If the recipes cannot be written.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void exportRecipes(Long userId, OutputStream output) throws IOException {
+		ObjectWriter writer = objectMapper.writerFor(RecipeResponseDto.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		try (Stream<RecipeExportRow> rows = recipeRepository.streamForExport(userId);
+				JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.setRootValueSeparator(null);
+			RecipeResponseDto recipe = null;
+			for (RecipeExportRow row : (Iterable<RecipeExportRow>) rows::iterator) {
+				if (recipe == null || recipe.getId() != row.getRecipeId()) {
+					if (recipe != null) {
+						writeLine(writer, generator, recipe);
+					}
+					recipe = new RecipeResponseDto(row.getRecipeId(), row.getName(), row.getPreparation(),
+							row.getTotalCalories(), new ArrayList<>());
+				}
+				if (row.getIngredientId() != null) {
+					recipe.getIngredients().add(new IngredientResponseDto(row.getIngredientId(), row.getIngredientName(),
+							row.getQuantity(), row.getQuantity() * row.getQuantityCalories(), row.getIngredientActive(),
+							row.getIngredientCreationDate()));
+				}
+			}
+			if (recipe != null) {
+				writeLine(writer, generator, recipe);
+			}
+		}
+	}
+
+	/**
+	 * This method retrieves a page of recipes for a specific user using keyset pagination, ordered
+	 * by recipe ID.
+	 * 
+	 * @param userId - The ID of the user whose recipes are to be retrieved.
+	 * @param after  - The cursor returned by the previous page, or null for the first page.
+	 * @param limit  - The maximum number of recipes in the page.
+	 * @return CursorPage<RecipeResponseDto> - The page of recipes and the cursor of the next page.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPage<RecipeResponseDto> getAllRecipesByUser(Long userId, String after, Integer limit) {
+		int pageSize = CursorPage.normalizeLimit(limit);
+		List<RecipeEntity> rows = recipeRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId,
+				CursorPage.decodeCursor(after), Limit.of(pageSize + 1));
+		return CursorPage.of(rows, pageSize, RecipeEntity::getId, this::toRecipeResponseDtos);
 	}
 	
+	/**
+	 * This method retrieves the recipes whose total calories are within a range, ordered by total
+	 * calories, using the stored totals instead of recomputing them.
+	 * 
+	 * @param minCalories - The minimum total calories, inclusive.
+	 * @param maxCalories - The maximum total calories, inclusive.
+	 * @param limit       - The maximum number of recipes to return.
+	 * @return List<RecipeResponseDto> - The recipes within the range.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<RecipeResponseDto> getRecipesByCalories(float minCalories, float maxCalories, Integer limit) {
+		return toRecipeResponseDtos(recipeRepository.findByTotalCaloriesBetweenOrderByTotalCaloriesAsc(minCalories,
+				maxCalories, Limit.of(CursorPage.normalizeLimit(limit))));
+	}
+
+	/**
+	 * This method retrieves a page of the recipes that contain all the included ingredients and
+	 * none of the excluded ones, ordered by recipe ID. The matching recipes are found in the
+	 * in-memory ingredient index and only the recipes of the page are read from the database. The
+	 * next cursor follows the IDs of the index, so a recipe missing from the database does not end
+	 * the search early.
+	 * 
+	 * @param include - The IDs of the ingredients the recipes must contain, may be null.
+	 * @param exclude - The IDs of the ingredients the recipes must not contain, may be null.
+	 * @param after   - The cursor returned by the previous page, or null for the first page.
+	 * @param limit   - The maximum number of recipes in the page.
+	 * @return CursorPage<RecipeResponseDto> - The page of recipes and the cursor of the next page.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPage<RecipeResponseDto> searchRecipesByIngredients(List<Long> include, List<Long> exclude,
+			String after, Integer limit) {
+		int pageSize = CursorPage.normalizeLimit(limit);
+		List<Long> recipeIds = recipeCatalog.searchByIngredients(include == null ? List.of() : include,
+				exclude == null ? List.of() : exclude, CursorPage.decodeCursor(after), pageSize + 1);
+		return CursorPage.of(recipeIds, pageSize, Function.identity(), pageIds -> toRecipeResponseDtos(
+				recipeRepository.findAllById(pageIds).stream()
+						.sorted(Comparator.comparing(RecipeEntity::getId))
+						.toList()));
+	}
+
+	/**
+	 * This method retrieves the recipes that can be cooked with the ingredients of a pantry, missing
+	 * at most the given number of ingredients, ranked by the fraction of their ingredients found in
+	 * the pantry. The matching recipes are found in the in-memory ingredient index and only the
+	 * returned recipes are read from the database.
+	 * 
+	 * @param pantry     - The IDs of the ingredients of the pantry, may be null.
+	 * @param maxMissing - The maximum number of missing ingredients, 0 by default.
+	 * @param limit      - The maximum number of recipes to return.
+	 * @return List<PantryRecipeResponseDto> - The matching recipes with their missing ingredients.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<PantryRecipeResponseDto> getRecipesForPantry(List<Long> pantry, Integer maxMissing, Integer limit) {
+		if (pantry == null || pantry.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<PantryMatch> matches = recipeCatalog.matchPantry(pantry,
+				maxMissing == null ? 0 : Math.max(maxMissing, 0), CursorPage.normalizeLimit(limit));
+		if (matches.isEmpty()) {
+			return Collections.emptyList();
+		}
+		Map<Long, RecipeResponseDto> recipesById = toRecipeResponseDtos(recipeRepository.findAllById(
+				matches.stream().map(PantryMatch::getRecipeId).toList())).stream()
+				.collect(Collectors.toMap(RecipeResponseDto::getId, Function.identity()));
+
+		Set<Long> available = Set.copyOf(pantry);
+		return matches.stream()
+				.filter(match -> recipesById.containsKey(match.getRecipeId()))
+				.map(match -> {
+					RecipeResponseDto recipe = recipesById.get(match.getRecipeId());
+					List<IngredientResponseDto> missing = recipe.getIngredients().stream()
+							.filter(ingredient -> !available.contains(ingredient.getId()))
+							.toList();
+					return new PantryRecipeResponseDto(recipe, match.getCoverage(), missing);
+				})
+				.toList();
+	}
+
+	/**
+	 * This method retrieves the recipes whose ingredients are most similar to those of a recipe,
+	 * measured with the Jaccard similarity of their ingredient sets. The similar recipes are found
+	 * in the in-memory MinHash index and only the returned recipes are read from the database.
+	 * 
+	 * @param recipeId - The ID of the recipe.
+	 * @param limit    - The maximum number of recipes to return, 10 by default and at most 50.
+	 * @return List<SimilarRecipeResponseDto> - The similar recipes, most similar first.
+	 * @throws ResourceNotFoundException - If the recipe does not exist.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<SimilarRecipeResponseDto> getSimilarRecipes(Long recipeId, Integer limit) {
+		validateAndGetRecipe(recipeId);
+		int size = limit == null || limit <= 0 ? DEFAULT_SIMILAR_LIMIT : Math.min(limit, MAX_SIMILAR_LIMIT);
+		Map<Long, Double> similarities = recipeCatalog.findSimilar(recipeId, size);
+		if (similarities.isEmpty()) {
+			return Collections.emptyList();
+		}
+		Map<Long, RecipeResponseDto> recipesById = toRecipeResponseDtos(recipeRepository.findAllById(
+				similarities.keySet())).stream()
+				.collect(Collectors.toMap(RecipeResponseDto::getId, Function.identity()));
+		return similarities.entrySet().stream()
+				.filter(entry -> recipesById.containsKey(entry.getKey()))
+				.map(entry -> new SimilarRecipeResponseDto(recipesById.get(entry.getKey()), entry.getValue()))
+				.toList();
+	}
+
+	/**
+	 * This method builds the shopping list of a set of recipes, adding up the quantity of every
+	 * ingredient multiplied by the servings of each recipe. The ingredients of all the recipes are
+	 * read with a single query and summed by ingredient ID without boxing, so the number of
+	 * statements does not depend on the number of recipes. A recipe listed several times counts
+	 * with the sum of its servings.
+	 * 
+	 * @param shoppingListRequest - The recipes and their servings.
+	 * @return ShoppingListResponseDto - The ingredients ordered by name, with their total quantity
+	 *         and calories, and the calories of the whole list.
+	 * @throws ResourceNotFoundException - If any of the recipes does not exist.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public ShoppingListResponseDto getShoppingList(ShoppingListRequestDto shoppingListRequest) {
+		List<ShoppingListRecipeDto> recipes = shoppingListRequest.getRecipes();
+		LongFloatSums servings = new LongFloatSums(recipes.size());
+		recipes.forEach(recipe -> servings.add(recipe.getRecipeId(), recipe.getServings()));
+		List<Long> recipeIds = new ArrayList<>(servings.size());
+		for (int i = 0; i < servings.size(); i++) {
+			recipeIds.add(servings.keyAt(i));
+		}
+
+		Set<Long> existing = Set.copyOf(recipeRepository.findIdsByIdIn(recipeIds));
+		for (Long recipeId : recipeIds) {
+			if (!existing.contains(recipeId)) {
+				throw new ResourceNotFoundException(String.format(RECIPE_NOT_FOUND, recipeId));
+			}
+		}
+
+		List<RecipeIngredientEntity> rels = recipeIngredientRepository.findByRecipeIdInWithIngredient(recipeIds);
+		LongFloatSums quantities = new LongFloatSums(rels.size());
+		List<IngredientEntity> ingredients = new ArrayList<>();
+		for (RecipeIngredientEntity rel : rels) {
+			IngredientEntity ingredient = rel.getIngredient();
+			int index = quantities.add(ingredient.getId(), rel.getQuantity() * servings.get(rel.getRecipe().getId()));
+			if (index == ingredients.size()) {
+				ingredients.add(ingredient);
+			}
+		}
+
+		List<IngredientResponseDto> items = new ArrayList<>(ingredients.size());
+		float totalCalories = 0;
+		for (int i = 0; i < ingredients.size(); i++) {
+			IngredientResponseDto item = toIngredientResponseDto(ingredients.get(i), quantities.sumAt(i));
+			totalCalories += item.getQuantityCalories();
+			items.add(item);
+		}
+		items.sort(Comparator.comparing(IngredientResponseDto::getName, String.CASE_INSENSITIVE_ORDER)
+				.thenComparingLong(IngredientResponseDto::getId));
+		return new ShoppingListResponseDto(items, totalCalories);
+	}
+
 	/**
 	 * This method retrieves a recipe by its ID from the database and maps it to a RecipeResponseDto
 	 * object.
@@ -93,12 +346,33 @@ public class RecipeServiceImpl implements RecipeService {
 	}
 
 	/**
-	 * This method creates a new recipe in the database and maps it to a RecipeResponseDto object.
+	 * This method retrieves several recipes by their IDs with their ingredients, using one query for
+	 * the recipes and one for all their ingredients. Missing IDs are ignored.
 	 * 
+	 * @param recipeIds - The IDs of the recipes to be retrieved.
+	 * @return List<RecipeResponseDto> - The recipes found, ordered by ID.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<RecipeResponseDto> getRecipesByIds(Collection<Long> recipeIds) {
+		if (recipeIds.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return toRecipeResponseDtos(recipeRepository.findAllById(recipeIds).stream()
+				.sorted(Comparator.comparing(RecipeEntity::getId))
+				.toList());
+	}
+
+	/**
+	 * This method creates a new recipe in the database and maps it to a RecipeResponseDto object.
+	 * The recipe and all its ingredients are written in a single transaction, together with the
+	 * total calories of the recipe.
+	 *
 	 * @param recipeDto - The request DTO containing the details of the recipe to be created.
 	 * @return RecipeResponseDto - The created recipe as a response DTO.
 	 */
 	@Override
+	@Transactional
 	public RecipeResponseDto createRecipe(RecipeRequestDto recipeDto) {
 		if (recipeRepository.existsByName(recipeDto.getName())) {
 			throw new com.healthybites.exception.Exception(String.format("Ya existe una receta con el nombre %s", recipeDto.getName()));
@@ -106,18 +380,19 @@ public class RecipeServiceImpl implements RecipeService {
 		UserEntity user = validateAndGetUser(recipeDto.getUserId());
 		RecipeEntity toSave = recipeMapper.toRecipe(recipeDto);
 		toSave.setUser(user);
+
+		Map<Long, Float> quantitiesByIngredient = toQuantitiesByIngredient(recipeDto.getIngredients());
+		Map<Long, IngredientEntity> ingredientsById = validateAndGetIngredients(quantitiesByIngredient.keySet());
+		List<IngredientResponseDto> ingredients = toIngredientResponseDtos(quantitiesByIngredient, ingredientsById);
+		toSave.setTotalCalories(sumCalories(ingredients));
+
 		RecipeEntity saved = recipeRepository.save(toSave);
-		if (recipeDto.getIngredients() != null) {
-			recipeDto.getIngredients().forEach(recipeIngredientDto -> {
-				IngredientEntity ingredient = validateAndGetIngredient(recipeIngredientDto.getIngredientId());
-				RecipeIngredientEntity saveRelationRecipeIngredient = new RecipeIngredientEntity(saved, ingredient,
-						recipeIngredientDto.getQuantity());
-				
-				recipeIngredientRepository.save(saveRelationRecipeIngredient);
-			});
-		}
+		recipeIngredientRepository.batchInsert(saved.getId(), quantitiesByIngredient);
+		changeLog.recipeChanged(saved.getId(), user.getId());
+		List<Long> ingredientIds = List.copyOf(quantitiesByIngredient.keySet());
+		afterCommit(() -> recipeCatalog.recipeChanged(saved.getId(), ingredientIds));
 		RecipeResponseDto response = recipeMapper.toRecipeResponseDto(saved);
-		response.setIngredients(getIngredientDtosByRecipe(saved));
+		response.setIngredients(ingredients);
 		return response;
 	}
 
@@ -141,65 +416,93 @@ public class RecipeServiceImpl implements RecipeService {
 	 * @param recipeId - The ID of the recipe to be deleted.
 	 */
 	@Override
+	@Transactional
 	public void deleteRecipe(Long recipeId) {
-		validateAndGetRecipe(recipeId);
+		RecipeEntity recipe = validateAndGetRecipe(recipeId);
 		recipeIngredientRepository.deleteByRecipeId(recipeId);
 		recipeRepository.deleteById(recipeId);
+		changeLog.recipeDeleted(recipeId, recipe.getUser().getId());
+		afterCommit(() -> recipeCatalog.recipeDeleted(recipeId));
 	}
 
 	/**
 	 * This method updates an existing recipe in the database and maps it to a RecipeResponseDto object.
+	 * The recipe and all its ingredients are written in a single transaction, and only the
+	 * ingredients that changed are inserted, updated or deleted. The total calories of the recipe
+	 * are updated accordingly.
 	 * 
 	 * @param recipeId   - The ID of the recipe to be updated.
 	 * @param dto        - The request DTO containing the updated details of the recipe.
 	 * @return RecipeResponseDto - The updated recipe as a response DTO.
 	 */
 	@Override
+	@Transactional
 	public RecipeResponseDto updateRecipe(Long recipeId, RecipeRequestDto dto) {
 		RecipeEntity recipe = validateAndGetRecipe(recipeId);
+		List<IngredientResponseDto> ingredients = reconcileIngredients(recipe, dto.getIngredients());
 		recipe.setName(dto.getName());
 		recipe.setPreparation(dto.getPreparation());
+		recipe.setTotalCalories(sumCalories(ingredients));
 		RecipeEntity updated = recipeRepository.save(recipe);
+		changeLog.recipeChanged(recipeId, updated.getUser().getId());
+		List<Long> ingredientIds = ingredients.stream().map(IngredientResponseDto::getId).toList();
+		afterCommit(() -> recipeCatalog.recipeChanged(recipeId, ingredientIds));
 
-		recipeIngredientRepository.deleteByRecipeId(recipeId);
-		if (dto.getIngredients() != null) {
-			dto.getIngredients().forEach(recipeIngredientDto -> {
-				IngredientEntity ingredient = validateAndGetIngredient(recipeIngredientDto.getIngredientId());
-				RecipeIngredientEntity relation = new RecipeIngredientEntity(updated, ingredient,
-						recipeIngredientDto.getQuantity());
-				recipeIngredientRepository.save(relation);
-			});
-		}
 		RecipeResponseDto response = recipeMapper.toRecipeResponseDto(updated);
-		response.setIngredients(getIngredientDtosByRecipe(updated));
+		response.setIngredients(ingredients);
 		return response;
 	}
 
 	/**
-	 * This method adds an ingredient to a recipe by creating a new relation in the database.
+	 * This method adds an ingredient to a recipe by creating a new relation in the database and
+	 * refreshes the total calories of the recipe, in the same transaction.
 	 * 
 	 * @param recipeId    - The ID of the recipe to which the ingredient is to be added.
 	 * @param ingredientId - The ID of the ingredient to be added.
 	 * @param quantity     - The quantity of the ingredient to be added.
-	 * @return boolean - true if the ingredient was added successfully, false otherwise.
+	 * @return boolean - true once the ingredient is added.
+	 * @throws ResourceNotFoundException - If the recipe or the ingredient does not exist.
 	 */
 	@Override
+	@Transactional
 	public boolean addIngredientToRecipe(Long recipeId, Long ingredientId, float quantity) {
-		try {
-			RecipeEntity recipe = validateAndGetRecipe(recipeId);
-			IngredientEntity ingredient = validateAndGetIngredient(ingredientId);
-			RecipeIngredientEntity relation = new RecipeIngredientEntity(recipe, ingredient, quantity);
-			recipeIngredientRepository.save(relation);
-			return true;
-			
-		} catch (Exception e) {
-			e.printStackTrace();
-			return false;
-		}
+		RecipeEntity recipe = validateAndGetRecipe(recipeId);
+		IngredientEntity ingredient = validateAndGetIngredient(ingredientId);
+		RecipeIngredientEntity relation = new RecipeIngredientEntity(recipe, ingredient, quantity);
+		recipeIngredientRepository.save(relation);
+		recipeRepository.refreshTotalCalories(List.of(recipeId));
+		changeLog.recipeChanged(recipeId, recipe.getUser().getId());
+		afterCommit(() -> recipeCatalog.ingredientAdded(recipeId, ingredientId));
+		return true;
 	}
 
 	// helpers
 
+	private static void writeLine(ObjectWriter writer, JsonGenerator generator, RecipeResponseDto recipe) throws IOException {
+		writer.writeValue(generator, recipe);
+		generator.writeRaw('\n');
+	}
+
+	/**
+	 * This method runs an update of the in-memory recipe indexes once the current transaction
+	 * commits, so the indexes never see changes that are rolled back. Without a transaction the
+	 * update runs immediately.
+	 *
+	 * @param update - The update of the indexes.
+	 */
+	private void afterCommit(Runnable update) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					update.run();
+				}
+			});
+		} else {
+			update.run();
+		}
+	}
+
 	/**
 	 * This method validates and retrieves a user by its ID from the database.
 	 * 
@@ -233,32 +536,179 @@ public class RecipeServiceImpl implements RecipeService {
 				.orElseThrow(() -> new ResourceNotFoundException(String.format(INGREDIENT_NOT_FOUND, ingredientId)));
 	}
 	
+	/**
+	 * This method compares the stored ingredients of a recipe with the requested ones and writes
+	 * only the differences: new ingredients are inserted, changed quantities are updated and
+	 * removed ingredients are deleted. Nothing is written when the ingredients are unchanged.
+	 *
+	 * @param recipe      - The recipe the ingredients belong to.
+	 * @param ingredients - The requested ingredients and quantities of the recipe, may be null.
+	 * @return List<IngredientResponseDto> - The ingredients of the recipe after the update.
+	 * @throws ResourceNotFoundException - If any of the new ingredients does not exist.
+	 */
+	private List<IngredientResponseDto> reconcileIngredients(RecipeEntity recipe, List<RecipeIngredientDto> ingredients) {
+		Map<Long, Float> requested = toQuantitiesByIngredient(ingredients);
+		Map<Long, RecipeIngredientEntity> stored = recipeIngredientRepository
+				.findByRecipeIdInWithIngredient(List.of(recipe.getId())).stream()
+				.collect(Collectors.toMap(rel -> rel.getIngredient().getId(), Function.identity()));
+
+		List<Long> toDelete = stored.keySet().stream().filter(id -> !requested.containsKey(id)).toList();
+		Map<Long, Float> toInsert = new LinkedHashMap<>();
+		Map<Long, Float> toUpdate = new LinkedHashMap<>();
+		requested.forEach((ingredientId, quantity) -> {
+			RecipeIngredientEntity current = stored.get(ingredientId);
+			if (current == null) {
+				toInsert.put(ingredientId, quantity);
+			} else if (Float.compare(current.getQuantity(), quantity) != 0) {
+				toUpdate.put(ingredientId, quantity);
+			}
+		});
+
+		Map<Long, IngredientEntity> ingredientsById = stored.values().stream()
+				.collect(Collectors.toMap(rel -> rel.getIngredient().getId(), RecipeIngredientEntity::getIngredient));
+		if (!toInsert.isEmpty()) {
+			ingredientsById.putAll(validateAndGetIngredients(toInsert.keySet()));
+		}
+
+		if (!toDelete.isEmpty()) {
+			recipeIngredientRepository.deleteByRecipeIdAndIngredientIdIn(recipe.getId(), toDelete);
+		}
+		recipeIngredientRepository.batchUpdateQuantities(recipe.getId(), toUpdate);
+		recipeIngredientRepository.batchInsert(recipe.getId(), toInsert);
+
+		return toIngredientResponseDtos(requested, ingredientsById);
+	}
+
+	/**
+	 * This method maps the quantities of the ingredients of a recipe to IngredientResponseDto
+	 * objects, keeping the order of the quantities.
+	 *
+	 * @param quantitiesByIngredient - The quantity of each ingredient, keyed by ingredient ID.
+	 * @param ingredientsById        - The ingredient entities, keyed by ID.
+	 * @return List<IngredientResponseDto> - The ingredients with their quantity and total calories.
+	 */
+	private List<IngredientResponseDto> toIngredientResponseDtos(Map<Long, Float> quantitiesByIngredient,
+			Map<Long, IngredientEntity> ingredientsById) {
+		return quantitiesByIngredient.entrySet().stream()
+				.map(entry -> toIngredientResponseDto(ingredientsById.get(entry.getKey()), entry.getValue()))
+				.toList();
+	}
+
+	/**
+	 * This method adds up the calories of the ingredients of a recipe.
+	 *
+	 * @param ingredients - The ingredients of the recipe with their total calories.
+	 * @return float - The total calories of the recipe.
+	 */
+	private float sumCalories(List<IngredientResponseDto> ingredients) {
+		float total = 0;
+		for (IngredientResponseDto ingredient : ingredients) {
+			total += ingredient.getQuantityCalories();
+		}
+		return total;
+	}
+
+	/**
+	 * This method collects the requested ingredients of a recipe into a map of quantities keyed by
+	 * ingredient ID, keeping the request order. If an ingredient is repeated, the last quantity is
+	 * kept.
+	 *
+	 * @param ingredients - The requested ingredients, may be null.
+	 * @return Map<Long, Float> - The quantity of each ingredient.
+	 */
+	private Map<Long, Float> toQuantitiesByIngredient(List<RecipeIngredientDto> ingredients) {
+		Map<Long, Float> quantitiesByIngredient = new LinkedHashMap<>();
+		if (ingredients != null) {
+			ingredients.forEach(dto -> quantitiesByIngredient.put(dto.getIngredientId(), dto.getQuantity()));
+		}
+		return quantitiesByIngredient;
+	}
+
+	/**
+	 * This method validates and retrieves a set of ingredients by their IDs with a single query.
+	 *
+	 * @param ingredientIds - The IDs of the ingredients to be retrieved.
+	 * @return Map<Long, IngredientEntity> - The ingredients keyed by ID.
+	 * @throws ResourceNotFoundException - If any of the ingredients does not exist.
+	 */
+	private Map<Long, IngredientEntity> validateAndGetIngredients(Collection<Long> ingredientIds) {
+		Map<Long, IngredientEntity> ingredientsById = ingredientRepository.findAllById(ingredientIds).stream()
+				.collect(Collectors.toMap(IngredientEntity::getId, Function.identity()));
+		ingredientIds.stream()
+				.filter(ingredientId -> !ingredientsById.containsKey(ingredientId))
+				.findFirst()
+				.ifPresent(ingredientId -> {
+					throw new ResourceNotFoundException(String.format(INGREDIENT_NOT_FOUND, ingredientId));
+				});
+		return ingredientsById;
+	}
+
 	/**
 	 * This method retrieves all ingredients for a specific recipe from the database and maps them to
 	 * a list of IngredientResponseDto objects.
-	 * 
+	 *
 	 * @param recipe - The recipe whose ingredients are to be retrieved.
 	 * @return List<IngredientResponseDto> - A list of ingredients for the specified recipe.
 	 */
 	private List<IngredientResponseDto> getIngredientDtosByRecipe(RecipeEntity recipe) {
-	    List<RecipeIngredientEntity> relations = recipeIngredientRepository.findByRecipeId(recipe.getId());
-	    return relations.stream().map(rel -> {
-	        float quantity  = rel.getQuantity();                          
-	        float calories = rel.getIngredient().getQuantityCalories();  
-	        float total  = quantity * calories;                      
-
-	        return new IngredientResponseDto(
-	            rel.getIngredient().getId(),
-	            rel.getIngredient().getName(),
-	            quantity,         
-	            total,
-	            rel.getIngredient().isActive(),
-	            rel.getIngredient().getCreationDate()
-				
-	        );
-	    }).toList();
+		return recipeIngredientRepository.findByRecipeId(recipe.getId()).stream()
+				.map(this::toIngredientResponseDto).toList();
 	}
 
+	/**
+	 * This method maps a list of recipes to RecipeResponseDto objects, loading the ingredients of
+	 * every recipe with a single query instead of one query per recipe.
+	 * 
+	 * @param recipes - The recipes to be mapped.
+	 * @return List<RecipeResponseDto> - The recipes with their ingredients.
+	 */
+	private List<RecipeResponseDto> toRecipeResponseDtos(List<RecipeEntity> recipes) {
+		if (recipes.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<Long> recipeIds = recipes.stream().map(RecipeEntity::getId).toList();
+		Map<Long, List<IngredientResponseDto>> ingredientsByRecipe = recipeIngredientRepository
+				.findByRecipeIdInWithIngredient(recipeIds).stream()
+				.collect(Collectors.groupingBy(rel -> rel.getRecipe().getId(),
+						Collectors.mapping(this::toIngredientResponseDto, Collectors.toList())));
 
+		return recipes.stream().map(recipe -> {
+			RecipeResponseDto recipeDto = recipeMapper.toRecipeResponseDto(recipe);
+			recipeDto.setIngredients(ingredientsByRecipe.getOrDefault(recipe.getId(), Collections.emptyList()));
+			return recipeDto;
+		}).toList();
+	}
+
+	/**
+	 * This method maps a recipe-ingredient relation to an IngredientResponseDto, computing the
+	 * calories for the quantity used in the recipe.
+	 * 
+	 * @param rel - The recipe-ingredient relation.
+	 * @return IngredientResponseDto - The ingredient with its quantity and total calories.
+	 */
+	private IngredientResponseDto toIngredientResponseDto(RecipeIngredientEntity rel) {
+		return toIngredientResponseDto(rel.getIngredient(), rel.getQuantity());
+	}
+
+	/**
+	 * This method maps an ingredient used in a recipe to an IngredientResponseDto, computing the
+	 * calories for the given quantity.
+	 *
+	 * @param ingredient - The ingredient.
+	 * @param quantity   - The quantity of the ingredient used in the recipe.
+	 * @return IngredientResponseDto - The ingredient with its quantity and total calories.
+	 */
+	private IngredientResponseDto toIngredientResponseDto(IngredientEntity ingredient, float quantity) {
+		float calories = ingredient.getQuantityCalories();
+		float total = quantity * calories;
+
+		return new IngredientResponseDto(
+				ingredient.getId(),
+				ingredient.getName(),
+				quantity,
+				total,
+				ingredient.isActive(),
+				ingredient.getCreationDate());
+	}
 
 }
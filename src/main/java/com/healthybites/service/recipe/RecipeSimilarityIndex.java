@@ -0,0 +1,328 @@
+package com.healthybites.service.recipe;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * RecipeSimilarityIndex
+ * Locality-sensitive hashing of the ingredient sets of the recipes, used to find recipes with a
+ * high Jaccard similarity without comparing every pair. Every recipe gets a MinHash signature of
+ * 30 values, the minimum of 30 different hash functions over its ingredient IDs; two recipes share
+ * each value with a probability equal to their Jaccard similarity. The signature is split into 15
+ * bands of 2 values and a recipe is put in one bucket per band, so two recipes share at least one
+ * bucket with a probability of 1 - (1 - J^2)^15: above 0.98 for a similarity of 0.5 and below 0.15
+ * for a similarity of 0.1. The candidates are meant to be ranked by their exact similarity.
+ *
+ * Signatures are kept in a single array indexed by recipe ID. The buckets of a band are slots of a
+ * hash table and the recipes of a slot are chained through arrays indexed by recipe ID, so adding
+ * or removing a recipe is a constant number of array writes and the index needs no object per
+ * recipe or per bucket. Recipes without ingredients are not indexed.
+ *
+ * Recipe IDs must fit in an int. The index is updated in place, one recipe at a time, and is safe
+ * for concurrent use.
+ */
+public final class RecipeSimilarityIndex {
+
+	public static final int BANDS = 15;
+	public static final int ROWS = 2;
+
+	private static final int HASHES = BANDS * ROWS;
+	private static final int NONE = -1;
+	private static final int MAX_BUCKET_SCAN = 1000;
+	private static final int[] NO_CANDIDATES = new int[0];
+	private static final long[] MULTIPLIERS = new long[HASHES];
+	private static final long[] INCREMENTS = new long[HASHES];
+
+	static {
+		SplittableRandom random = new SplittableRandom(0x5EED);
+		for (int i = 0; i < HASHES; i++) {
+			MULTIPLIERS[i] = random.nextLong() | 1;
+			INCREMENTS[i] = random.nextLong();
+		}
+	}
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final BitSet indexed = new BitSet();
+	private final int[][] heads = new int[BANDS][];
+	private final int[][] next = new int[BANDS][];
+	private final int[][] previous = new int[BANDS][];
+
+	private int capacity;
+	private int slotMask;
+	private int[] signatures = new int[0];
+
+	public RecipeSimilarityIndex() {
+		clear();
+	}
+
+	/**
+	 * This method removes every recipe from the index.
+	 */
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			indexed.clear();
+			capacity = 0;
+			signatures = new int[0];
+			for (int band = 0; band < BANDS; band++) {
+				next[band] = new int[0];
+				previous[band] = new int[0];
+			}
+			resizeSlots(16);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This method replaces the content of the index with the given recipes. The signatures are
+	 * computed in parallel, and then every band is filled in parallel.
+	 *
+	 * @param recipeIds   - The IDs of the recipes.
+	 * @param ingredients - The sorted ingredient IDs of every recipe, in the same order.
+	 */
+	public void reset(int[] recipeIds, long[][] ingredients) {
+		int maxRecipeId = Arrays.stream(recipeIds).max().orElse(0);
+		lock.writeLock().lock();
+		try {
+			clear();
+			ensureCapacity(maxRecipeId + 1);
+			IntStream.range(0, recipeIds.length).parallel()
+					.filter(i -> ingredients[i].length > 0)
+					.forEach(i -> computeSignature(ingredients[i], recipeIds[i] * HASHES));
+			for (int i = 0; i < recipeIds.length; i++) {
+				if (ingredients[i].length > 0) {
+					indexed.set(recipeIds[i]);
+				}
+			}
+			IntStream.range(0, BANDS).parallel()
+					.forEach(band -> indexed.stream().forEach(recipe -> link(band, recipe)));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This method adds a recipe to the index, replacing its previous signature if it was already
+	 * indexed.
+	 *
+	 * @param recipeId    - The ID of the recipe.
+	 * @param ingredients - The ingredient IDs of the recipe.
+	 */
+	public void put(long recipeId, long[] ingredients) {
+		int recipe = Math.toIntExact(recipeId);
+		lock.writeLock().lock();
+		try {
+			unlinkAll(recipe);
+			if (ingredients.length == 0) {
+				return;
+			}
+			ensureCapacity(recipe + 1);
+			computeSignature(ingredients, recipe * HASHES);
+			indexed.set(recipe);
+			for (int band = 0; band < BANDS; band++) {
+				link(band, recipe);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This method removes a recipe from the index.
+	 *
+	 * @param recipeId - The ID of the recipe to be removed.
+	 */
+	public void remove(long recipeId) {
+		lock.writeLock().lock();
+		try {
+			unlinkAll(Math.toIntExact(recipeId));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * This method finds the recipes that share at least one bucket with the given recipe, which
+	 * are likely to have a high Jaccard similarity with it. At most 1000 recipes are read from
+	 * each bucket.
+	 *
+	 * @param recipeId - The ID of the recipe.
+	 * @return int[] - The IDs of the candidate recipes in ascending order, without the recipe itself.
+	 */
+	public int[] candidates(long recipeId) {
+		int recipe = Math.toIntExact(recipeId);
+		lock.readLock().lock();
+		try {
+			if (!indexed.get(recipe)) {
+				return NO_CANDIDATES;
+			}
+			int[] candidates = new int[64];
+			int count = 0;
+			for (int band = 0; band < BANDS; band++) {
+				int scanned = 0;
+				for (int other = heads[band][slot(band, recipe)]; other != NONE
+						&& scanned < MAX_BUCKET_SCAN; other = next[band][other], scanned++) {
+					if (other != recipe && sameBand(band, recipe, other)) {
+						if (count == candidates.length) {
+							candidates = Arrays.copyOf(candidates, count * 2);
+						}
+						candidates[count++] = other;
+					}
+				}
+			}
+			return Arrays.stream(candidates, 0, count).sorted().distinct().toArray();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method estimates the Jaccard similarity of two indexed recipes as the fraction of equal
+	 * values of their signatures.
+	 *
+	 * @param recipeId      - The ID of a recipe.
+	 * @param otherRecipeId - The ID of the other recipe.
+	 * @return double - The estimated similarity, 0 if any of the recipes is not indexed.
+	 */
+	public double estimateSimilarity(long recipeId, long otherRecipeId) {
+		int recipe = Math.toIntExact(recipeId);
+		int other = Math.toIntExact(otherRecipeId);
+		lock.readLock().lock();
+		try {
+			if (!indexed.get(recipe) || !indexed.get(other)) {
+				return 0;
+			}
+			int equal = 0;
+			for (int i = 0; i < HASHES; i++) {
+				if (signatures[recipe * HASHES + i] == signatures[other * HASHES + i]) {
+					equal++;
+				}
+			}
+			return (double) equal / HASHES;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * This method returns the number of indexed recipes.
+	 *
+	 * @return int - The number of recipes.
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return indexed.cardinality();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// helpers
+
+	private void computeSignature(long[] ingredients, int offset) {
+		Arrays.fill(signatures, offset, offset + HASHES, Integer.MAX_VALUE);
+		for (long ingredientId : ingredients) {
+			long base = mix(ingredientId);
+			for (int i = 0; i < HASHES; i++) {
+				int hash = (int) ((base * MULTIPLIERS[i] + INCREMENTS[i]) >>> 33);
+				if (hash < signatures[offset + i]) {
+					signatures[offset + i] = hash;
+				}
+			}
+		}
+	}
+
+	private boolean sameBand(int band, int recipe, int other) {
+		int first = recipe * HASHES + band * ROWS;
+		int second = other * HASHES + band * ROWS;
+		for (int row = 0; row < ROWS; row++) {
+			if (signatures[first + row] != signatures[second + row]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int slot(int band, int recipe) {
+		long hash = band;
+		int offset = recipe * HASHES + band * ROWS;
+		for (int row = 0; row < ROWS; row++) {
+			hash = hash * 31 + signatures[offset + row];
+		}
+		return (int) mix(hash) & slotMask;
+	}
+
+	private void link(int band, int recipe) {
+		int slot = slot(band, recipe);
+		int head = heads[band][slot];
+		next[band][recipe] = head;
+		previous[band][recipe] = NONE;
+		if (head != NONE) {
+			previous[band][head] = recipe;
+		}
+		heads[band][slot] = recipe;
+	}
+
+	private void unlinkAll(int recipe) {
+		if (!indexed.get(recipe)) {
+			return;
+		}
+		for (int band = 0; band < BANDS; band++) {
+			int before = previous[band][recipe];
+			int after = next[band][recipe];
+			if (before == NONE) {
+				heads[band][slot(band, recipe)] = after;
+			} else {
+				next[band][before] = after;
+			}
+			if (after != NONE) {
+				previous[band][after] = before;
+			}
+		}
+		indexed.clear(recipe);
+	}
+
+	private void ensureCapacity(int minCapacity) {
+		if (minCapacity <= capacity) {
+			return;
+		}
+		int newCapacity = Math.max(minCapacity, Math.max(16, capacity * 2));
+		signatures = Arrays.copyOf(signatures, Math.multiplyExact(newCapacity, HASHES));
+		for (int band = 0; band < BANDS; band++) {
+			next[band] = Arrays.copyOf(next[band], newCapacity);
+			previous[band] = Arrays.copyOf(previous[band], newCapacity);
+		}
+		capacity = newCapacity;
+		if (heads[0].length < newCapacity) {
+			resizeSlots(Integer.highestOneBit(newCapacity - 1) << 1);
+			indexed.stream().forEach(recipe -> {
+				for (int band = 0; band < BANDS; band++) {
+					link(band, recipe);
+				}
+			});
+		}
+	}
+
+	private void resizeSlots(int slots) {
+		for (int band = 0; band < BANDS; band++) {
+			heads[band] = new int[slots];
+			Arrays.fill(heads[band], NONE);
+		}
+		slotMask = slots - 1;
+	}
+
+	private static long mix(long value) {
+		value ^= value >>> 33;
+		value *= 0xff51afd7ed558ccdL;
+		value ^= value >>> 33;
+		value *= 0xc4ceb9fe1a85ec53L;
+		value ^= value >>> 33;
+		return value;
+	}
+}
@@ -0,0 +1,116 @@
+package com.healthybites.service.sync;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.healthybites.api.ResourceVersions;
+import com.healthybites.entity.ChangeLogEntity;
+import com.healthybites.entity.ChangeLogEntity.EntityType;
+import com.healthybites.entity.ChangeLogEntity.Operation;
+import com.healthybites.repositoy.ChangeLogRepository;
+
+/**
+ * ChangeLog
+ * Writes the entries of the change log read by the synchronization of the clients. Every method
+ * joins the transaction of the caller, so an entry is committed or rolled back together with the
+ * change it describes. The versions used as entity tags are bumped as well, once the change
+ * commits.
+ */
+@Component
+public class ChangeLog {
+
+	@Autowired
+	private ChangeLogRepository changeLogRepository;
+
+	@Autowired
+	private ResourceVersions resourceVersions;
+
+	/**
+	 * This method records that a recipe was created or updated.
+	 *
+	 * @param recipeId - The ID of the recipe.
+	 * @param userId   - The ID of the owner of the recipe.
+	 */
+	@Transactional
+	public void recipeChanged(Long recipeId, Long userId) {
+		write(EntityType.RECIPE, recipeId, userId, Operation.UPSERT);
+		resourceVersions.recipeChanged(recipeId, userId);
+	}
+
+	/**
+	 * This method records that a recipe was deleted.
+	 *
+	 * @param recipeId - The ID of the recipe.
+	 * @param userId   - The ID of the owner of the recipe.
+	 */
+	@Transactional
+	public void recipeDeleted(Long recipeId, Long userId) {
+		write(EntityType.RECIPE, recipeId, userId, Operation.DELETE);
+		resourceVersions.recipeChanged(recipeId, userId);
+	}
+
+	/**
+	 * This method records that an ingredient was created or updated and, when its calories changed,
+	 * that every recipe using it was updated too.
+	 *
+	 * @param ingredientId    - The ID of the ingredient.
+	 * @param caloriesChanged - Whether the calories of the ingredient changed.
+	 */
+	@Transactional
+	public void ingredientChanged(Long ingredientId, boolean caloriesChanged) {
+		ChangeLogEntity entry = write(EntityType.INGREDIENT, ingredientId, null, Operation.UPSERT);
+		if (caloriesChanged) {
+			changeLogRepository.insertRecipeUpsertsByIngredientId(ingredientId, entry.getChangedAt());
+		}
+		resourceVersions.ingredientsChanged();
+	}
+
+	/**
+	 * This method records that several ingredients were created, with a single batch of entries.
+	 *
+	 * @param ingredientIds - The IDs of the new ingredients.
+	 */
+	@Transactional
+	public void ingredientsCreated(List<Long> ingredientIds) {
+		changeLogRepository.batchInsert(EntityType.INGREDIENT, ingredientIds, Operation.UPSERT, LocalDateTime.now());
+		resourceVersions.ingredientsChanged();
+	}
+
+	/**
+	 * This method records that an advice was created or updated.
+	 *
+	 * @param adviceId - The ID of the advice.
+	 */
+	@Transactional
+	public void adviceChanged(Long adviceId) {
+		write(EntityType.ADVICE, adviceId, null, Operation.UPSERT);
+		resourceVersions.advicesChanged();
+	}
+
+	/**
+	 * This method records that an advice was deleted.
+	 *
+	 * @param adviceId - The ID of the advice.
+	 */
+	@Transactional
+	public void adviceDeleted(Long adviceId) {
+		write(EntityType.ADVICE, adviceId, null, Operation.DELETE);
+		resourceVersions.advicesChanged();
+	}
+
+	// helpers
+
+	private ChangeLogEntity write(EntityType entityType, Long entityId, Long ownerId, Operation operation) {
+		return changeLogRepository.save(ChangeLogEntity.builder()
+				.entityType(entityType)
+				.entityId(entityId)
+				.ownerId(ownerId)
+				.operation(operation)
+				.changedAt(LocalDateTime.now())
+				.build());
+	}
+}
@@ -0,0 +1,9 @@
+package com.healthybites.service.sync;
+
+import com.healthybites.dtos.sync.SyncResponseDto;
+
+//  Service interface for the synchronization of the clients.
+public interface SyncService {
+
+	SyncResponseDto getChanges(String since, Long userId, Integer limit);
+}
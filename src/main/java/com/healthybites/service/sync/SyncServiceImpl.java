@@ -0,0 +1,164 @@
+package com.healthybites.service.sync;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.healthybites.api.CursorPage;
+import com.healthybites.dtos.advice.AdviceResponseDto;
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.dtos.recipe.RecipeResponseDto;
+import com.healthybites.dtos.sync.SyncResponseDto;
+import com.healthybites.entity.AdviceEntity;
+import com.healthybites.entity.ChangeLogEntity;
+import com.healthybites.entity.ChangeLogEntity.EntityType;
+import com.healthybites.entity.ChangeLogEntity.Operation;
+import com.healthybites.entity.IngredientEntity;
+import com.healthybites.mappers.advice.AdviceMapper;
+import com.healthybites.mappers.ingredient.IngredientMapper;
+import com.healthybites.repositoy.AdviceRepository;
+import com.healthybites.repositoy.ChangeLogRepository;
+import com.healthybites.repositoy.IngredientRepository;
+import com.healthybites.service.recipe.RecipeService;
+
+/**
+ * SyncServiceImpl
+ * Serves the changes of the change log to the clients, so a client that already has the data
+ * only downloads what changed since its last synchronization. The entries read are collapsed to
+ * the last operation of every recipe, ingredient and advice, and the current rows of the changed
+ * ones are loaded with one query per type.
+ *
+ * Entries are only served once they are older than a settle window, one second by default. The
+ * IDs of the entries are assigned when they are written but become visible when their
+ * transaction commits, so an entry written by a slow transaction can appear after entries with
+ * higher IDs; the window gives running transactions time to commit before a cursor moves past
+ * their entries.
+ */
+@Service
+public class SyncServiceImpl implements SyncService {
+
+	private final static int DEFAULT_SYNC_LIMIT = 500;
+	private final static int MAX_SYNC_LIMIT = 2000;
+
+	@Autowired
+	private ChangeLogRepository changeLogRepository;
+
+	@Autowired
+	private RecipeService recipeService;
+
+	@Autowired
+	private IngredientRepository ingredientRepository;
+
+	@Autowired
+	private IngredientMapper ingredientMapper;
+
+	@Autowired
+	private AdviceRepository adviceRepository;
+
+	@Autowired
+	private AdviceMapper adviceMapper;
+
+	@Value("${sync.settle-millis:1000}")
+	private long settleMillis;
+
+	/**
+	 * This method returns the changes written after a cursor. Without a cursor nothing is
+	 * returned but the cursor of the latest change: a new client reads it first, then downloads
+	 * all the data with the list endpoints and synchronizes from that cursor afterwards.
+	 * Recipes embed their ingredients; when only the name or the status of an ingredient changes,
+	 * the ingredient is returned but the recipes that use it are not.
+	 * 
+	 * @param since  - The cursor returned by the previous synchronization, or null for the cursor of
+	 *               the latest change.
+	 * @param userId - The ID of the user whose recipes are synchronized, or null for all recipes.
+	 * @param limit  - The maximum number of changes read, 500 by default and at most 2000.
+	 * @return SyncResponseDto - The changed rows, the IDs of the deleted ones and the cursor of the
+	 *         next synchronization, with hasMore set if more changes are waiting.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public SyncResponseDto getChanges(String since, Long userId, Integer limit) {
+		LocalDateTime changedBefore = LocalDateTime.now().minus(settleMillis, ChronoUnit.MILLIS);
+		if (since == null || since.isBlank()) {
+			long latest = changeLogRepository.findLastIdChangedBefore(changedBefore);
+			return new SyncResponseDto(CursorPage.encodeCursor(latest), false, Collections.emptyList(),
+					Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+		}
+
+		long after = CursorPage.decodeCursor(since);
+		int size = limit == null || limit <= 0 ? DEFAULT_SYNC_LIMIT : Math.min(limit, MAX_SYNC_LIMIT);
+		List<ChangeLogEntity> entries = changeLogRepository.findChangesAfter(after, changedBefore, userId,
+				Limit.of(size + 1));
+		boolean hasMore = entries.size() > size;
+		if (hasMore) {
+			entries = entries.subList(0, size);
+		}
+		long cursor = entries.isEmpty() ? after : entries.get(entries.size() - 1).getId();
+
+		Map<EntityType, Map<Long, Operation>> latestOperations = new EnumMap<>(EntityType.class);
+		for (EntityType entityType : EntityType.values()) {
+			latestOperations.put(entityType, new LinkedHashMap<>());
+		}
+		entries.forEach(entry -> latestOperations.get(entry.getEntityType()).put(entry.getEntityId(),
+				entry.getOperation()));
+
+		Map<Long, Operation> recipeOperations = latestOperations.get(EntityType.RECIPE);
+		List<Long> changedRecipeIds = idsWith(recipeOperations, Operation.UPSERT);
+		List<Long> deletedRecipeIds = new ArrayList<>(idsWith(recipeOperations, Operation.DELETE));
+		List<RecipeResponseDto> recipes = recipeService.getRecipesByIds(changedRecipeIds);
+		addMissing(changedRecipeIds, recipes.stream().map(RecipeResponseDto::getId).collect(Collectors.toSet()),
+				deletedRecipeIds);
+
+		List<IngredientResponseDto> ingredients = ingredientRepository.findAllById(
+				idsWith(latestOperations.get(EntityType.INGREDIENT), Operation.UPSERT)).stream()
+				.sorted(Comparator.comparing(IngredientEntity::getId))
+				.map(ingredientMapper::toIngredientResponseDto)
+				.toList();
+
+		Map<Long, Operation> adviceOperations = latestOperations.get(EntityType.ADVICE);
+		List<Long> changedAdviceIds = idsWith(adviceOperations, Operation.UPSERT);
+		List<Long> deletedAdviceIds = new ArrayList<>(idsWith(adviceOperations, Operation.DELETE));
+		List<AdviceResponseDto> advices = adviceRepository.findAllById(changedAdviceIds).stream()
+				.sorted(Comparator.comparing(AdviceEntity::getId))
+				.map(adviceMapper::toAdviceResponseDto)
+				.toList();
+		addMissing(changedAdviceIds, advices.stream().map(AdviceResponseDto::getId).collect(Collectors.toSet()),
+				deletedAdviceIds);
+
+		Collections.sort(deletedRecipeIds);
+		Collections.sort(deletedAdviceIds);
+		return new SyncResponseDto(CursorPage.encodeCursor(cursor), hasMore, recipes, ingredients, advices,
+				deletedRecipeIds, deletedAdviceIds);
+	}
+
+	// helpers
+
+	private static List<Long> idsWith(Map<Long, Operation> operations, Operation operation) {
+		return operations.entrySet().stream()
+				.filter(entry -> entry.getValue() == operation)
+				.map(Map.Entry::getKey)
+				.toList();
+	}
+
+	/**
+	 * Rows updated in this batch but deleted by a later entry, not read yet, are already gone and
+	 * are reported as deleted.
+	 */
+	private static void addMissing(List<Long> ids, Set<Long> found, List<Long> deletedIds) {
+		ids.stream().filter(id -> !found.contains(id)).forEach(deletedIds::add);
+	}
+}
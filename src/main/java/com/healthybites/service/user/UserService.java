@@ -2,6 +2,7 @@ package com.healthybites.service.user;
 
 import java.util.List;
 
+import com.healthybites.api.CursorPage;
 import com.healthybites.dtos.user.UserEntityRequestDto;
 import com.healthybites.dtos.user.UserEntityResponseDto;
 
@@ -10,6 +11,7 @@ public interface UserService {
 	
 	UserEntityResponseDto createUser(UserEntityRequestDto userRequestDto);
 	List<UserEntityResponseDto> getAllUsers();
+	CursorPage<UserEntityResponseDto> getAllUsers(String after, Integer limit);
 	UserEntityResponseDto getUserById(Long id);
 	UserEntityResponseDto updateUser(Long id, UserEntityRequestDto userRequestDto);
 	void deleteUser(Long id);
@@ -5,9 +5,15 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.healthybites.api.CursorPage;
+import com.healthybites.api.ResourceVersions;
 import com.healthybites.dtos.infouser.InfoUserRequestDto;
 import com.healthybites.dtos.user.UserEntityRequestDto;
 import com.healthybites.dtos.user.UserEntityResponseDto;
@@ -17,8 +23,13 @@ import com.healthybites.entity.UserEntity;
 import com.healthybites.exception.ResourceNotFoundException;
 import com.healthybites.mappers.infouser.InfoUserMapper;
 import com.healthybites.mappers.user.UserMapper;
+import com.healthybites.repositoy.RecipeIngredientRepository;
+import com.healthybites.repositoy.RecipeRepository;
 import com.healthybites.repositoy.RoleRepository;
 import com.healthybites.repositoy.UserRepository;
+import com.healthybites.service.recipe.RecipeCatalog;
+import com.healthybites.service.sync.ChangeLog;
+import com.healthybites.service.userDetails.UserDetailsCache;
 
 @Service
 public class UserServiceImpl implements UserService {
@@ -38,6 +49,24 @@ public class UserServiceImpl implements UserService {
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 	
+	@Autowired
+	private UserDetailsCache userDetailsCache;
+	
+	@Autowired
+	private ResourceVersions resourceVersions;
+	
+	@Autowired
+	private RecipeRepository recipeRepository;
+	
+	@Autowired
+	private RecipeIngredientRepository recipeIngredientRepository;
+	
+	@Autowired
+	private RecipeCatalog recipeCatalog;
+	
+	@Autowired
+	private ChangeLog changeLog;
+	
 	private static final String USER_NOT_FOUND = "User with id %d not found";
 	private static final String USER_NOT_FOUND_MSG = "User with email '%s' not found.";
 	private static final String ROLE_NOT_FOUND_MSG = "Role '%s' not found.";
@@ -93,6 +122,21 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
 	}
 
+	/**
+     * Retrieves a page of users using keyset pagination, ordered by ID.
+     * @param after cursor returned by the previous page, or null for the first page
+     * @param limit maximum number of users in the page
+     * @return page of user response DTOs and the cursor of the next page
+     */
+	@Override
+	public CursorPage<UserEntityResponseDto> getAllUsers(String after, Integer limit) {
+		int pageSize = CursorPage.normalizeLimit(limit);
+		List<UserEntity> rows = userRepository.findByIdGreaterThanOrderByIdAsc(CursorPage.decodeCursor(after),
+				Limit.of(pageSize + 1));
+		return CursorPage.of(rows, pageSize, UserEntity::getId,
+				page -> page.stream().map(userMapper::toUserResponseDto).collect(Collectors.toList()));
+	}
+
 	/**
      * Retrieves a user by their ID.
      * @param id user ID
@@ -108,6 +152,7 @@ public class UserServiceImpl implements UserService {
 	/**
      * Updates user fields including infoUser, if provided.
      * Password is re-encoded if updated.
+     * The cached principal of the user is evicted.
      * @param id user ID
      * @param userRequestDto DTO with updated user data
      * @return updated user response DTO
@@ -116,6 +161,7 @@ public class UserServiceImpl implements UserService {
 	@Override
 	public UserEntityResponseDto updateUser(Long id, UserEntityRequestDto userRequestDto) {
 		UserEntity userEntity = validateAndGetUser(id);
+		userDetailsCache.evict(userEntity.getEmail());
 		
 	    if (userRequestDto.getName() != null && !userRequestDto.getName().trim().isEmpty()) {
 	        userEntity.setName(userRequestDto.getName());
@@ -157,18 +203,29 @@ public class UserServiceImpl implements UserService {
 	     }
 	    
 	        UserEntity updatedUser = userRepository.save(userEntity);
+	        userDetailsCache.evict(updatedUser.getEmail());
 	        return userMapper.toUserResponseDto(updatedUser);
 	    }
 
 	/**
-     * Deletes a user by their ID.
+     * Deletes a user by their ID and evicts its cached principal.
+     * The recipes of the user are deleted with it, their ingredients in a single statement, and
+     * they are removed from the in-memory recipe indexes once the deletion commits. A tombstone of
+     * every recipe is written to the change log in the same transaction.
      * @param id user ID
      * @throws ResourceNotFoundException if user not found
      */
 	@Override
+	@Transactional
 	public void deleteUser(Long id) {
 		UserEntity userEntity = validateAndGetUser(id);
+		List<Long> recipeIds = recipeRepository.findIdsByUserId(id);
+		recipeIngredientRepository.deleteByRecipeUserId(id);
 		userRepository.delete(userEntity);
+		userDetailsCache.evict(userEntity.getEmail());
+		resourceVersions.userRecipesChanged(id);
+		recipeIds.forEach(recipeId -> changeLog.recipeDeleted(recipeId, id));
+		afterCommit(() -> recipeIds.forEach(recipeCatalog::recipeDeleted));
 	}
 
 	/**
@@ -183,4 +240,22 @@ public class UserServiceImpl implements UserService {
 		  return userMapper.toUserResponseDto(userEntity);
 	}
 
+	/**
+	 * Runs an update of the in-memory indexes once the current transaction commits, so the indexes
+	 * never see changes that are rolled back. Without a transaction the update runs immediately.
+	 * @param update the update of the indexes
+	 */
+	private void afterCommit(Runnable update) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					update.run();
+				}
+			});
+		} else {
+			update.run();
+		}
+	}
+
 }
@@ -0,0 +1,94 @@
+package com.healthybites.service.userDetails;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, time-limited cache of the principals loaded for authenticated requests.
+ * Avoids a users + role query on every request carrying a JWT. Entries expire after the
+ * configured TTL and are evicted explicitly when a user is updated or deleted.
+ */
+@Component
+public class UserDetailsCache {
+
+	private final long ttlMillis;
+	private final Map<String, CachedUserDetails> entries;
+
+	public UserDetailsCache(@Value("${security.user-cache.max-size:10000}") int maxSize,
+			@Value("${security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+		this.ttlMillis = ttlSeconds * 1000;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedUserDetails> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached principal for an email if it has not expired.
+	 * @param email the user email
+	 * @return the cached UserDetails, or null if absent or expired
+	 */
+	public UserDetails get(String email) {
+		String key = normalize(email);
+		synchronized (entries) {
+			CachedUserDetails cached = entries.get(key);
+			if (cached == null) {
+				return null;
+			}
+			if (cached.expiresAt() < System.currentTimeMillis()) {
+				entries.remove(key);
+				return null;
+			}
+			return cached.userDetails();
+		}
+	}
+
+	/**
+	 * Stores the principal loaded for an email.
+	 * @param email the user email
+	 * @param userDetails the loaded UserDetails
+	 */
+	public void put(String email, UserDetails userDetails) {
+		String key = normalize(email);
+		synchronized (entries) {
+			entries.put(key, new CachedUserDetails(userDetails, System.currentTimeMillis() + ttlMillis));
+		}
+	}
+
+	/**
+	 * Removes the cached principal of an email, used when the user changes.
+	 * @param email the user email
+	 */
+	public void evict(String email) {
+		if (email == null) {
+			return;
+		}
+		synchronized (entries) {
+			entries.remove(normalize(email));
+		}
+	}
+
+	/**
+	 * Removes every cached principal.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	private String normalize(String email) {
+		return email.toLowerCase();
+	}
+
+	private record CachedUserDetails(UserDetails userDetails, long expiresAt) {
+	}
+}
@@ -37,6 +37,9 @@ public class UserDetailsServiceImpl implements UserDetailsService {
 	@Autowired
 	JwtTokenProvider jwtTokenProvider;
 	
+	@Autowired
+	private UserDetailsCache userDetailsCache;
+	
 	/**
      * Maps a RoleEntity to a collection of GrantedAuthority for Spring Security.
      * @param role the RoleEntity object
@@ -69,6 +72,22 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         );
     }
 
+    /**
+     * Loads the UserDetails of an authenticated request, served from the principal cache
+     * when possible so the database is not queried on every request.
+     * @param email user email taken from a verified JWT
+     * @return UserDetails with email, password, status flags, and authorities
+     * @throws ResourceNotFoundException if user with the given email does not exist
+     */
+    public UserDetails loadCachedUserByUsername(String email) {
+    	UserDetails userDetails = userDetailsCache.get(email);
+    	if (userDetails == null) {
+    		userDetails = loadUserByUsername(email);
+    		userDetailsCache.put(email, userDetails);
+    	}
+    	return userDetails;
+    }
+
     /**
      * Authenticates a user by validating the email and password.
      * Throws BadCredentialsException if password does not match.
@@ -0,0 +1,68 @@
+package com.healthybites.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.healthybites.exception.InvalidCursorException;
+
+/**
+ * Checks the cursors, the page size limits and the limit + 1 detection of the next page.
+ */
+class CursorPageTests {
+
+	@Test
+	void cursorsRoundTripTheLastId() {
+		for (long id : new long[] { 1, 42, Long.MAX_VALUE }) {
+			assertEquals(id, CursorPage.decodeCursor(CursorPage.encodeCursor(id)));
+		}
+		assertEquals(0, CursorPage.decodeCursor(null));
+		assertEquals(0, CursorPage.decodeCursor(" "));
+	}
+
+	@Test
+	void malformedCursorsAreRejected() {
+		String notANumber = Base64.getUrlEncoder().encodeToString("abc".getBytes(StandardCharsets.UTF_8));
+
+		assertThrows(InvalidCursorException.class, () -> CursorPage.decodeCursor("%%%"));
+		assertThrows(InvalidCursorException.class, () -> CursorPage.decodeCursor(notANumber));
+	}
+
+	@Test
+	void theExtraRowTellsWhetherThereIsANextPage() {
+		CursorPage<String> full = CursorPage.of(List.of(1L, 2L, 3L), 2, Function.identity(), ids -> toStrings(ids));
+		assertEquals(List.of("1", "2"), full.getItems());
+		assertEquals(2, CursorPage.decodeCursor(full.getNextCursor()));
+
+		CursorPage<String> last = CursorPage.of(List.of(4L, 5L), 2, Function.identity(), ids -> toStrings(ids));
+		assertEquals(List.of("4", "5"), last.getItems());
+		assertNull(last.getNextCursor());
+
+		CursorPage<String> empty = CursorPage.of(List.<Long>of(), 2, Function.identity(), ids -> toStrings(ids));
+		assertEquals(List.of(), empty.getItems());
+		assertNull(empty.getNextCursor());
+	}
+
+	@Test
+	void pageSizesAreDefaultedAndCapped() {
+		assertEquals(CursorPage.DEFAULT_LIMIT, CursorPage.normalizeLimit(null));
+		assertEquals(CursorPage.DEFAULT_LIMIT, CursorPage.normalizeLimit(0));
+		assertEquals(CursorPage.DEFAULT_LIMIT, CursorPage.normalizeLimit(-5));
+		assertEquals(10, CursorPage.normalizeLimit(10));
+		assertEquals(200, CursorPage.normalizeLimit(200));
+		assertEquals(200, CursorPage.normalizeLimit(201));
+	}
+
+	// helpers
+
+	private static List<String> toStrings(List<Long> ids) {
+		return ids.stream().map(String::valueOf).toList();
+	}
+}
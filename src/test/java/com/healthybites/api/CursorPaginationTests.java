@@ -0,0 +1,128 @@
+package com.healthybites.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthybites.dtos.recipe.RecipeRequestDto;
+import com.healthybites.entity.UserEntity;
+import com.healthybites.repositoy.IngredientRepository;
+import com.healthybites.repositoy.UserRepository;
+import com.healthybites.service.recipe.RecipeService;
+import com.healthybites.support.TestFixtures;
+
+/**
+ * Walks the paginated list endpoints from cursor to cursor and checks the page size limits and
+ * the answer to a malformed cursor.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CursorPaginationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private RecipeService recipeService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private IngredientRepository ingredientRepository;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Test
+	void usersArePagedInIdOrderWithoutGapsOrRepeats() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			fixtures.user("page-user-" + i + "@email.com");
+		}
+		List<Long> expected = userRepository.findAll().stream().map(UserEntity::getId).sorted().toList();
+
+		List<Long> paged = new ArrayList<>();
+		String cursor = null;
+		do {
+			JsonNode page = getPage(get("/api/v1/users").param("limit", "2").param("after", cursor));
+			assertTrue(page.get("data").size() <= 2);
+			page.get("data").forEach(user -> paged.add(user.get("id").asLong()));
+			cursor = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+		} while (cursor != null);
+
+		assertEquals(expected, paged);
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void aFullLastPageHasNoNextCursor() throws Exception {
+		UserEntity owner = fixtures.user("page-recipes@email.com");
+		List<Long> recipeIds = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			recipeIds.add(recipeService.createRecipe(new RecipeRequestDto("Page " + i, "Mix", owner.getId(), List.of())).getId());
+		}
+		String uri = "/api/v1/recipes/user/" + owner.getId();
+
+		JsonNode first = getPage(get(uri).param("limit", "2"));
+		JsonNode second = getPage(get(uri).param("limit", "2").param("after", first.get("nextCursor").asText()));
+
+		assertEquals(recipeIds.subList(0, 2), ids(first));
+		assertEquals(recipeIds.subList(2, 4), ids(second));
+		assertFalse(second.has("nextCursor"));
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void pageSizesAreCappedAt200() throws Exception {
+		for (long i = ingredientRepository.count(); i <= CursorPage.MAX_LIMIT; i++) {
+			fixtures.ingredient("page ingredient " + i, 1f);
+		}
+
+		JsonNode page = getPage(get("/api/v1/ingredients").param("limit", "1000"));
+
+		assertEquals(CursorPage.MAX_LIMIT, page.get("data").size());
+		assertTrue(page.hasNonNull("nextCursor"));
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void malformedCursorsAreBadRequests() throws Exception {
+		mockMvc.perform(get("/api/v1/ingredients").param("after", "not-a-cursor"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.errors[0]").value("Invalid pagination cursor"));
+	}
+
+	// helpers
+
+	private JsonNode getPage(MockHttpServletRequestBuilder request) throws Exception {
+		String body = mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private static List<Long> ids(JsonNode page) {
+		List<Long> ids = new ArrayList<>();
+		page.get("data").forEach(item -> ids.add(item.get("id").asLong()));
+		return ids;
+	}
+}
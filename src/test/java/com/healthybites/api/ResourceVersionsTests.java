@@ -0,0 +1,66 @@
+package com.healthybites.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.healthybites.dtos.advice.AdviceRequestDto;
+import com.healthybites.dtos.ingredient.IngredientRequestDto;
+import com.healthybites.service.advice.AdviceService;
+import com.healthybites.service.ingredient.IngredientService;
+
+/**
+ * Checks that the entity tags change once a write commits, and only then.
+ */
+@SpringBootTest
+class ResourceVersionsTests {
+
+	@Autowired
+	private ResourceVersions resourceVersions;
+
+	@Autowired
+	private AdviceService adviceService;
+
+	@Autowired
+	private IngredientService ingredientService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void committedWritesChangeTheTagsOfTheirCollection() {
+		String advices = resourceVersions.advicesTag();
+		String ingredients = resourceVersions.ingredientsTag();
+		String recipe = resourceVersions.recipeTag(1);
+
+		adviceService.createAdvice(new AdviceRequestDto("Water", "Drink", LocalDateTime.now()));
+
+		assertNotEquals(advices, resourceVersions.advicesTag());
+		assertEquals(ingredients, resourceVersions.ingredientsTag());
+		assertEquals(recipe, resourceVersions.recipeTag(1));
+
+		ingredientService.createIngredient(new IngredientRequestDto("etag rice", 1.5f, LocalDateTime.now()));
+
+		assertNotEquals(ingredients, resourceVersions.ingredientsTag());
+		assertNotEquals(recipe, resourceVersions.recipeTag(1));
+	}
+
+	@Test
+	void rolledBackWritesKeepTheTags() {
+		String advices = resourceVersions.advicesTag();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			adviceService.createAdvice(new AdviceRequestDto("Salt", "Less", LocalDateTime.now()));
+			assertEquals(advices, resourceVersions.advicesTag());
+			status.setRollbackOnly();
+		});
+
+		assertEquals(advices, resourceVersions.advicesTag());
+	}
+}
@@ -0,0 +1,74 @@
+package com.healthybites.api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthybites.dtos.advice.AdviceRequestDto;
+import com.healthybites.service.advice.AdviceService;
+
+/**
+ * Checks that the cached advice list is served plain or gzip compressed with the same content,
+ * and that it is built again after a write.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser(roles = "USER")
+class SerializedResponseCacheTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AdviceService adviceService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void servesTheSameBytesPlainAndCompressedUntilAWrite() throws Exception {
+		adviceService.createAdvice(new AdviceRequestDto("Water", "Drink", LocalDateTime.now()));
+
+		byte[] compressed = mockMvc.perform(get("/api/v1/advices").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andReturn().getResponse().getContentAsByteArray();
+		byte[] plain = mockMvc.perform(get("/api/v1/advices").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andReturn().getResponse().getContentAsByteArray();
+		assertArrayEquals(plain, gunzip(compressed));
+
+		int advices = objectMapper.readTree(plain).get("data").size();
+		adviceService.createAdvice(new AdviceRequestDto("Salt", "Less", LocalDateTime.now()));
+
+		byte[] updated = mockMvc.perform(get("/api/v1/advices"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray();
+		assertEquals(advices + 1, objectMapper.readTree(updated).get("data").size());
+	}
+
+	// helpers
+
+	private static byte[] gunzip(byte[] bytes) throws IOException {
+		try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+			return input.readAllBytes();
+		}
+	}
+}
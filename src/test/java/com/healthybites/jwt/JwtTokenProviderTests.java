@@ -0,0 +1,126 @@
+package com.healthybites.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Date;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * Checks that verified tokens are served from the cache only while they are valid, and that the
+ * cache keeps the most recently used tokens.
+ */
+class JwtTokenProviderTests {
+
+	private static final String PRIVATE_KEY = "c2VjcmV0LWtleS1mb3ItaGVhbHRoeWJpdGVzLXRlc3RzLW9ubHktMzItYnl0ZXM=";
+
+	private JwtTokenProvider tokenProvider;
+
+	@BeforeEach
+	void setUp() {
+		tokenProvider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(tokenProvider, "privateKey", PRIVATE_KEY);
+		ReflectionTestUtils.setField(tokenProvider, "cacheMaxSize", 100);
+		tokenProvider.init();
+	}
+
+	@Test
+	void cachedTokensReturnTheSameClaims() {
+		String token = generateToken("cached@email.com");
+
+		Claims claims = tokenProvider.getVerifiedClaims(token);
+
+		assertSame(claims, tokenProvider.getVerifiedClaims(token));
+		assertEquals("cached@email.com", tokenProvider.getSubjectFromToken(token));
+		assertEquals("ROLE_USER", tokenProvider.getRoleFromToken(token));
+	}
+
+	@Test
+	void expiredTokensAreRejectedWhileCached() throws InterruptedException {
+		// the expiration of a JWT is in seconds, so the token expires within two seconds
+		String token = Jwts.builder()
+				.subject("expiring@email.com")
+				.expiration(new Date(System.currentTimeMillis() + 1000))
+				.signWith(signingKey(), Jwts.SIG.HS256)
+				.compact();
+		assertNotNull(tokenProvider.getVerifiedClaims(token));
+
+		Thread.sleep(2000);
+
+		assertThrows(ExpiredJwtException.class, () -> tokenProvider.getVerifiedClaims(token));
+	}
+
+	@Test
+	void tamperedTokensMissTheCacheAndFailVerification() {
+		String token = generateToken("victim@email.com");
+		String other = generateToken("attacker@email.com");
+		tokenProvider.getVerifiedClaims(token);
+
+		String[] parts = token.split("\\.");
+		String tampered = parts[0] + "." + other.split("\\.")[1] + "." + parts[2];
+
+		assertThrows(SignatureException.class, () -> tokenProvider.getVerifiedClaims(tampered));
+		assertEquals("victim@email.com", tokenProvider.getSubjectFromToken(token));
+	}
+
+	@Test
+	void leastRecentlyUsedTokensAreEvictedAtCapacity() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(2);
+		Claims first = claims("first");
+		Claims second = claims("second");
+		Claims third = claims("third");
+		cache.put("first", first);
+		cache.put("second", second);
+		cache.get("first");
+
+		cache.put("third", third);
+
+		assertSame(first, cache.get("first"));
+		assertNull(cache.get("second"));
+		assertSame(third, cache.get("third"));
+	}
+
+	@Test
+	void expiredClaimsAreDroppedAndZeroCapacityDisablesTheCache() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(2);
+		cache.put("expired", Jwts.claims().subject("expired").expiration(new Date(System.currentTimeMillis() - 1000)).build());
+		assertNull(cache.get("expired"));
+
+		VerifiedTokenCache disabled = new VerifiedTokenCache(0);
+		disabled.put("token", claims("token"));
+		assertNull(disabled.get("token"));
+	}
+
+	// helpers
+
+	private String generateToken(String username) {
+		return tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(username, null,
+				List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+	}
+
+	private static SecretKey signingKey() {
+		return Keys.hmacShaKeyFor(Decoders.BASE64.decode(PRIVATE_KEY));
+	}
+
+	private static Claims claims(String subject) {
+		return Jwts.claims().subject(subject).expiration(new Date(System.currentTimeMillis() + 60000)).build();
+	}
+}
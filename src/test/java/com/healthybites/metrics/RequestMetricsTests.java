@@ -0,0 +1,114 @@
+package com.healthybites.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.healthybites.dtos.ingredient.IngredientRequestDto;
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.dtos.recipe.RecipeIngredientDto;
+import com.healthybites.dtos.recipe.RecipeRequestDto;
+import com.healthybites.entity.UserEntity;
+import com.healthybites.metrics.RequestBreakdown.Phase;
+import com.healthybites.service.ingredient.IngredientService;
+import com.healthybites.service.recipe.RecipeService;
+import com.healthybites.support.TestFixtures;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Checks that the controller methods are timed with percentiles, that their requests are broken
+ * down in statements, mapping and serialization, and that both reach the Prometheus endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class RequestMetricsTests {
+
+	private static final String OWNER_EMAIL = "metrics@email.com";
+	private static final String USER_RECIPES_URI = "/api/v1/recipes/user/{userId}";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private RecipeService recipeService;
+
+	@Autowired
+	private IngredientService ingredientService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Test
+	@WithMockUser(username = OWNER_EMAIL, roles = "USER")
+	void requestsAreTimedAndBrokenDownPerEndpoint() throws Exception {
+		UserEntity owner = createOwner();
+		IngredientResponseDto oats = ingredientService.createIngredient(new IngredientRequestDto("metrics oats", 3.8f, LocalDateTime.now()));
+		recipeService.createRecipe(new RecipeRequestDto("Porridge", "Boil", owner.getId(),
+				List.of(new RecipeIngredientDto(oats.getId(), 50f))));
+
+		mockMvc.perform(get("/api/v1/recipes/user/" + owner.getId())).andExpect(status().isOk());
+
+		Timer requests = meterRegistry.find("http.server.requests").tag("uri", USER_RECIPES_URI).timer();
+		assertNotNull(requests);
+		assertEquals(3, requests.takeSnapshot().percentileValues().length);
+
+		DistributionSummary statements = meterRegistry.find(RequestBreakdownFilter.STATEMENTS_METRIC)
+				.tag("uri", USER_RECIPES_URI).summary();
+		assertNotNull(statements);
+		assertEquals(1, statements.count());
+		assertTrue(statements.max() > 0);
+		for (Phase phase : List.of(Phase.JDBC, Phase.MAPPING, Phase.SERIALIZATION)) {
+			Timer timer = meterRegistry.find(RequestBreakdownFilter.PHASE_METRIC)
+					.tags("uri", USER_RECIPES_URI, "phase", phase.tag()).timer();
+			assertNotNull(timer);
+			assertTrue(timer.totalTime(TimeUnit.NANOSECONDS) > 0, phase.tag());
+		}
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void prometheusPublishesTheRequestMetrics() throws Exception {
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+
+		String scrape = mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		assertTrue(scrape.contains("http_server_requests_seconds_bucket"));
+		assertTrue(scrape.contains("healthybites_request_phase_seconds_count"));
+		assertTrue(scrape.contains("healthybites_request_statements_count"));
+	}
+
+	@Test
+	@WithMockUser(roles = "USER")
+	void usersCannotReadTheMetrics() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+	}
+
+	// helpers
+
+	private UserEntity createOwner() {
+		return fixtures.user(OWNER_EMAIL);
+	}
+}
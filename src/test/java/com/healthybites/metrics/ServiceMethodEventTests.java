@@ -0,0 +1,84 @@
+package com.healthybites.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.healthybites.dtos.ingredient.IngredientRequestDto;
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.exception.ResourceNotFoundException;
+import com.healthybites.service.ingredient.IngredientService;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Checks that the service methods record a ServiceMethodEvent with the entity ID, the row count
+ * and the exception of the call when the events are enabled.
+ */
+@SpringBootTest(properties = "jfr.service-events.enabled=true")
+class ServiceMethodEventTests {
+
+	private static final String EVENT_NAME = "com.healthybites.ServiceMethod";
+
+	@Autowired
+	private IngredientService ingredientService;
+
+	@Test
+	void serviceMethodsRecordTheirEntityAndRows() throws Exception {
+		IngredientResponseDto[] created = new IngredientResponseDto[1];
+		List<RecordedEvent> events = record(() -> {
+			created[0] = ingredientService.createIngredient(new IngredientRequestDto("jfr lentils", 1.2f, LocalDateTime.now()));
+			ingredientService.getAllIngredients();
+			assertThrows(ResourceNotFoundException.class, () -> ingredientService.updateIngredient(Long.MAX_VALUE,
+					new IngredientRequestDto("jfr missing", 1f, LocalDateTime.now())));
+		});
+
+		assertEquals(List.of("createIngredient", "getAllIngredients", "updateIngredient"),
+				events.stream().map(event -> event.getString("method")).toList());
+		events.forEach(event -> assertEquals("IngredientServiceImpl", event.getString("service")));
+
+		RecordedEvent create = events.get(0);
+		assertEquals(created[0].getId(), create.getLong("entityId"));
+		assertEquals(-1, create.getLong("rowCount"));
+		assertNull(create.getString("exception"));
+
+		RecordedEvent list = events.get(1);
+		assertEquals(ingredientService.getAllIngredients().size(), list.getLong("rowCount"));
+		assertTrue(list.getDuration().toNanos() > 0);
+
+		RecordedEvent update = events.get(2);
+		assertEquals(Long.MAX_VALUE, update.getLong("entityId"));
+		assertEquals(ResourceNotFoundException.class.getName(), update.getString("exception"));
+	}
+
+	// helpers
+
+	private static List<RecordedEvent> record(Runnable action) throws Exception {
+		Path file = Files.createTempFile("service-events", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(EVENT_NAME).withThreshold(Duration.ZERO);
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file).stream()
+					.filter(event -> event.getEventType().getName().equals(EVENT_NAME))
+					.toList();
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
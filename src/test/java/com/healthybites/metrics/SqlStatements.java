@@ -0,0 +1,120 @@
+package com.healthybites.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * SqlStatements
+ * Assertions on the SQL statements executed by a request, to pin the number of statements of an
+ * endpoint in the integration tests:
+ *
+ * mockMvc.perform(get("/api/v1/recipes/user/" + userId))
+ *         .andExpect(SqlStatements.count(2))
+ *         .andExpect(SqlStatements.noRepeatedStatements());
+ *
+ * The statements are the ones RequestBreakdownFilter recorded for the request, so they include
+ * every statement of Hibernate and of the JdbcTemplates. Code that runs outside a request can
+ * be checked with {@link #during}. A failed assertion lists the statements executed.
+ */
+public final class SqlStatements {
+
+	private SqlStatements() {
+	}
+
+	/**
+	 * @param expected the number of statements the request must execute
+	 * @return the matcher
+	 */
+	public static ResultMatcher count(int expected) {
+		return result -> assertCount(breakdown(result), expected);
+	}
+
+	/**
+	 * @param max the maximum number of statements the request may execute
+	 * @return the matcher
+	 */
+	public static ResultMatcher atMost(int max) {
+		return result -> {
+			RequestBreakdown breakdown = breakdown(result);
+			if (breakdown.statementCount() > max) {
+				throw new AssertionError("Expected at most " + max + " statements" + describe(breakdown));
+			}
+		};
+	}
+
+	/**
+	 * Fails when the request executes the same SQL twice, the signature of an N+1 query.
+	 *
+	 * @return the matcher
+	 */
+	public static ResultMatcher noRepeatedStatements() {
+		return result -> {
+			RequestBreakdown breakdown = breakdown(result);
+			Map<String, Long> executions = breakdown.executedStatements().stream()
+					.collect(Collectors.groupingBy(statement -> String.valueOf(statement.sql()), Collectors.counting()));
+			if (executions.values().stream().anyMatch(count -> count > 1)) {
+				throw new AssertionError("Expected every statement to be executed once" + describe(breakdown));
+			}
+		};
+	}
+
+	/**
+	 * Records the statements executed by some code outside a request, on the current thread.
+	 *
+	 * @param action the code to run
+	 * @return the statements it executed
+	 * @throws Exception if the code throws it
+	 */
+	public static RequestBreakdown during(Action action) throws Exception {
+		RequestBreakdown breakdown = RequestBreakdown.start();
+		try {
+			action.run();
+		} finally {
+			RequestBreakdown.finish();
+		}
+		return breakdown;
+	}
+
+	/**
+	 * @param breakdown the statements recorded by {@link #during}
+	 * @param expected the number of statements that must have been executed
+	 */
+	public static void assertCount(RequestBreakdown breakdown, int expected) {
+		if (breakdown.statementCount() != expected) {
+			throw new AssertionError("Expected " + expected + " statements" + describe(breakdown));
+		}
+	}
+
+	/**
+	 * Code whose statements are recorded.
+	 */
+	@FunctionalInterface
+	public interface Action {
+		void run() throws Exception;
+	}
+
+	// helpers
+
+	private static RequestBreakdown breakdown(MvcResult result) {
+		Object breakdown = result.getRequest().getAttribute(RequestBreakdown.ATTRIBUTE);
+		if (breakdown == null) {
+			throw new AssertionError("No statements were recorded, is metrics.request-breakdown.enabled false?");
+		}
+		return (RequestBreakdown) breakdown;
+	}
+
+	private static String describe(RequestBreakdown breakdown) {
+		Map<String, Long> executions = breakdown.executedStatements().stream()
+				.map(statement -> String.valueOf(statement.sql()))
+				.collect(Collectors.groupingBy(Function.identity(), LinkedHashMap::new, Collectors.counting()));
+		StringBuilder description = new StringBuilder(", but ").append(breakdown.statementCount()).append(" were executed:");
+		executions.forEach((statement, count) -> description.append(System.lineSeparator())
+				.append("  ").append(count).append(" x ").append(statement));
+		return description.toString();
+	}
+}
@@ -0,0 +1,120 @@
+package com.healthybites.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.healthybites.dtos.ingredient.IngredientRequestDto;
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.dtos.recipe.RecipeIngredientDto;
+import com.healthybites.dtos.recipe.RecipeRequestDto;
+import com.healthybites.entity.UserEntity;
+import com.healthybites.metrics.RequestBreakdown.Phase;
+import com.healthybites.service.ingredient.IngredientService;
+import com.healthybites.service.recipe.RecipeService;
+import com.healthybites.support.TestFixtures;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Pins the statements of the recipe list endpoint with SqlStatements and checks that the requests
+ * over the statement budget are logged with their controller method and SQL.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class StatementBudgetTests {
+
+	private static final String OWNER_EMAIL = "budget@email.com";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private RecipeService recipeService;
+
+	@Autowired
+	private IngredientService ingredientService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Test
+	@WithMockUser(username = OWNER_EMAIL, roles = "USER")
+	void listingRecipesExecutesTheSameStatementsForAnyNumberOfRecipes() throws Exception {
+		UserEntity owner = createOwner();
+		IngredientResponseDto rice = ingredientService.createIngredient(new IngredientRequestDto("budget rice", 1.3f, LocalDateTime.now()));
+		IngredientResponseDto oil = ingredientService.createIngredient(new IngredientRequestDto("budget oil", 8.8f, LocalDateTime.now()));
+		List<RecipeIngredientDto> ingredients = List.of(new RecipeIngredientDto(rice.getId(), 100f),
+				new RecipeIngredientDto(oil.getId(), 10f));
+
+		recipeService.createRecipe(new RecipeRequestDto("Budget recipe 0", "Cook", owner.getId(), ingredients));
+		mockMvc.perform(get("/api/v1/recipes/user/" + owner.getId()))
+				.andExpect(status().isOk())
+				.andExpect(SqlStatements.count(2))
+				.andExpect(SqlStatements.noRepeatedStatements());
+
+		for (int i = 1; i < 20; i++) {
+			recipeService.createRecipe(new RecipeRequestDto("Budget recipe " + i, "Cook", owner.getId(), ingredients));
+		}
+		mockMvc.perform(get("/api/v1/recipes/user/" + owner.getId()))
+				.andExpect(status().isOk())
+				.andExpect(SqlStatements.count(2))
+				.andExpect(SqlStatements.noRepeatedStatements());
+	}
+
+	@Test
+	void requestsOverTheBudgetAreLoggedWithTheirStatements(CapturedOutput output) throws Exception {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RequestBreakdownFilter filter = new RequestBreakdownFilter(meterRegistry, 2, 1000);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/recipes/1");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/recipes/{recipeId}");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+				new HandlerMethod(this, StatementBudgetTests.class.getDeclaredMethod("createOwner")));
+
+		filter.doFilter(request, new MockHttpServletResponse(), (servletRequest, servletResponse) -> {
+			execute("select * from recipe where id = ?");
+			for (int i = 0; i < 3; i++) {
+				execute("select * from ingredient where id = ?");
+			}
+		});
+
+		RequestBreakdown breakdown = (RequestBreakdown) request.getAttribute(RequestBreakdown.ATTRIBUTE);
+		assertEquals(4, breakdown.statementCount());
+		assertEquals("select * from recipe where id = ?", breakdown.executedStatements().get(0).sql());
+		assertEquals(1, meterRegistry.get(RequestBreakdownFilter.OVER_BUDGET_METRIC)
+				.tags("uri", "/api/v1/recipes/{recipeId}", "handler", "StatementBudgetTests.createOwner")
+				.counter().count());
+		assertTrue(output.getOut().contains("GET /api/v1/recipes/{recipeId} (StatementBudgetTests.createOwner) executed 4 statements"));
+		assertTrue(output.getOut().contains("3 x"));
+		assertTrue(output.getOut().contains("select * from ingredient where id = ?"));
+	}
+
+	// helpers
+
+	private static void execute(String sql) {
+		RequestBreakdown.exitStatement(sql, RequestBreakdown.enter(Phase.JDBC));
+	}
+
+	private UserEntity createOwner() {
+		return fixtures.user(OWNER_EMAIL);
+	}
+}
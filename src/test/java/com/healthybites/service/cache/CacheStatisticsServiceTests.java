@@ -0,0 +1,93 @@
+package com.healthybites.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.healthybites.dtos.cache.CacheRegionStatisticsDto;
+import com.healthybites.dtos.cache.CacheStatisticsResponseDto;
+import com.healthybites.dtos.ingredient.IngredientRequestDto;
+import com.healthybites.entity.IngredientEntity;
+import com.healthybites.entity.RoleEntity;
+import com.healthybites.repositoy.IngredientRepository;
+import com.healthybites.repositoy.RoleRepository;
+import com.healthybites.service.ingredient.IngredientService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that ingredients and roles are read from the second-level cache, that ingredient writes
+ * keep the cache up to date and that the hits are reported by the statistics.
+ */
+@SpringBootTest
+class CacheStatisticsServiceTests {
+
+	private static final String INGREDIENT_REGION = IngredientEntity.class.getName();
+
+	@Autowired
+	private CacheStatisticsService cacheStatisticsService;
+
+	@Autowired
+	private IngredientService ingredientService;
+
+	@Autowired
+	private IngredientRepository ingredientRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void ingredientsAreReadFromTheCacheAndUpdatedByWrites() {
+		Long ingredientId = ingredientService.createIngredient(
+				new IngredientRequestDto("cached rice", 1.5f, LocalDateTime.now())).getId();
+		ingredientRepository.findById(ingredientId);
+
+		statistics.clear();
+		assertEquals(1.5f, ingredientRepository.findById(ingredientId).orElseThrow().getQuantityCalories());
+		assertEquals(0, statistics.getPrepareStatementCount());
+
+		ingredientService.updateIngredient(ingredientId, new IngredientRequestDto("cached rice", 2.5f, LocalDateTime.now()));
+
+		statistics.clear();
+		assertEquals(2.5f, ingredientRepository.findById(ingredientId).orElseThrow().getQuantityCalories());
+		assertEquals(0, statistics.getPrepareStatementCount());
+
+		CacheStatisticsResponseDto response = cacheStatisticsService.getStatistics();
+		CacheRegionStatisticsDto region = response.getRegions().stream()
+				.filter(candidate -> candidate.getRegion().equals(INGREDIENT_REGION))
+				.findFirst()
+				.orElseThrow();
+		assertTrue(response.isEnabled());
+		assertEquals(1, region.getHitCount());
+		assertEquals(0, region.getMissCount());
+	}
+
+	@Test
+	void rolesAreFoundByNameFromTheQueryCache() {
+		roleRepository.save(RoleEntity.builder().name("CACHED").build());
+		roleRepository.findByName("CACHED");
+
+		statistics.clear();
+		assertEquals("CACHED", roleRepository.findByName("CACHED").orElseThrow().getName());
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertEquals(1, cacheStatisticsService.getStatistics().getQueryCacheHitCount());
+	}
+}
@@ -0,0 +1,61 @@
+package com.healthybites.service.ingredient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.healthybites.dtos.ingredient.IngredientRequestDto;
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+
+/**
+ * Checks that the catalog keeps the active ingredients in ID order through updates and that the
+ * ingredients it returns can be changed without touching the catalog.
+ */
+@SpringBootTest
+class IngredientCatalogTests {
+
+	@Autowired
+	private IngredientService ingredientService;
+
+	@Test
+	void updatedIngredientsKeepTheirPlace() {
+		IngredientResponseDto barley = create("catalog barley", 3.5f);
+		create("catalog millet", 3.8f);
+		create("catalog quinoa", 3.7f);
+		List<Long> before = ids(ingredientService.getAllActiveIngredients());
+
+		ingredientService.updateIngredient(barley.getId(), new IngredientRequestDto("catalog pearl barley", 3.5f,
+				LocalDateTime.now()));
+
+		assertEquals(before, ids(ingredientService.getAllActiveIngredients()));
+		assertEquals(before.stream().sorted().toList(), before);
+	}
+
+	@Test
+	void returnedIngredientsAreCopies() {
+		IngredientResponseDto spelt = create("catalog spelt", 3.4f);
+
+		ingredientService.getAllActiveIngredients().forEach(ingredient -> ingredient.setName("changed"));
+		ingredientService.suggestIngredients("catalog spe", 1).get(0).setQuantityCalories(0f);
+
+		IngredientResponseDto stored = ingredientService.suggestIngredients("catalog spe", 1).get(0);
+		assertEquals(spelt.getId(), stored.getId());
+		assertEquals("catalog spelt", stored.getName());
+		assertEquals(3.4f, stored.getQuantityCalories());
+	}
+
+	// helpers
+
+	private IngredientResponseDto create(String name, float calories) {
+		return ingredientService.createIngredient(new IngredientRequestDto(name, calories, LocalDateTime.now()));
+	}
+
+	private static List<Long> ids(List<IngredientResponseDto> ingredients) {
+		return ingredients.stream().map(IngredientResponseDto::getId).toList();
+	}
+}
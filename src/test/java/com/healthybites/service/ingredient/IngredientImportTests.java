@@ -0,0 +1,115 @@
+package com.healthybites.service.ingredient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.healthybites.dtos.ingredient.IngredientImportResponseDto;
+import com.healthybites.dtos.ingredient.IngredientRequestDto;
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.entity.ChangeLogEntity;
+import com.healthybites.entity.ChangeLogEntity.EntityType;
+import com.healthybites.exception.InvalidImportFileException;
+import com.healthybites.repositoy.ChangeLogRepository;
+
+/**
+ * Checks that the import parses quoted and semicolon separated files, skips the names that
+ * already exist, rejects invalid rows and leaves the catalog and the change log up to date.
+ */
+@SpringBootTest(properties = "ingredient-import.chunk-size=2")
+class IngredientImportTests {
+
+	@Autowired
+	private IngredientService ingredientService;
+
+	@Autowired
+	private ChangeLogRepository changeLogRepository;
+
+	@Test
+	void importsValidRowsAndReportsTheOthers() {
+		ingredientService.createIngredient(new IngredientRequestDto("Imported Rice", 1.3f, LocalDateTime.now()));
+
+		IngredientImportResponseDto response = ingredientService.importIngredients(csv("""
+				\uFEFFName,Calories,Protein,Carbs,Fat
+				"Imported Oats, rolled",3.8,13,67,7
+				imported rice,1.3,,,
+				Imported Lentils,1.16,9,20,0.4
+				"Imported ""Greek"" Yogurt",0.97,9,4,5
+				IMPORTED LENTILS,1.2,,,
+				,2,,,
+				Imported Salt,abc,,,
+				Imported Oil,8.8,,,-1
+				Imported Honey,3.04,0.3,82,0
+				"""));
+
+		assertEquals(4, response.getImported());
+		assertEquals(2, response.getDuplicates());
+		assertEquals(3, response.getRejected());
+		assertEquals(List.of(
+				"Línea 7: El nombre del ingrediente no puede estar en blanco",
+				"Línea 8: Las calorías deben ser un número positivo",
+				"Línea 9: Los macronutrientes deben ser números mayores o iguales a cero"), response.getErrors());
+
+		List<IngredientResponseDto> imported = ingredientService.searchIngredients("imported", 10);
+		assertEquals(Set.of("Imported Rice", "Imported Oats, rolled", "Imported Lentils", "Imported \"Greek\" Yogurt",
+				"Imported Honey"), imported.stream().map(IngredientResponseDto::getName).collect(Collectors.toSet()));
+
+		Set<Long> logged = changeLogRepository.findAll().stream()
+				.filter(change -> change.getEntityType() == EntityType.INGREDIENT)
+				.map(ChangeLogEntity::getEntityId)
+				.collect(Collectors.toSet());
+		assertTrue(imported.stream().allMatch(ingredient -> logged.contains(ingredient.getId())));
+	}
+
+	@Test
+	void readsSemicolonSeparatedFilesWithDecimalComma() {
+		IngredientImportResponseDto response = ingredientService.importIngredients(csv(
+				"nombre;calorías\r\nSemicolon Almond;5,79\r\n\r\nSemicolon Walnut;6,54"));
+
+		assertEquals(2, response.getImported());
+		assertEquals(0, response.getRejected());
+		assertEquals(5.79f, ingredientService.suggestIngredients("semicolon al", 1).get(0).getQuantityCalories());
+	}
+
+	@Test
+	void rejectsFilesWithoutTheRequiredColumns() {
+		assertThrows(InvalidImportFileException.class, () -> ingredientService.importIngredients(csv("name,protein\nEgg,13\n")));
+		assertThrows(InvalidImportFileException.class, () -> ingredientService.importIngredients(csv("")));
+	}
+
+	@Test
+	void rejectsOverlongFieldsAndUnterminatedQuotesOnTheirLine() {
+		IngredientImportResponseDto response = ingredientService.importIngredients(csv(
+				"name,calories\n"
+				+ "Bounded Pepper,0.4\n"
+				+ "Bounded " + "x".repeat(CsvRecordReader.MAX_FIELD_LENGTH) + ",1\n"
+				+ "Bounded Garlic,1.5\n"
+				+ "\"Bounded Onion,0.4\n"
+				+ "Bounded Leek,0.6\n"
+				+ "x".repeat(CsvRecordReader.MAX_FIELD_LENGTH * 2)));
+
+		assertEquals(2, response.getImported());
+		assertEquals(2, response.getRejected());
+		assertEquals(List.of(
+				"Línea 3: Un campo supera los 4096 caracteres",
+				"Línea 5: Hay unas comillas sin cerrar"), response.getErrors());
+	}
+
+	// helpers
+
+	private static InputStream csv(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,46 @@
+package com.healthybites.service.ingredient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+
+class IngredientPrefixIndexTests {
+
+	private final IngredientPrefixIndex index = IngredientPrefixIndex.build(List.of(
+			ingredient(1, "Arroz integral"),
+			ingredient(2, "Harina de arroz"),
+			ingredient(3, "Azúcar moreno"),
+			ingredient(4, "Aceite de oliva"),
+			ingredient(5, "Arroz")));
+
+	@Test
+	void suggestMatchesAnyWordIgnoringCaseAndAccents() {
+		assertEquals(List.of(1L, 2L, 5L), ids(index.suggest("ARR", 10)));
+		assertEquals(List.of(3L), ids(index.suggest("azuc", 10)));
+		assertEquals(List.of(1L), ids(index.suggest("arroz int", 10)));
+	}
+
+	@Test
+	void suggestReturnsEachIngredientOnceAndHonoursLimit() {
+		assertEquals(List.of(2L, 4L), ids(index.suggest("de", 10)));
+		assertEquals(2, index.suggest("a", 2).size());
+		assertTrue(index.suggest("  ", 10).isEmpty());
+		assertTrue(index.suggest("xyz", 10).isEmpty());
+	}
+
+	// helpers
+
+	private static List<Long> ids(List<IngredientResponseDto> ingredients) {
+		return ingredients.stream().map(IngredientResponseDto::getId).toList();
+	}
+
+	private static IngredientResponseDto ingredient(long id, String name) {
+		return new IngredientResponseDto(id, name, 0, 1f, true, LocalDateTime.now());
+	}
+}
@@ -0,0 +1,56 @@
+package com.healthybites.service.ingredient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+
+class IngredientTrigramIndexTests {
+
+	@Test
+	void searchToleratesTyposAccentsAndPlurals() {
+		IngredientTrigramIndex index = new IngredientTrigramIndex();
+		index.reset(List.of(
+				ingredient(1, "Tomato"),
+				ingredient(2, "Tomate triturado"),
+				ingredient(3, "Plátano"),
+				ingredient(4, "Aguacate"),
+				ingredient(5, "Potato")));
+
+		assertEquals(1L, index.search("tomatoe", 10).get(0).getId());
+		assertEquals(2L, index.search("tomates triturados", 10).get(0).getId());
+		assertEquals(List.of(3L), ids(index.search("platanos", 10)));
+		assertEquals(List.of(4L), ids(index.search("aguacte", 10)));
+		assertTrue(index.search("xyz", 10).isEmpty());
+	}
+
+	@Test
+	void putAndRemoveUpdateTheIndexInPlace() {
+		IngredientTrigramIndex index = new IngredientTrigramIndex();
+		index.reset(List.of(ingredient(1, "Lentejas"), ingredient(2, "Garbanzos")));
+
+		index.put(ingredient(1, "Lentejas rojas"));
+		index.put(ingredient(3, "Avena"));
+		index.remove(2);
+
+		assertEquals(2, index.size());
+		assertEquals("Lentejas rojas", index.search("lenteja", 10).get(0).getName());
+		assertEquals(List.of(3L), ids(index.search("avena", 10)));
+		assertTrue(index.search("garbanzo", 10).isEmpty());
+	}
+
+	// helpers
+
+	private static List<Long> ids(List<IngredientResponseDto> ingredients) {
+		return ingredients.stream().map(IngredientResponseDto::getId).toList();
+	}
+
+	private static IngredientResponseDto ingredient(long id, String name) {
+		return new IngredientResponseDto(id, name, 0, 1f, true, LocalDateTime.now());
+	}
+}
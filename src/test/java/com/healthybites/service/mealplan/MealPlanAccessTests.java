@@ -0,0 +1,70 @@
+package com.healthybites.service.mealplan;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.healthybites.entity.UserEntity;
+import com.healthybites.support.TestFixtures;
+
+/**
+ * Checks that the meal plan of a user, which reveals the calorie target worked out from the
+ * health information, can only be read by that user and by the administrators.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MealPlanAccessTests {
+
+	private static final String OWNER_EMAIL = "meal-plan@email.com";
+	private static final String OTHER_EMAIL = "other-meal-plan@email.com";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private UserEntity owner;
+
+	@BeforeEach
+	void setUp() {
+		owner = fixtures.user(OWNER_EMAIL);
+		fixtures.user(OTHER_EMAIL);
+	}
+
+	@Test
+	@WithAnonymousUser
+	void anonymousCallersAreRejected() throws Exception {
+		mockMvc.perform(get("/api/v1/users/" + owner.getId() + "/meal-plan")).andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	@WithMockUser(username = OTHER_EMAIL, roles = "USER")
+	void otherUsersAreForbidden() throws Exception {
+		mockMvc.perform(get("/api/v1/users/" + owner.getId() + "/meal-plan"))
+				.andExpect(status().isForbidden())
+				.andExpect(jsonPath("$.status").value("FORBIDDEN"));
+	}
+
+	@Test
+	@WithMockUser(username = OWNER_EMAIL, roles = "USER")
+	void theOwnerReachesThePlanner() throws Exception {
+		// the owner has no health information, so the planner answers 404
+		mockMvc.perform(get("/api/v1/users/" + owner.getId() + "/meal-plan")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	@WithMockUser(username = "admin@email.com", roles = "ADMIN")
+	void administratorsReachThePlanner() throws Exception {
+		mockMvc.perform(get("/api/v1/users/" + owner.getId() + "/meal-plan")).andExpect(status().isNotFound());
+	}
+}
@@ -0,0 +1,69 @@
+package com.healthybites.service.mealplan;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class MealPlannerTests {
+
+	private final ForkJoinPool pool = new ForkJoinPool(2);
+
+	@AfterEach
+	void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	void everyDayHitsTheTargetWithoutRepeatingRecipes() {
+		int size = 1000;
+		long[] recipeIds = new long[size];
+		float[] calories = new float[size];
+		for (int i = 0; i < size; i++) {
+			recipeIds[i] = i + 1;
+			calories[i] = 100 + (i * 37) % 900;
+		}
+		MealPlanner planner = new MealPlanner(recipeIds, calories);
+
+		List<long[]> plan = planner.plan(2000, 0.05, 7, pool);
+
+		assertEquals(7, plan.size());
+		Set<Long> used = new HashSet<>();
+		for (long[] day : plan) {
+			double total = 0;
+			for (long recipeId : day) {
+				assertTrue(used.add(recipeId));
+				total += calories[(int) recipeId - 1];
+			}
+			assertEquals(2000, total, 100);
+		}
+	}
+
+	@Test
+	void recipesAreRepeatedOnlyWhenThereAreNotEnough() {
+		MealPlanner planner = new MealPlanner(new long[] { 1, 2, 3, 4 }, new float[] { 500, 800, 700, 5000 });
+
+		List<long[]> plan = planner.plan(2000, 0.1, 2, pool);
+
+		assertEquals(2, plan.size());
+		assertArrayEquals(new long[] { 1, 2, 3 }, plan.get(0));
+		assertArrayEquals(new long[] { 1, 2, 3 }, plan.get(1));
+		assertTrue(planner.plan(20000, 0.1, 1, pool).isEmpty());
+	}
+
+	@Test
+	void dailyCaloriesFollowMifflinStJeorAndActivityLevel() {
+		assertEquals(1780, EnergyRequirements.basalMetabolicRate(80, 180, 30, "Masculino"), 0.001);
+		assertEquals(1614, EnergyRequirements.basalMetabolicRate(80, 1.80, 30, "mujer"), 0.001);
+		assertEquals(1.55, EnergyRequirements.activityFactor(" Moderado "), 0.0);
+		assertEquals(1.9, EnergyRequirements.activityFactor("muy_activo"), 0.0);
+		assertEquals(EnergyRequirements.DEFAULT_ACTIVITY_FACTOR, EnergyRequirements.activityFactor(null), 0.0);
+	}
+}
@@ -0,0 +1,119 @@
+package com.healthybites.service.recipe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthybites.dtos.ingredient.IngredientRequestDto;
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.dtos.recipe.RecipeIngredientDto;
+import com.healthybites.dtos.recipe.RecipeRequestDto;
+import com.healthybites.dtos.recipe.RecipeResponseDto;
+import com.healthybites.entity.UserEntity;
+import com.healthybites.repositoy.RecipeRepository;
+import com.healthybites.service.ingredient.IngredientService;
+import com.healthybites.support.TestFixtures;
+
+/**
+ * Checks that the export writes one recipe per line with its ingredients, all recipes for an
+ * administrator and only their own for a user.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RecipeExportTests {
+
+	private static final String OWNER_EMAIL = "export@email.com";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private RecipeService recipeService;
+
+	@Autowired
+	private IngredientService ingredientService;
+
+	@Autowired
+	private RecipeRepository recipeRepository;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private UserEntity owner;
+	private UserEntity otherUser;
+
+	@BeforeEach
+	void setUp() {
+		owner = fixtures.user(OWNER_EMAIL);
+		otherUser = fixtures.user("other-export@email.com");
+	}
+
+	@Test
+	@WithMockUser(username = OWNER_EMAIL, roles = "USER")
+	void usersExportTheirOwnRecipesWithTheirIngredients() throws Exception {
+		IngredientResponseDto rice = createIngredient("export rice", 1.3f);
+		IngredientResponseDto beans = createIngredient("export beans", 1.2f);
+		RecipeResponseDto bowl = recipeService.createRecipe(new RecipeRequestDto("Bowl", "Mix", owner.getId(),
+				List.of(new RecipeIngredientDto(rice.getId(), 100f), new RecipeIngredientDto(beans.getId(), 50f))));
+		RecipeResponseDto water = recipeService.createRecipe(new RecipeRequestDto("Water", "Pour", owner.getId(), List.of()));
+		recipeService.createRecipe(new RecipeRequestDto("Other", "Boil", otherUser.getId(),
+				List.of(new RecipeIngredientDto(rice.getId(), 10f))));
+
+		List<RecipeResponseDto> exported = export();
+
+		assertEquals(List.of(bowl.getId(), water.getId()), exported.stream().map(RecipeResponseDto::getId).toList());
+		assertEquals(190f, exported.get(0).getTotalCalories(), 0.001f);
+		assertEquals(List.of(rice.getId(), beans.getId()),
+				exported.get(0).getIngredients().stream().map(IngredientResponseDto::getId).toList());
+		assertEquals(60f, exported.get(0).getIngredients().get(1).getQuantityCalories(), 0.001f);
+		assertTrue(exported.get(1).getIngredients().isEmpty());
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void administratorsExportEveryRecipe() throws Exception {
+		recipeService.createRecipe(new RecipeRequestDto("Salad", "Toss", otherUser.getId(), List.of()));
+
+		List<RecipeResponseDto> exported = export();
+
+		assertEquals(recipeRepository.count(), exported.size());
+		assertTrue(exported.stream().anyMatch(recipe -> recipe.getName().equals("Salad")));
+	}
+
+	// helpers
+
+	private List<RecipeResponseDto> export() throws Exception {
+		String body = mockMvc.perform(get("/api/v1/recipes/export"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+				.andReturn().getResponse().getContentAsString();
+		assertTrue(body.isEmpty() || body.endsWith("\n"));
+		List<RecipeResponseDto> recipes = new ArrayList<>();
+		for (String line : body.lines().toList()) {
+			recipes.add(objectMapper.readValue(line, RecipeResponseDto.class));
+		}
+		return recipes;
+	}
+
+	private IngredientResponseDto createIngredient(String name, float calories) {
+		return ingredientService.createIngredient(new IngredientRequestDto(name, calories, LocalDateTime.now()));
+	}
+}
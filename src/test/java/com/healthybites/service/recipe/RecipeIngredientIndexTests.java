@@ -0,0 +1,81 @@
+package com.healthybites.service.recipe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RecipeIngredientIndexTests {
+
+	@Test
+	void searchCombinesIncludedAndExcludedIngredients() {
+		RecipeIngredientIndex index = new RecipeIngredientIndex();
+		index.put(1, List.of(10L, 20L));
+		index.put(2, List.of(10L, 30L));
+		index.put(3, List.of(10L, 20L, 30L));
+		index.put(4, List.of());
+
+		assertEquals(List.of(1L, 2L, 3L), index.search(List.of(10L), List.of(), 0, 10));
+		assertEquals(List.of(1L, 3L), index.search(List.of(10L, 20L), List.of(), 0, 10));
+		assertEquals(List.of(1L), index.search(List.of(10L, 20L), List.of(30L), 0, 10));
+		assertEquals(List.of(1L, 4L), index.search(List.of(), List.of(30L), 0, 10));
+		assertTrue(index.search(List.of(10L, 99L), List.of(), 0, 10).isEmpty());
+	}
+
+	@Test
+	void searchPagesInIdOrder() {
+		RecipeIngredientIndex index = new RecipeIngredientIndex();
+		for (long recipeId = 1; recipeId <= 5; recipeId++) {
+			index.put(recipeId, List.of(10L));
+		}
+
+		assertEquals(List.of(1L, 2L), index.search(List.of(10L), List.of(), 0, 2));
+		assertEquals(List.of(3L, 4L), index.search(List.of(10L), List.of(), 2, 2));
+		assertEquals(List.of(5L), index.search(List.of(10L), List.of(), 4, 2));
+	}
+
+	@Test
+	void putAddIngredientAndRemoveUpdateTheIndexInPlace() {
+		RecipeIngredientIndex index = new RecipeIngredientIndex();
+		index.put(1, List.of(10L, 20L));
+		index.put(2, List.of(20L));
+
+		index.put(1, List.of(30L));
+		index.addIngredient(2, 10L);
+		index.remove(2);
+		index.addIngredient(3, 20L);
+
+		assertEquals(2, index.size());
+		assertTrue(index.search(List.of(10L), List.of(), 0, 10).isEmpty());
+		assertEquals(List.of(3L), index.search(List.of(20L), List.of(), 0, 10));
+		assertEquals(List.of(1L), index.search(List.of(30L), List.of(), 0, 10));
+	}
+
+	@Test
+	void matchPantryAllowsMissingIngredientsAndRanksByCoverage() {
+		RecipeIngredientIndex index = new RecipeIngredientIndex();
+		index.put(1, List.of(10L, 20L));
+		index.put(2, List.of(10L, 20L, 30L));
+		index.put(3, List.of(10L, 30L, 40L, 50L));
+		index.put(4, List.of(60L));
+		index.put(5, List.of(20L));
+
+		assertEquals(List.of(1L, 5L), recipeIds(index.matchPantry(List.of(10L, 20L), 0, 10)));
+		assertEquals(List.of(1L, 5L, 2L), recipeIds(index.matchPantry(List.of(10L, 20L), 1, 10)));
+		assertEquals(List.of(1L, 5L, 2L, 3L), recipeIds(index.matchPantry(List.of(10L, 20L, 20L), 3, 10)));
+		assertEquals(List.of(1L, 5L), recipeIds(index.matchPantry(List.of(10L, 20L), 3, 2)));
+		assertEquals(0.25f, index.matchPantry(List.of(10L), 3, 10).get(2).getCoverage());
+
+		index.addIngredient(1, 70L);
+		assertEquals(List.of(5L), recipeIds(index.matchPantry(List.of(10L, 20L), 0, 10)));
+		assertTrue(index.matchPantry(List.of(99L), 5, 10).isEmpty());
+	}
+
+	// helpers
+
+	private static List<Long> recipeIds(List<RecipeIngredientIndex.PantryMatch> matches) {
+		return matches.stream().map(RecipeIngredientIndex.PantryMatch::getRecipeId).toList();
+	}
+}
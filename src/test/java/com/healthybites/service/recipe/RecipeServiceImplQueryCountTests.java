@@ -0,0 +1,131 @@
+package com.healthybites.service.recipe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.dtos.recipe.RecipeResponseDto;
+import com.healthybites.dtos.recipe.ShoppingListRecipeDto;
+import com.healthybites.dtos.recipe.ShoppingListRequestDto;
+import com.healthybites.dtos.recipe.ShoppingListResponseDto;
+import com.healthybites.entity.IngredientEntity;
+import com.healthybites.entity.RecipeEntity;
+import com.healthybites.entity.RecipeIngredientEntity;
+import com.healthybites.entity.UserEntity;
+import com.healthybites.repositoy.RecipeIngredientRepository;
+import com.healthybites.repositoy.RecipeRepository;
+import com.healthybites.support.TestFixtures;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Pins the number of SQL statements issued by the recipe list endpoints so they stay
+ * constant regardless of how many recipes a user has.
+ */
+@SpringBootTest
+class RecipeServiceImplQueryCountTests {
+
+	@Autowired
+	private RecipeService recipeService;
+
+	@Autowired
+	private RecipeRepository recipeRepository;
+
+	@Autowired
+	private RecipeIngredientRepository recipeIngredientRepository;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		fixtures.deleteAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void getAllRecipesByUserIssuesConstantNumberOfStatements() {
+		UserEntity fewRecipesUser = createUserWithRecipes("few@email.com", 2);
+		UserEntity manyRecipesUser = createUserWithRecipes("many@email.com", 25);
+
+		long fewStatements = countStatements(() -> recipeService.getAllRecipesByUser(fewRecipesUser.getId()));
+		long manyStatements = countStatements(() -> recipeService.getAllRecipesByUser(manyRecipesUser.getId()));
+
+		assertEquals(2, fewStatements);
+		assertEquals(fewStatements, manyStatements);
+	}
+
+	@Test
+	void getAllRecipesIssuesConstantNumberOfStatements() {
+		createUserWithRecipes("all@email.com", 30);
+
+		List<RecipeResponseDto> recipes = recipeService.getAllRecipes();
+		long statements = countStatements(recipeService::getAllRecipes);
+
+		assertEquals(30, recipes.size());
+		recipes.forEach(recipe -> assertEquals(3, recipe.getIngredients().size()));
+		assertEquals(2, statements);
+	}
+
+	@Test
+	void getShoppingListIssuesConstantNumberOfStatements() {
+		createUserWithRecipes("list@email.com", 25);
+		List<Long> recipeIds = recipeRepository.findAll().stream().map(RecipeEntity::getId).toList();
+		ShoppingListRequestDto fewRecipes = new ShoppingListRequestDto(List.of(
+				new ShoppingListRecipeDto(recipeIds.get(0), 2f)));
+		ShoppingListRequestDto manyRecipes = new ShoppingListRequestDto(recipeIds.stream()
+				.map(recipeId -> new ShoppingListRecipeDto(recipeId, 1f))
+				.toList());
+
+		ShoppingListResponseDto shoppingList = recipeService.getShoppingList(manyRecipes);
+		long fewStatements = countStatements(() -> recipeService.getShoppingList(fewRecipes));
+		long manyStatements = countStatements(() -> recipeService.getShoppingList(manyRecipes));
+
+		assertEquals(List.of("list@email.com-oil", "list@email.com-rice", "list@email.com-tomato"),
+				shoppingList.getIngredients().stream().map(IngredientResponseDto::getName).toList());
+		shoppingList.getIngredients().forEach(ingredient -> assertEquals(2500f, ingredient.getQuantity()));
+		assertEquals(25 * 100 * (0.2f + 1.3f + 8.8f), shoppingList.getTotalCalories(), 0.5f);
+		assertEquals(2, fewStatements);
+		assertEquals(fewStatements, manyStatements);
+	}
+
+	// helpers
+
+	private long countStatements(Runnable action) {
+		statistics.clear();
+		action.run();
+		return statistics.getPrepareStatementCount();
+	}
+
+	private UserEntity createUserWithRecipes(String email, int recipeCount) {
+		UserEntity user = fixtures.user(email);
+		List<IngredientEntity> ingredients = List.of(
+				fixtures.ingredient(email + "-tomato", 0.2f),
+				fixtures.ingredient(email + "-rice", 1.3f),
+				fixtures.ingredient(email + "-oil", 8.8f));
+
+		for (int i = 0; i < recipeCount; i++) {
+			RecipeEntity recipe = new RecipeEntity();
+			recipe.setName(email + "-recipe-" + i);
+			recipe.setPreparation("Mix everything");
+			recipe.setUser(user);
+			RecipeEntity saved = recipeRepository.save(recipe);
+			ingredients.forEach(ingredient -> recipeIngredientRepository
+					.save(new RecipeIngredientEntity(saved, ingredient, 100f)));
+		}
+		return user;
+	}
+}
@@ -0,0 +1,53 @@
+package com.healthybites.service.recipe;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class RecipeSimilarityIndexTests {
+
+	@Test
+	void candidatesAreRecipesWithSimilarIngredients() {
+		RecipeSimilarityIndex index = new RecipeSimilarityIndex();
+		index.reset(new int[] { 1, 2, 3, 4 }, new long[][] {
+				range(1, 20),
+				range(1, 19),
+				range(100, 120),
+				new long[0] });
+
+		assertArrayEquals(new int[] { 2 }, index.candidates(1));
+		assertEquals(0, index.candidates(3).length);
+		assertEquals(0, index.candidates(4).length);
+		assertEquals(3, index.size());
+		assertTrue(index.estimateSimilarity(1, 2) > 0.7);
+	}
+
+	@Test
+	void putAndRemoveUpdateTheIndexInPlace() {
+		RecipeSimilarityIndex index = new RecipeSimilarityIndex();
+		index.reset(new int[] { 1, 2 }, new long[][] { range(1, 20), range(100, 120) });
+
+		for (int recipe = 3; recipe <= 100; recipe++) {
+			index.put(recipe, range(1000L * recipe, 1000L * recipe + 10));
+		}
+		index.put(2, range(1, 20));
+		assertArrayEquals(new int[] { 2 }, index.candidates(1));
+
+		index.remove(2);
+		assertEquals(0, index.candidates(1).length);
+		assertEquals(99, index.size());
+
+		index.put(200, range(2, 20));
+		assertArrayEquals(new int[] { 1 }, index.candidates(200));
+	}
+
+	// helpers
+
+	private static long[] range(long from, long to) {
+		return LongStream.range(from, to).toArray();
+	}
+}
@@ -0,0 +1,185 @@
+package com.healthybites.service.recipe;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.healthybites.api.ResourceVersions;
+import com.healthybites.dtos.ingredient.IngredientRequestDto;
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.dtos.recipe.RecipeIngredientDto;
+import com.healthybites.dtos.recipe.RecipeRequestDto;
+import com.healthybites.dtos.recipe.RecipeResponseDto;
+import com.healthybites.entity.ChangeLogEntity.EntityType;
+import com.healthybites.entity.IngredientEntity;
+import com.healthybites.entity.UserEntity;
+import com.healthybites.exception.ResourceNotFoundException;
+import com.healthybites.repositoy.ChangeLogRepository;
+import com.healthybites.repositoy.RecipeRepository;
+import com.healthybites.service.ingredient.IngredientService;
+import com.healthybites.support.TestFixtures;
+
+/**
+ * Checks that the denormalized total calories of a recipe follow every write that changes them.
+ */
+@SpringBootTest
+class RecipeTotalCaloriesTests {
+
+	@Autowired
+	private RecipeService recipeService;
+
+	@Autowired
+	private IngredientService ingredientService;
+
+	@Autowired
+	private RecipeCaloriesConsistencyChecker consistencyChecker;
+
+	@Autowired
+	private RecipeRepository recipeRepository;
+
+	@Autowired
+	private ChangeLogRepository changeLogRepository;
+
+	@Autowired
+	private ResourceVersions resourceVersions;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private UserEntity user;
+	private IngredientEntity rice;
+	private IngredientEntity oil;
+
+	@BeforeEach
+	void setUp() {
+		fixtures.deleteAll();
+		user = fixtures.user("calories@email.com");
+		rice = fixtures.ingredient("rice", 1.5f);
+		oil = fixtures.ingredient("oil", 9f);
+	}
+
+	@Test
+	void createAndUpdateRecipeStoreTotalCalories() {
+		RecipeResponseDto created = recipeService.createRecipe(new RecipeRequestDto("Rice", "Boil", user.getId(),
+				List.of(new RecipeIngredientDto(rice.getId(), 100f), new RecipeIngredientDto(oil.getId(), 10f))));
+		assertEquals(240f, created.getTotalCalories());
+		assertEquals(240f, storedTotal(created.getId()));
+
+		recipeService.updateRecipe(created.getId(), new RecipeRequestDto("Rice", "Boil", user.getId(),
+				List.of(new RecipeIngredientDto(rice.getId(), 200f))));
+		assertEquals(300f, storedTotal(created.getId()));
+
+		recipeService.addIngredientToRecipe(created.getId(), oil.getId(), 5f);
+		assertEquals(345f, storedTotal(created.getId()));
+	}
+
+	@Test
+	void updateRecipeKeepsChangesRemovesAndAddsIngredientsInOneUpdate() {
+		IngredientEntity tomato = fixtures.ingredient("tomato", 0.2f);
+		IngredientEntity beans = fixtures.ingredient("beans", 1.2f);
+		RecipeResponseDto created = recipeService.createRecipe(new RecipeRequestDto("Stew", "Simmer", user.getId(),
+				List.of(new RecipeIngredientDto(rice.getId(), 100f), new RecipeIngredientDto(oil.getId(), 10f),
+						new RecipeIngredientDto(tomato.getId(), 200f))));
+		assertEquals(280f, storedTotal(created.getId()));
+
+		RecipeResponseDto updated = recipeService.updateRecipe(created.getId(), new RecipeRequestDto("Stew", "Simmer",
+				user.getId(), List.of(new RecipeIngredientDto(rice.getId(), 100f), new RecipeIngredientDto(oil.getId(), 20f),
+						new RecipeIngredientDto(beans.getId(), 50f))));
+
+		assertEquals(List.of(rice.getId(), oil.getId(), beans.getId()),
+				updated.getIngredients().stream().map(IngredientResponseDto::getId).toList());
+		assertEquals(390f, updated.getTotalCalories(), 0.001f);
+		assertEquals(390f, storedTotal(created.getId()), 0.001f);
+		assertEquals(Map.of(rice.getId(), 100f, oil.getId(), 20f, beans.getId(), 50f),
+				recipeService.getRecipeById(created.getId()).getIngredients().stream()
+						.collect(Collectors.toMap(IngredientResponseDto::getId, IngredientResponseDto::getQuantity)));
+	}
+
+	@Test
+	void addingAnUnknownIngredientFailsWithoutTouchingTheRecipe() {
+		RecipeResponseDto created = recipeService.createRecipe(new RecipeRequestDto("Rice", "Boil", user.getId(),
+				List.of(new RecipeIngredientDto(rice.getId(), 100f))));
+
+		assertThrows(ResourceNotFoundException.class,
+				() -> recipeService.addIngredientToRecipe(created.getId(), Long.MAX_VALUE, 5f));
+		assertThrows(ResourceNotFoundException.class,
+				() -> recipeService.addIngredientToRecipe(Long.MAX_VALUE, oil.getId(), 5f));
+
+		assertEquals(150f, storedTotal(created.getId()));
+		assertEquals(1, recipeService.getIngredientsForRecipe(created.getId()).size());
+	}
+
+	@Test
+	void ingredientCaloriesChangeIsPropagatedToRecipes() {
+		RecipeResponseDto first = recipeService.createRecipe(new RecipeRequestDto("First", "Boil", user.getId(),
+				List.of(new RecipeIngredientDto(rice.getId(), 100f))));
+		RecipeResponseDto second = recipeService.createRecipe(new RecipeRequestDto("Second", "Fry", user.getId(),
+				List.of(new RecipeIngredientDto(rice.getId(), 100f), new RecipeIngredientDto(oil.getId(), 10f))));
+
+		ingredientService.updateIngredient(rice.getId(),
+				new IngredientRequestDto("rice", 2f, LocalDateTime.now()));
+
+		assertEquals(200f, storedTotal(first.getId()));
+		assertEquals(290f, storedTotal(second.getId()));
+		assertEquals(List.of(first.getId()), recipeService.getRecipesByCalories(150f, 250f, null).stream()
+				.map(RecipeResponseDto::getId)
+				.toList());
+	}
+
+	@Test
+	void consistencyCheckerRepairsStaleTotals() {
+		RecipeResponseDto created = recipeService.createRecipe(new RecipeRequestDto("Rice", "Boil", user.getId(),
+				List.of(new RecipeIngredientDto(rice.getId(), 100f))));
+		jdbcTemplate.update("update recipe set total_calories = 0 where id = ?", created.getId());
+		String recipeTag = resourceVersions.recipeTag(created.getId());
+		String userRecipesTag = resourceVersions.userRecipesTag(user.getId());
+		long loggedChanges = recipeChanges(created.getId());
+
+		assertEquals(1, consistencyChecker.checkAndRepair());
+		assertEquals(150f, storedTotal(created.getId()));
+		assertNotEquals(recipeTag, resourceVersions.recipeTag(created.getId()));
+		assertNotEquals(userRecipesTag, resourceVersions.userRecipesTag(user.getId()));
+		assertEquals(loggedChanges + 1, recipeChanges(created.getId()));
+
+		recipeTag = resourceVersions.recipeTag(created.getId());
+		assertEquals(0, consistencyChecker.checkAndRepair());
+		assertEquals(recipeTag, resourceVersions.recipeTag(created.getId()));
+	}
+
+	@Test
+	void totalsLeftAtZeroByTheSchemaUpdateAreRepairedOnStartup() {
+		RecipeResponseDto created = recipeService.createRecipe(new RecipeRequestDto("Rice", "Boil", user.getId(),
+				List.of(new RecipeIngredientDto(rice.getId(), 100f), new RecipeIngredientDto(oil.getId(), 10f))));
+		jdbcTemplate.update("update recipe set total_calories = 0 where id = ?", created.getId());
+
+		consistencyChecker.repairOnStartup();
+
+		assertEquals(240f, storedTotal(created.getId()));
+	}
+
+	// helpers
+
+	private float storedTotal(long recipeId) {
+		return recipeRepository.findById(recipeId).orElseThrow().getTotalCalories();
+	}
+
+	private long recipeChanges(long recipeId) {
+		return changeLogRepository.findAll().stream()
+				.filter(change -> change.getEntityType() == EntityType.RECIPE && change.getEntityId() == recipeId)
+				.count();
+	}
+}
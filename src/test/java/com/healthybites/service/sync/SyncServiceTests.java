@@ -0,0 +1,134 @@
+package com.healthybites.service.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.healthybites.dtos.advice.AdviceRequestDto;
+import com.healthybites.dtos.advice.AdviceResponseDto;
+import com.healthybites.dtos.ingredient.IngredientRequestDto;
+import com.healthybites.dtos.ingredient.IngredientResponseDto;
+import com.healthybites.dtos.recipe.RecipeIngredientDto;
+import com.healthybites.dtos.recipe.RecipeRequestDto;
+import com.healthybites.dtos.recipe.RecipeResponseDto;
+import com.healthybites.dtos.sync.SyncResponseDto;
+import com.healthybites.entity.UserEntity;
+import com.healthybites.service.advice.AdviceService;
+import com.healthybites.service.ingredient.IngredientService;
+import com.healthybites.service.recipe.RecipeService;
+import com.healthybites.service.user.UserService;
+import com.healthybites.support.TestFixtures;
+
+/**
+ * Checks that the synchronization returns the rows changed after a cursor, with tombstones for
+ * the deleted ones, following the writes of the recipe, ingredient and advice services.
+ */
+@SpringBootTest(properties = "sync.settle-millis=0")
+class SyncServiceTests {
+
+	@Autowired
+	private SyncService syncService;
+
+	@Autowired
+	private RecipeService recipeService;
+
+	@Autowired
+	private IngredientService ingredientService;
+
+	@Autowired
+	private AdviceService adviceService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	private UserEntity user;
+	private UserEntity otherUser;
+
+	@BeforeEach
+	void setUp() {
+		fixtures.deleteAll();
+		user = fixtures.user("sync@email.com");
+		otherUser = fixtures.user("other-sync@email.com");
+	}
+
+	@Test
+	void changesSinceCursorIncludeUpdatesAndTombstones() {
+		String head = syncService.getChanges(null, null, null).getCursor();
+
+		AdviceResponseDto kept = adviceService.createAdvice(new AdviceRequestDto("Water", "Drink", LocalDateTime.now()));
+		AdviceResponseDto removed = adviceService.createAdvice(new AdviceRequestDto("Salt", "Less", LocalDateTime.now()));
+		IngredientResponseDto rice = ingredientService.createIngredient(
+				new IngredientRequestDto("rice", 1.5f, LocalDateTime.now()));
+		RecipeResponseDto first = createRecipe("First", user, rice);
+		RecipeResponseDto second = createRecipe("Second", user, rice);
+		createRecipe("Other", otherUser, rice);
+		ingredientService.updateIngredient(rice.getId(), new IngredientRequestDto("rice", 2f, LocalDateTime.now()));
+		adviceService.deleteAdvice(removed.getId());
+		recipeService.deleteRecipe(second.getId());
+
+		SyncResponseDto changes = syncService.getChanges(head, user.getId(), null);
+
+		assertFalse(changes.isHasMore());
+		assertEquals(List.of(first.getId()), changes.getRecipes().stream().map(RecipeResponseDto::getId).toList());
+		assertEquals(200f, changes.getRecipes().get(0).getTotalCalories());
+		assertEquals(List.of(second.getId()), changes.getDeletedRecipeIds());
+		assertEquals(List.of(rice.getId()), changes.getIngredients().stream().map(IngredientResponseDto::getId).toList());
+		assertEquals(List.of(kept.getId()), changes.getAdvices().stream().map(AdviceResponseDto::getId).toList());
+		assertEquals(List.of(removed.getId()), changes.getDeletedAdviceIds());
+
+		SyncResponseDto next = syncService.getChanges(changes.getCursor(), user.getId(), null);
+		assertTrue(next.getRecipes().isEmpty() && next.getAdvices().isEmpty() && next.getDeletedRecipeIds().isEmpty());
+		assertEquals(changes.getCursor(), next.getCursor());
+	}
+
+	@Test
+	void deletingAUserTombstonesItsRecipes() {
+		IngredientResponseDto oats = ingredientService.createIngredient(
+				new IngredientRequestDto("oats", 3.8f, LocalDateTime.now()));
+		RecipeResponseDto porridge = createRecipe("Porridge", user, oats);
+		RecipeResponseDto granola = createRecipe("Granola", user, oats);
+		String head = syncService.getChanges(null, user.getId(), null).getCursor();
+
+		userService.deleteUser(user.getId());
+
+		SyncResponseDto changes = syncService.getChanges(head, user.getId(), null);
+		assertTrue(changes.getRecipes().isEmpty());
+		assertEquals(List.of(porridge.getId(), granola.getId()), changes.getDeletedRecipeIds());
+	}
+
+	@Test
+	void largeChangeSetsAreReadInBatches() {
+		String cursor = syncService.getChanges(null, null, null).getCursor();
+		for (int i = 0; i < 5; i++) {
+			adviceService.createAdvice(new AdviceRequestDto("Advice " + i, "Text", LocalDateTime.now()));
+		}
+
+		int advices = 0;
+		SyncResponseDto changes;
+		do {
+			changes = syncService.getChanges(cursor, null, 2);
+			advices += changes.getAdvices().size();
+			cursor = changes.getCursor();
+		} while (changes.isHasMore());
+
+		assertEquals(5, advices);
+	}
+
+	// helpers
+
+	private RecipeResponseDto createRecipe(String name, UserEntity owner, IngredientResponseDto ingredient) {
+		return recipeService.createRecipe(new RecipeRequestDto(name, "Boil", owner.getId(),
+				List.of(new RecipeIngredientDto(ingredient.getId(), 100f))));
+	}
+}
@@ -0,0 +1,91 @@
+package com.healthybites.service.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.healthybites.api.CursorPage;
+import com.healthybites.dtos.recipe.RecipeIngredientDto;
+import com.healthybites.dtos.recipe.RecipeRequestDto;
+import com.healthybites.dtos.recipe.RecipeResponseDto;
+import com.healthybites.entity.IngredientEntity;
+import com.healthybites.entity.UserEntity;
+import com.healthybites.repositoy.RecipeIngredientRepository;
+import com.healthybites.repositoy.RecipeRepository;
+import com.healthybites.service.recipe.RecipeService;
+import com.healthybites.support.TestFixtures;
+
+/**
+ * Checks that the recipes deleted together with their owner leave the in-memory recipe indexes.
+ */
+@SpringBootTest
+class UserDeletionTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private RecipeService recipeService;
+
+	@Autowired
+	private RecipeRepository recipeRepository;
+
+	@Autowired
+	private RecipeIngredientRepository recipeIngredientRepository;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Test
+	void recipesOfDeletedUsersLeaveTheIngredientSearch() {
+		IngredientEntity lentils = fixtures.ingredient("deleted lentils", 1.2f);
+		UserEntity deleted = fixtures.user("deleted-owner@email.com");
+		UserEntity kept = fixtures.user("kept-owner@email.com");
+		createRecipe("Deleted stew", deleted, lentils);
+		createRecipe("Deleted soup", deleted, lentils);
+		Long keptRecipeId = createRecipe("Kept stew", kept, lentils);
+
+		userService.deleteUser(deleted.getId());
+
+		assertEquals(List.of(keptRecipeId), search(lentils, 1));
+	}
+
+	@Test
+	void recipesMissingFromTheDatabaseDoNotEndTheSearch() {
+		IngredientEntity chickpeas = fixtures.ingredient("missing chickpeas", 3.6f);
+		UserEntity owner = fixtures.user("missing-owner@email.com");
+		Long missingRecipeId = createRecipe("Missing hummus", owner, chickpeas);
+		Long firstRecipeId = createRecipe("First hummus", owner, chickpeas);
+		Long secondRecipeId = createRecipe("Second hummus", owner, chickpeas);
+
+		// removed behind the back of the indexes, which still return its ID
+		recipeIngredientRepository.deleteByRecipeId(missingRecipeId);
+		recipeRepository.deleteById(missingRecipeId);
+
+		assertEquals(List.of(firstRecipeId, secondRecipeId), search(chickpeas, 1));
+	}
+
+	// helpers
+
+	private Long createRecipe(String name, UserEntity owner, IngredientEntity ingredient) {
+		return recipeService.createRecipe(new RecipeRequestDto(name, "Simmer", owner.getId(),
+				List.of(new RecipeIngredientDto(ingredient.getId(), 100f)))).getId();
+	}
+
+	private List<Long> search(IngredientEntity ingredient, int limit) {
+		List<Long> recipeIds = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPage<RecipeResponseDto> page = recipeService.searchRecipesByIngredients(List.of(ingredient.getId()),
+					List.of(), cursor, limit);
+			page.getItems().forEach(recipe -> recipeIds.add(recipe.getId()));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		return recipeIds;
+	}
+}
@@ -0,0 +1,102 @@
+package com.healthybites.service.userDetails;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.healthybites.dtos.user.UserEntityRequestDto;
+import com.healthybites.entity.UserEntity;
+import com.healthybites.exception.ResourceNotFoundException;
+import com.healthybites.repositoy.UserRepository;
+import com.healthybites.service.user.UserService;
+import com.healthybites.support.TestFixtures;
+
+/**
+ * Checks that the cached principals are reloaded after the user is updated or deleted, and once
+ * their time to live is over.
+ */
+@SpringBootTest
+class UserDetailsCacheTests {
+
+	@Autowired
+	private UserDetailsServiceImpl userDetailsService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private TestFixtures fixtures;
+
+	@Test
+	void updatedUsersAreReloaded() {
+		UserEntity user = fixtures.user("updated-principal@email.com");
+		UserDetails cached = userDetailsService.loadCachedUserByUsername(user.getEmail());
+		assertSame(cached, userDetailsService.loadCachedUserByUsername(user.getEmail()));
+
+		userService.updateUser(user.getId(), UserEntityRequestDto.builder().password("new-password").build());
+
+		UserDetails reloaded = userDetailsService.loadCachedUserByUsername(user.getEmail());
+		assertNotSame(cached, reloaded);
+		assertTrue(passwordEncoder.matches("new-password", reloaded.getPassword()));
+	}
+
+	@Test
+	void roleChangesAreSeenOnceTheUserIsUpdated() {
+		UserEntity user = fixtures.user("promoted-principal@email.com");
+		assertEquals(List.of("ROLE_USER"), authorities(userDetailsService.loadCachedUserByUsername(user.getEmail())));
+
+		UserEntity promoted = userRepository.findById(user.getId()).orElseThrow();
+		promoted.setRole(fixtures.role(TestFixtures.ADMIN_ROLE));
+		userRepository.save(promoted);
+		userService.updateUser(user.getId(), UserEntityRequestDto.builder().name("Promoted").build());
+
+		assertEquals(List.of("ROLE_ADMIN"), authorities(userDetailsService.loadCachedUserByUsername(user.getEmail())));
+	}
+
+	@Test
+	void deletedUsersAreNotServedFromTheCache() {
+		UserEntity user = fixtures.user("deleted-principal@email.com");
+		userDetailsService.loadCachedUserByUsername(user.getEmail());
+
+		userService.deleteUser(user.getId());
+
+		assertThrows(ResourceNotFoundException.class, () -> userDetailsService.loadCachedUserByUsername(user.getEmail()));
+	}
+
+	@Test
+	void principalsExpireAfterTheirTimeToLive() throws InterruptedException {
+		UserDetailsCache cache = new UserDetailsCache(10, 1);
+		UserDetails principal = User.withUsername("ttl@email.com").password("password").roles("USER").build();
+		cache.put("TTL@email.com", principal);
+		assertSame(principal, cache.get("ttl@email.com"));
+
+		Thread.sleep(1100);
+
+		assertNull(cache.get("ttl@email.com"));
+	}
+
+	// helpers
+
+	private static List<String> authorities(UserDetails userDetails) {
+		return userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+	}
+}
@@ -0,0 +1,136 @@
+package com.healthybites.support;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.healthybites.entity.IngredientEntity;
+import com.healthybites.entity.RoleEntity;
+import com.healthybites.entity.UserEntity;
+import com.healthybites.repositoy.AdviceRepository;
+import com.healthybites.repositoy.ChangeLogRepository;
+import com.healthybites.repositoy.IngredientRepository;
+import com.healthybites.repositoy.RecipeIngredientRepository;
+import com.healthybites.repositoy.RecipeRepository;
+import com.healthybites.repositoy.RoleRepository;
+import com.healthybites.repositoy.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * TestFixtures
+ * The users, roles and ingredients the integration tests build their data on. It is a bean of
+ * every test application context, so the tests only have to autowire it.
+ */
+@Component
+public class TestFixtures {
+
+	public static final String USER_ROLE = "USER";
+	public static final String ADMIN_ROLE = "ADMIN";
+	public static final String PASSWORD = "password";
+
+	@Autowired
+	private ChangeLogRepository changeLogRepository;
+
+	@Autowired
+	private AdviceRepository adviceRepository;
+
+	@Autowired
+	private RecipeIngredientRepository recipeIngredientRepository;
+
+	@Autowired
+	private RecipeRepository recipeRepository;
+
+	@Autowired
+	private IngredientRepository ingredientRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RoleRepository roleRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	/**
+	 * Empties the second-level cache when a test context starts. The JCache provider keeps one cache
+	 * manager for the whole JVM, so the contexts share their regions, while every new context
+	 * recreates the in-memory schema and starts the ids again: the entities cached by the previous
+	 * contexts would be served for the rows that now reuse their ids.
+	 */
+	@PostConstruct
+	public void evictCaches() {
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+	}
+
+	/**
+	 * Deletes the rows of every table, children first, for the tests that count rows, and empties
+	 * the second-level cache the other contexts may still hold them in.
+	 */
+	public void deleteAll() {
+		changeLogRepository.deleteAll();
+		adviceRepository.deleteAll();
+		recipeIngredientRepository.deleteAll();
+		recipeRepository.deleteAll();
+		ingredientRepository.deleteAll();
+		userRepository.deleteAll();
+		roleRepository.deleteAll();
+		evictCaches();
+	}
+
+	/**
+	 * @param name the name of the role
+	 * @return the role with that name, created if it does not exist
+	 */
+	public RoleEntity role(String name) {
+		return roleRepository.findByName(name)
+				.orElseGet(() -> roleRepository.save(RoleEntity.builder().name(name).build()));
+	}
+
+	/**
+	 * @param email the email of the user
+	 * @return the user with that email and the USER role, created if it does not exist
+	 */
+	public UserEntity user(String email) {
+		return user(email, USER_ROLE);
+	}
+
+	/**
+	 * @param email the email of the user
+	 * @param roleName the role given to the user when it is created
+	 * @return the user with that email, created with the PASSWORD password if it does not exist
+	 */
+	public UserEntity user(String email, String roleName) {
+		return userRepository.findByEmail(email).orElseGet(() -> userRepository.save(UserEntity.builder()
+				.name("User")
+				.email(email)
+				.password(PASSWORD)
+				.isEnable(true)
+				.accountNoExpired(true)
+				.accountNoLocked(true)
+				.credentialNoExpired(true)
+				.registrationDate(LocalDateTime.now())
+				.role(role(roleName))
+				.build()));
+	}
+
+	/**
+	 * Saves an active ingredient straight in the repository, without going through the service.
+	 *
+	 * @param name the name of the ingredient
+	 * @param calories the calories per gram
+	 * @return the saved ingredient
+	 */
+	public IngredientEntity ingredient(String name, float calories) {
+		IngredientEntity ingredient = new IngredientEntity();
+		ingredient.setName(name);
+		ingredient.setQuantityCalories(calories);
+		ingredient.setCreationDate(LocalDateTime.now());
+		ingredient.setActive(true);
+		return ingredientRepository.save(ingredient);
+	}
+}